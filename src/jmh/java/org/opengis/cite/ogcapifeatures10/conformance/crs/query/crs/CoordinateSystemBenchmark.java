@@ -0,0 +1,39 @@
+package org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of {@link CoordinateSystem#isValid()} with identifiers of all supported
+ * forms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoordinateSystemBenchmark {
+
+	private final List<CoordinateSystem> crss = Arrays.asList(
+			new CoordinateSystem("http://www.opengis.net/def/crs/OGC/1.3/CRS84"),
+			new CoordinateSystem("http://www.opengis.net/def/crs/EPSG/0/25832"),
+			new CoordinateSystem("urn:ogc:def:crs:EPSG::4326"), new CoordinateSystem("https://www.test.de/crs/4326"),
+			new CoordinateSystem("urn:test:crs:CRS84"), new CoordinateSystem("EPSG:4326"));
+
+	/**
+	 * @param blackhole consuming the validation results
+	 */
+	@Benchmark
+	public void isValid(Blackhole blackhole) {
+		for (CoordinateSystem crs : crss)
+			blackhole.consume(crs.isValid());
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.opengis.cite.ogcapifeatures10.openapi3;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+
+/**
+ * Benchmarks of the retrieval of test points from <code>openapi.json</code> and of the
+ * {@link UriBuilder} building the URLs of the test points. The API definition is indexed
+ * once, like the {@link TestPointIndex} shared by the suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenApiUtilsBenchmark {
+
+	private TestPointIndex index;
+
+	private List<TestPoint> featureTestPoints;
+
+	/**
+	 * Parses and indexes the API definition once per benchmark.
+	 * @throws Exception if the API definition could not be parsed
+	 */
+	@Setup
+	public void parseApiDefinition() throws Exception {
+		URL openApiDocument = OpenApiUtilsBenchmark.class.getResource("openapi.json");
+		OpenApi3 apiModel = new OpenApi3Parser().parse(openApiDocument, false);
+		index = new TestPointIndex(apiModel, URI.create("http://localhost:8080/example"));
+		featureTestPoints = OpenApiUtils.retrieveTestPointsForFeature(index, "flurstueck", "1");
+	}
+
+	/**
+	 * @return the test points of all collections
+	 */
+	@Benchmark
+	public List<TestPoint> retrieveTestPointsForCollections() {
+		return OpenApiUtils.retrieveTestPointsForCollections(index, -1);
+	}
+
+	/**
+	 * @param blackhole consuming the built urls
+	 */
+	@Benchmark
+	public void buildUrl(Blackhole blackhole) {
+		for (TestPoint testPoint : featureTestPoints)
+			blackhole.consume(new UriBuilder(testPoint).collectionName("flurstueck").featureId("1").buildUrl());
+	}
+
+}
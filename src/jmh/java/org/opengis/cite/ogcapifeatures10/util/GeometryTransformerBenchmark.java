@@ -0,0 +1,66 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of {@link GeometryTransformer#transform(Geometry)} with the features of
+ * <code>collectionItems-vineyards-25832.json</code> transformed to the default crs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeometryTransformerBenchmark {
+
+	private static final CoordinateSystem EPSG_25832 = new CoordinateSystem(
+			"http://www.opengis.net/def/crs/EPSG/0/25832");
+
+	private static final String FEATURES = "/org/opengis/cite/ogcapifeatures10/conformance/crs/query/collectionItems-vineyards-25832.json";
+
+	private final List<Geometry> geometries = new ArrayList<>();
+
+	private GeometryTransformer geometryTransformer;
+
+	/**
+	 * Parses the geometries and creates the transformer once per benchmark.
+	 * @throws IOException if the document could not be read
+	 * @throws ParseException if a geometry could not be parsed
+	 */
+	@Setup
+	public void parseGeometries() throws IOException, ParseException {
+		List<Map<String, Object>> features = JsonUtilsBenchmark.readJson(FEATURES).getList("features");
+		for (Map<String, Object> feature : features) {
+			Geometry geometry = JsonUtils.parseFeatureGeometry(feature, EPSG_25832);
+			if (geometry != null)
+				geometries.add(geometry);
+		}
+		geometryTransformer = new GeometryTransformer(EPSG_25832, DEFAULT_CRS);
+	}
+
+	/**
+	 * @param blackhole consuming the transformed geometries
+	 */
+	@Benchmark
+	public void transform(Blackhole blackhole) {
+		for (Geometry geometry : geometries)
+			blackhole.consume(geometryTransformer.transform(geometry));
+	}
+
+}
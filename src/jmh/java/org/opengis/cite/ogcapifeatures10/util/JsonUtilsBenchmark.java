@@ -0,0 +1,90 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * Benchmarks of the parsing methods of {@link JsonUtils} with the documents of
+ * <code>src/test/resources</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonUtilsBenchmark {
+
+	private static final String COLLECTIONS_PATH = "/org/opengis/cite/ogcapifeatures10/conformance/core/collections/";
+
+	private List<Map<String, Object>> collections;
+
+	private List<Map<String, Object>> links;
+
+	private List<Map<String, Object>> features;
+
+	/**
+	 * Parses the documents once per benchmark.
+	 * @throws IOException if a document could not be read
+	 */
+	@Setup
+	public void parseDocuments() throws IOException {
+		JsonPath collectionsJson = readJson(COLLECTIONS_PATH + "collections.json");
+		collections = collectionsJson.getList("collections");
+		links = collectionsJson.getList("links");
+		features = readJson(COLLECTIONS_PATH + "collectionItems-flurstueck.json").getList("features");
+	}
+
+	/**
+	 * @param blackhole consuming the parsed geometries
+	 * @throws ParseException if a geometry could not be parsed
+	 */
+	@Benchmark
+	public void parseFeatureGeometry(Blackhole blackhole) throws ParseException {
+		for (Map<String, Object> feature : features) {
+			Geometry geometry = JsonUtils.parseFeatureGeometry(feature, DEFAULT_CRS);
+			blackhole.consume(geometry);
+		}
+	}
+
+	/**
+	 * @param blackhole consuming the parsed extents
+	 */
+	@Benchmark
+	public void parseSpatialExtent(Blackhole blackhole) {
+		for (Map<String, Object> collection : collections)
+			blackhole.consume(JsonUtils.parseSpatialExtent(collection));
+	}
+
+	/**
+	 * @return the link with 'rel=self'
+	 */
+	@Benchmark
+	public Map<String, Object> findLinkByRel() {
+		return JsonUtils.findLinkByRel(links, "self");
+	}
+
+	static JsonPath readJson(String resource) throws IOException {
+		try (InputStream json = JsonUtilsBenchmark.class.getResourceAsStream(resource)) {
+			if (json == null)
+				throw new IOException("Missing resource " + resource);
+			return new JsonPath(json);
+		}
+	}
+
+}
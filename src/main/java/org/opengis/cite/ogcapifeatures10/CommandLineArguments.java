@@ -14,6 +14,8 @@ import java.util.List;
  * <li>outputDir: ${user.home}</li>
  * <li>deleteSubjectOnFinish: false</li>
  * <li>generateHtmlReport: false</li>
+ * <li>cacheDir: none</li>
+ * <li>jfrEvents: false</li>
  * </ul>
  *
  * <p>
@@ -21,7 +23,7 @@ import java.util.List;
  * </p>
  *
  * <pre>
- * ets-${ets-code}-${version}-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [-h|--generateHtmlReport] [test-run-props.xml]
+ * ets-${ets-code}-${version}-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [-h|--generateHtmlReport] [-c|--cacheDir $CACHEDIR] [-j|--jfrEvents] [test-run-props.xml]
  * </pre>
  */
 public class CommandLineArguments {
@@ -39,6 +41,14 @@ public class CommandLineArguments {
 	@Parameter(names = { "-h", "--generateHtmlReport" }, arity = 1, description = "Enable HTML report generation")
 	private boolean generateHtmlReport = false;
 
+	@Parameter(names = { "-c", "--cacheDir" },
+			description = "Directory caching the API definition documents which passed the validation")
+	private String cacheDir;
+
+	@Parameter(names = { "-j", "--jfrEvents" },
+			description = "Emit Java Flight Recorder events for HTTP requests, JSON parsing and CRS transformations")
+	private boolean jfrEvents = false;
+
 	/**
 	 * <p>
 	 * Constructor for CommandLineArguments.
@@ -96,4 +106,24 @@ public class CommandLineArguments {
 		return generateHtmlReport;
 	}
 
+	/**
+	 * <p>
+	 * Getter for the field <code>cacheDir</code>.
+	 * </p>
+	 * @return a {@link java.lang.String} object, <code>null</code> if no cache is used
+	 */
+	public String getCacheDir() {
+		return cacheDir;
+	}
+
+	/**
+	 * <p>
+	 * isJfrEvents.
+	 * </p>
+	 * @return a boolean
+	 */
+	public boolean isJfrEvents() {
+		return jfrEvents;
+	}
+
 }
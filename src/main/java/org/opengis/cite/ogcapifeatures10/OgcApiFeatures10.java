@@ -49,6 +49,9 @@ public class OgcApiFeatures10 {
 	/** Constant <code>PAGING_LIMIT=3</code> */
 	public static final int PAGING_LIMIT = 3;
 
+	/** Constant <code>CAPTURE_LIMIT=1024 * 1024</code> */
+	public static final int CAPTURE_LIMIT = 1024 * 1024;
+
 	/** Constant <code>COLLECTIONS_LIMIT=20</code> */
 	public static final int COLLECTIONS_LIMIT = 20;
 
@@ -14,6 +14,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Source;
 
+import org.opengis.cite.ogcapifeatures10.util.FlightRecorderEvents;
 import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -48,7 +49,7 @@ public class TestNGController implements TestSuiteController {
 	 * </p>
 	 *
 	 * <pre>
-	 * ets-*-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [-h|--generateHtmlReport] [test-run-props.xml]
+	 * ets-*-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [-h|--generateHtmlReport] [-c|--cacheDir $CACHEDIR] [-j|--jfrEvents] [test-run-props.xml]
 	 * </pre>
 	 * @param args Test run arguments (optional). The first argument must refer to an XML
 	 * properties file containing the expected set of test run arguments. If no argument
@@ -69,6 +70,12 @@ public class TestNGController implements TestSuiteController {
 		if (testRunArgs.doDeleteSubjectOnFinish()) {
 			System.setProperty("deleteSubjectOnFinish", "true");
 		}
+		if (testRunArgs.getCacheDir() != null) {
+			System.setProperty("apiCacheDir", testRunArgs.getCacheDir());
+		}
+		if (testRunArgs.isJfrEvents()) {
+			FlightRecorderEvents.setEnabled(true);
+		}
 		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
 		DocumentBuilder db = dbf.newDocumentBuilder();
 		File xmlArgs = testRunArgs.getPropertiesFile();
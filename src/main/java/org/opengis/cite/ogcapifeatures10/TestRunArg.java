@@ -15,7 +15,58 @@ public enum TestRunArg {
 	 * The number of collections to test (a value less or equal to 0 means all
 	 * collections).
 	 */
-	NOOFCOLLECTIONS;
+	NOOFCOLLECTIONS,
+
+	/**
+	 * The number of threads used to execute the rows of data providers in parallel (a
+	 * value less or equal to 1 means sequential execution).
+	 */
+	DATAPROVIDERTHREADCOUNT,
+
+	/**
+	 * Whether independent requests are executed concurrently on virtual threads
+	 * (<code>true</code>) or sequentially (<code>false</code>, the default).
+	 */
+	VIRTUALTHREADS,
+
+	/**
+	 * The maximum number of pages requested when following 'next' links (a value less
+	 * than 0 means all pages).
+	 */
+	PAGINGLIMIT,
+
+	/**
+	 * The maximum number of bytes of each request and response message captured per test
+	 * (a value less or equal to 0 means the complete messages are captured).
+	 */
+	CAPTURELIMIT,
+
+	/**
+	 * Whether messages exceeding the capture limit are written completely to a file in
+	 * the output directory of the suite referenced by the test result (<code>true</code>)
+	 * or not (<code>false</code>, the default).
+	 */
+	CAPTURESPILL,
+
+	/**
+	 * The maximum number of bytes of the response bodies cached during the run (a value
+	 * less or equal to 0 disables the cache).
+	 */
+	CACHESIZE,
+
+	/**
+	 * The maximum number of bytes of the feature geometries kept on the heap while
+	 * comparing transformed geometries, further geometries are written to a temporary
+	 * file (a value less than 0 keeps all geometries on the heap).
+	 */
+	GEOMETRYMEMORY,
+
+	/**
+	 * Whether the geometries of all features of all pages of all collections are
+	 * validated (<code>true</code>) or a sample of the first page (<code>false</code>,
+	 * the default).
+	 */
+	EXHAUSTIVE;
 
 	/** {@inheritDoc} */
 	@Override
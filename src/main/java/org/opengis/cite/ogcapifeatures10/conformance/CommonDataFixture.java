@@ -1,14 +1,21 @@
 package org.opengis.cite.ogcapifeatures10.conformance;
 
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.API_MODEL;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.EXHAUSTIVE;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.IUT;
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.NO_OF_COLLECTIONS;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.PAGING_LIMIT;
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.REQUIREMENTCLASSES;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.TEST_POINT_INDEX;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
+import org.opengis.cite.ogcapifeatures10.openapi3.TestPointIndex;
 import org.testng.ITestContext;
 import org.testng.SkipException;
 import org.testng.annotations.BeforeClass;
@@ -26,10 +33,16 @@ public class CommonDataFixture extends CommonFixture {
 
 	private OpenApi3 apiModel;
 
+	private TestPointIndex testPointIndex;
+
 	private List<RequirementClass> requirementClasses;
 
 	protected int noOfCollections = DEFAULT_NUMBER_OF_COLLECTIONS;
 
+	protected int pagingLimit = OgcApiFeatures10.PAGING_LIMIT;
+
+	protected boolean exhaustive = false;
+
 	/**
 	 * <p>
 	 * requirementClasses.
@@ -56,6 +69,34 @@ public class CommonDataFixture extends CommonFixture {
 		}
 	}
 
+	/**
+	 * <p>
+	 * pagingLimit.
+	 * </p>
+	 * @param testContext a {@link org.testng.ITestContext} object
+	 */
+	@BeforeClass
+	public void pagingLimit(ITestContext testContext) {
+		Object pagingLimit = testContext.getSuite().getAttribute(PAGING_LIMIT.getName());
+		if (pagingLimit != null) {
+			this.pagingLimit = (Integer) pagingLimit;
+		}
+	}
+
+	/**
+	 * <p>
+	 * exhaustive.
+	 * </p>
+	 * @param testContext a {@link org.testng.ITestContext} object
+	 */
+	@BeforeClass
+	public void exhaustive(ITestContext testContext) {
+		Object exhaustive = testContext.getSuite().getAttribute(EXHAUSTIVE.getName());
+		if (exhaustive != null) {
+			this.exhaustive = (Boolean) exhaustive;
+		}
+	}
+
 	/**
 	 * <p>
 	 * retrieveApiModel.
@@ -65,6 +106,11 @@ public class CommonDataFixture extends CommonFixture {
 	@BeforeClass
 	public void retrieveApiModel(ITestContext testContext) {
 		this.apiModel = (OpenApi3) testContext.getSuite().getAttribute(API_MODEL.getName());
+		this.testPointIndex = (TestPointIndex) testContext.getSuite().getAttribute(TEST_POINT_INDEX.getName());
+		if (this.testPointIndex == null && this.apiModel != null) {
+			URI iut = (URI) testContext.getSuite().getAttribute(IUT.getName());
+			this.testPointIndex = new TestPointIndex(this.apiModel, iut);
+		}
 	}
 
 	/**
@@ -79,6 +125,18 @@ public class CommonDataFixture extends CommonFixture {
 		return apiModel;
 	}
 
+	/**
+	 * Returns the index of the test points of the API model, see
+	 * {@link SuiteAttribute#TEST_POINT_INDEX}. If the suite attribute is not set (e.g. in
+	 * unit tests), an index of the API model is created for this fixture.
+	 * @return the index, never <code>null</code>
+	 */
+	public TestPointIndex getTestPointIndex() {
+		if (testPointIndex == null)
+			throw new SkipException("ApiModel is not available.");
+		return testPointIndex;
+	}
+
 	/**
 	 * <p>
 	 * createListOfMediaTypesToSupportForOtherResources.
@@ -2,19 +2,38 @@ package org.opengis.cite.ogcapifeatures10.conformance;
 
 import static io.restassured.RestAssured.given;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
 
+import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
 import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
+import org.opengis.cite.ogcapifeatures10.util.BoundedCaptureStream;
+import org.opengis.cite.ogcapifeatures10.util.CaptureFilter;
 import org.opengis.cite.ogcapifeatures10.util.ClientUtils;
+import org.opengis.cite.ogcapifeatures10.util.FlightRecorderEvents;
+import org.opengis.cite.ogcapifeatures10.util.HttpTransport;
+import org.opengis.cite.ogcapifeatures10.util.RequestExecutor;
 import org.opengis.cite.ogcapifeatures10.util.RequestLimitFilter;
+import org.opengis.cite.ogcapifeatures10.util.RequestMetrics;
+import org.opengis.cite.ogcapifeatures10.util.RequestMetricsFilter;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
 import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 
 import io.restassured.config.JsonConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.path.json.config.JsonPathConfig;
@@ -27,15 +46,23 @@ import io.restassured.specification.RequestSpecification;
  */
 public class CommonFixture {
 
-	private ByteArrayOutputStream requestOutputStream = new ByteArrayOutputStream();
+	/*
+	 * Request and response messages are captured per thread, data provider rows may be
+	 * executed in parallel.
+	 */
+	private final ThreadLocal<MessageCapture> messageCapture = ThreadLocal.withInitial(this::createMessageCapture);
 
-	private ByteArrayOutputStream responseOutputStream = new ByteArrayOutputStream();
+	protected URI rootUri;
 
-	protected RequestLoggingFilter requestLoggingFilter;
+	private HttpTransport transport;
 
-	protected ResponseLoggingFilter responseLoggingFilter;
+	private boolean ownsTransport;
 
-	protected URI rootUri;
+	private RequestExecutor requestExecutor;
+
+	private int captureLimit = OgcApiFeatures10.CAPTURE_LIMIT;
+
+	private Path captureSpillDir;
 
 	/**
 	 * Initializes the common test fixture with a client component for interacting with
@@ -45,8 +72,20 @@ public class CommonFixture {
 	 */
 	@BeforeClass
 	public void initCommonFixture(ITestContext testContext) {
+		Object captureLimit = testContext.getSuite().getAttribute(SuiteAttribute.CAPTURE_LIMIT.getName());
+		if (captureLimit != null)
+			this.captureLimit = (Integer) captureLimit;
+		Object captureSpillDir = testContext.getSuite().getAttribute(SuiteAttribute.CAPTURE_SPILL_DIR.getName());
+		if (captureSpillDir instanceof File)
+			this.captureSpillDir = ((File) captureSpillDir).toPath();
 		initLogging();
 		rootUri = (URI) testContext.getSuite().getAttribute(SuiteAttribute.IUT.getName());
+		Object transport = testContext.getSuite().getAttribute(SuiteAttribute.HTTP_TRANSPORT.getName());
+		if (transport instanceof HttpTransport)
+			this.transport = (HttpTransport) transport;
+		Object requestExecutor = testContext.getSuite().getAttribute(SuiteAttribute.REQUEST_EXECUTOR.getName());
+		if (requestExecutor instanceof RequestExecutor)
+			this.requestExecutor = (RequestExecutor) requestExecutor;
 	}
 
 	/**
@@ -66,7 +105,7 @@ public class CommonFixture {
 	 * @return a {@link java.lang.String} object
 	 */
 	public String getRequest() {
-		return requestOutputStream.toString();
+		return messageCapture.get().requestOutputStream.toString();
 	}
 
 	/**
@@ -76,7 +115,24 @@ public class CommonFixture {
 	 * @return a {@link java.lang.String} object
 	 */
 	public String getResponse() {
-		return responseOutputStream.toString();
+		return messageCapture.get().responseOutputStream.toString();
+	}
+
+	/**
+	 * Returns the files containing the complete response messages of the current test,
+	 * which exceeded the capture limit. The files are kept after the test in the
+	 * {@link SuiteAttribute#CAPTURE_SPILL_DIR} of the suite.
+	 * @return the files, empty if no message was written to a file, never
+	 * <code>null</code>
+	 */
+	public List<Path> getResponseFiles() {
+		MessageCapture capture = messageCapture.get();
+		capture.responseOutputStream.flush();
+		capture.keepFiles = true;
+		List<Path> files = new ArrayList<>(capture.restoredResponseFiles);
+		if (capture.responseOutputStream.getSpillFile() != null)
+			files.add(capture.responseOutputStream.getSpillFile());
+		return files;
 	}
 
 	/**
@@ -86,13 +142,87 @@ public class CommonFixture {
 	 * @return a {@link io.restassured.specification.RequestSpecification} object
 	 */
 	protected RequestSpecification init() {
+		return init(true);
+	}
+
+	/**
+	 * Creates a request specification sending the request through the shared transport.
+	 * @param useCachedResponse <code>true</code> if an identical response of the run may
+	 * be served from the response cache, <code>false</code> if the request must be sent
+	 * to the server (e.g. to evaluate the time of the response)
+	 * @return a {@link io.restassured.specification.RequestSpecification} object
+	 */
+	protected RequestSpecification init(boolean useCachedResponse) {
+		HttpTransport transport = getTransport();
+		return init(useCachedResponse ? transport.getResponseCache() : transport.getResponseCache().refreshing());
+	}
+
+	/**
+	 * Creates a request specification for the pages walked by a
+	 * {@link org.opengis.cite.ogcapifeatures10.util.FeaturesPager}. The request passes
+	 * the same filters as {@link #init()} except the response cache, as each page is read
+	 * once.
+	 * @return a {@link io.restassured.specification.RequestSpecification} object
+	 */
+	protected RequestSpecification initPageRequest() {
+		return init((Filter) null);
+	}
+
+	private RequestSpecification init(Filter responseCache) {
 		JsonConfig jsonConfig = JsonConfig.jsonConfig().numberReturnType(NumberReturnType.DOUBLE);
-		RestAssuredConfig config = RestAssuredConfig.newConfig().jsonConfig(jsonConfig);
-		return given().filters(new RequestLimitFilter(), requestLoggingFilter, responseLoggingFilter)
-			.log()
-			.all()
-			.with()
-			.config(config);
+		HttpTransport transport = getTransport();
+		RestAssuredConfig config = transport.getRestAssuredConfig().jsonConfig(jsonConfig);
+		MessageCapture capture = messageCapture.get();
+		List<Filter> filters = new ArrayList<>();
+		filters.add(new RequestLimitFilter());
+		filters.add(new CaptureFilter(capture.requestLoggingFilter));
+		filters.add(new CaptureFilter(capture.responseLoggingFilter));
+		filters.add(new RequestMetricsFilter(transport.getRequestMetrics(), rootUri));
+		if (responseCache != null)
+			filters.add(responseCache);
+		filters.add(transport.getConcurrencyLimiter());
+		return given().filters(filters).with().config(config);
+	}
+
+	/**
+	 * Returns the transport shared by all requests of the suite, see
+	 * {@link SuiteAttribute#HTTP_TRANSPORT}. If the suite attribute is not set (e.g. in
+	 * unit tests), a transport with default settings is created for this fixture and shut
+	 * down by {@link #releaseTransport()}.
+	 * @return the transport, never <code>null</code>
+	 */
+	protected synchronized HttpTransport getTransport() {
+		if (transport == null) {
+			transport = new HttpTransport(HttpTransport.DEFAULT_MAX_CONNECTIONS,
+					HttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST);
+			ownsTransport = true;
+		}
+		return transport;
+	}
+
+	/**
+	 * Shuts down the transport created by {@link #getTransport()} for this fixture, the
+	 * transport of the suite is shut down when the suite finishes.
+	 */
+	@AfterClass(alwaysRun = true)
+	public synchronized void releaseTransport() {
+		if (ownsTransport) {
+			transport.shutdown();
+			transport = null;
+			ownsTransport = false;
+		}
+	}
+
+	/**
+	 * Returns the executor of the requests of the suite, see
+	 * {@link SuiteAttribute#REQUEST_EXECUTOR}. If the suite attribute is not set (e.g. in
+	 * unit tests), the requests are executed sequentially.
+	 * @return the executor, never <code>null</code>
+	 */
+	protected synchronized RequestExecutor getRequestExecutor() {
+		if (requestExecutor == null)
+			requestExecutor = RequestExecutor.sequential();
+		return requestExecutor;
 	}
 
 	/**
@@ -117,13 +247,182 @@ public class CommonFixture {
 	 * ClientUtils.buildGetRequest( endpoint, qryParams, mediaTypes ); }
 	 */
 
+	/**
+	 * Executes the passed requests with the {@link RequestExecutor} of the suite. The
+	 * messages of each request are captured separately and returned together with the
+	 * result of the request; they can be restored with
+	 * {@link #restoreMessages(CapturedRequest)} by the test evaluating the result. The
+	 * requests are recorded in the request metrics of the calling test and tagged with
+	 * its flight recorder context. No capture state is left in the executing threads.
+	 * @param requests the requests to execute, never <code>null</code>
+	 * @param <T> the type of the results
+	 * @return the results with the captured messages in the order of the requests, never
+	 * <code>null</code>
+	 */
+	protected <T> List<CapturedRequest<T>> executeRequests(List<Callable<T>> requests) {
+		Thread caller = Thread.currentThread();
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.currentTest();
+		FlightRecorderEvents.Context flightRecorderContext = FlightRecorderEvents.currentContext();
+		List<Callable<CapturedRequest<T>>> tasks = new ArrayList<>();
+		for (Callable<T> request : requests) {
+			tasks.add(() -> {
+				MessageCapture previousCapture = messageCapture.get();
+				MessageCapture capture = createMessageCapture();
+				messageCapture.set(capture);
+				RequestMetrics.joinTest(testMetrics);
+				FlightRecorderEvents.joinContext(flightRecorderContext);
+				try {
+					T result = request.call();
+					capture.responseOutputStream.close();
+					return new CapturedRequest<>(result, capture.requestOutputStream.toString(),
+							capture.responseOutputStream.toString(), capture.responseOutputStream.getSpillFile());
+				}
+				finally {
+					if (Thread.currentThread() == caller) {
+						messageCapture.set(previousCapture);
+					}
+					else {
+						messageCapture.remove();
+						RequestMetrics.joinTest(null);
+						FlightRecorderEvents.joinContext(null);
+					}
+				}
+			});
+		}
+		return getRequestExecutor().invokeAll(tasks);
+	}
+
+	/**
+	 * Appends the messages captured during the execution of a request to the messages of
+	 * the current test.
+	 * @param capturedRequest the executed request, never <code>null</code>
+	 */
+	protected void restoreMessages(CapturedRequest<?> capturedRequest) {
+		MessageCapture capture = messageCapture.get();
+		capture.requestOutputStream.write(capturedRequest.getRequest().getBytes(StandardCharsets.UTF_8));
+		capture.responseOutputStream.write(capturedRequest.getResponse().getBytes(StandardCharsets.UTF_8));
+		if (capturedRequest.responseFile != null)
+			capture.restoredResponseFiles.add(capturedRequest.responseFile);
+	}
+
+	/**
+	 * Deletes the file containing the complete response message of a request executed by
+	 * {@link #executeRequests(List)} whose messages are not restored.
+	 * @param capturedRequest the executed request, never <code>null</code>
+	 */
+	protected void discard(CapturedRequest<?> capturedRequest) {
+		if (capturedRequest.responseFile == null)
+			return;
+		try {
+			Files.deleteIfExists(capturedRequest.responseFile);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not delete " + capturedRequest.responseFile, e);
+		}
+	}
+
 	private void initLogging() {
-		this.requestOutputStream = new ByteArrayOutputStream();
-		this.responseOutputStream = new ByteArrayOutputStream();
-		PrintStream requestPrintStream = new PrintStream(requestOutputStream, true);
-		PrintStream responsePrintStream = new PrintStream(responseOutputStream, true);
-		requestLoggingFilter = new RequestLoggingFilter(requestPrintStream);
-		responseLoggingFilter = new ResponseLoggingFilter(responsePrintStream);
+		MessageCapture previousCapture = messageCapture.get();
+		messageCapture.set(createMessageCapture());
+		previousCapture.discard();
+	}
+
+	private MessageCapture createMessageCapture() {
+		return new MessageCapture(captureLimit, captureSpillDir);
+	}
+
+	/**
+	 * The result of a request executed by {@link #executeRequests(List)} together with
+	 * the captured request and response messages.
+	 *
+	 * @param <T> the type of the result
+	 */
+	protected static class CapturedRequest<T> {
+
+		private final T result;
+
+		private final String request;
+
+		private final String response;
+
+		private final Path responseFile;
+
+		CapturedRequest(T result, String request, String response, Path responseFile) {
+			this.result = result;
+			this.request = request;
+			this.response = response;
+			this.responseFile = responseFile;
+		}
+
+		/**
+		 * @return the result of the request, may be <code>null</code>
+		 */
+		public T getResult() {
+			return result;
+		}
+
+		/**
+		 * @return the captured request message, never <code>null</code>
+		 */
+		public String getRequest() {
+			return request;
+		}
+
+		/**
+		 * @return the captured response message, never <code>null</code>
+		 */
+		public String getResponse() {
+			return response;
+		}
+
+	}
+
+	/**
+	 * The request and response messages of a test. Each message is kept within the
+	 * capture limit, the complete response messages are optionally written to files.
+	 */
+	private static class MessageCapture {
+
+		private final BoundedCaptureStream requestOutputStream;
+
+		private final BoundedCaptureStream responseOutputStream;
+
+		private final RequestLoggingFilter requestLoggingFilter;
+
+		private final ResponseLoggingFilter responseLoggingFilter;
+
+		private final List<Path> restoredResponseFiles = new ArrayList<>();
+
+		private boolean keepFiles;
+
+		private MessageCapture(int captureLimit, Path captureSpillDir) {
+			this.requestOutputStream = new BoundedCaptureStream(captureLimit, null);
+			this.responseOutputStream = new BoundedCaptureStream(captureLimit, captureSpillDir);
+			this.requestLoggingFilter = new RequestLoggingFilter(
+					new PrintStream(requestOutputStream, true, StandardCharsets.UTF_8));
+			this.responseLoggingFilter = new ResponseLoggingFilter(
+					new PrintStream(responseOutputStream, true, StandardCharsets.UTF_8));
+		}
+
+		/**
+		 * Deletes the files of the messages, unless they are referenced by a test result.
+		 */
+		private void discard() {
+			if (keepFiles) {
+				responseOutputStream.close();
+				return;
+			}
+			responseOutputStream.deleteSpillFile();
+			for (Path restoredResponseFile : restoredResponseFiles) {
+				try {
+					Files.deleteIfExists(restoredResponseFile);
+				}
+				catch (IOException e) {
+					TestSuiteLogger.log(Level.WARNING, "Could not delete " + restoredResponseFile, e);
+				}
+			}
+		}
+
 	}
 
 }
@@ -5,6 +5,10 @@ import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
+import org.opengis.cite.ogcapifeatures10.openapi3.TestPointIndex;
+import org.opengis.cite.ogcapifeatures10.util.HttpTransport;
+import org.opengis.cite.ogcapifeatures10.util.RequestExecutor;
+
 import com.reprezen.kaizen.oasparser.model3.OpenApi3;
 
 import jakarta.ws.rs.client.Client;
@@ -12,6 +16,7 @@ import jakarta.ws.rs.client.Client;
 /**
  * An enumerated type defining ISuite attributes that may be set to constitute a shared
  * test fixture.
+ *
  */
 @SuppressWarnings("rawtypes")
 public enum SuiteAttribute {
@@ -21,6 +26,16 @@ public enum SuiteAttribute {
 	 */
 	CLIENT("httpClient", Client.class),
 
+	/**
+	 * The shared HTTP transport (connection pool) used by all requests.
+	 */
+	HTTP_TRANSPORT("httpTransport", HttpTransport.class),
+
+	/**
+	 * The executor of independent requests.
+	 */
+	REQUEST_EXECUTOR("requestExecutor", RequestExecutor.class),
+
 	/**
 	 * The root URL.
 	 */
@@ -36,11 +51,47 @@ public enum SuiteAttribute {
 	 */
 	NO_OF_COLLECTIONS("noOfCollections", Integer.class),
 
+	/**
+	 * Number of pages requested when following 'next' links.
+	 */
+	PAGING_LIMIT("pagingLimit", Integer.class),
+
+	/**
+	 * Maximum number of bytes captured of each request and response message.
+	 */
+	CAPTURE_LIMIT("captureLimit", Integer.class),
+
+	/**
+	 * Directory the messages exceeding the capture limit are written to, not set if the
+	 * messages are not written to files.
+	 */
+	CAPTURE_SPILL_DIR("captureSpillDir", File.class),
+
+	/**
+	 * Maximum number of bytes of the feature geometries kept on the heap.
+	 */
+	GEOMETRY_MEMORY_LIMIT("geometryMemoryLimit", Long.class),
+
+	/**
+	 * Directory caching the validated API definition documents.
+	 */
+	API_CACHE_DIR("apiCacheDir", File.class),
+
+	/**
+	 * Whether the geometries of all features are validated.
+	 */
+	EXHAUSTIVE("exhaustive", Boolean.class),
+
 	/**
 	 * Parsed OpenApi3 document resource /api; Added during execution.
 	 */
 	API_MODEL("apiModel", OpenApi3.class),
 
+	/**
+	 * Index of the test points of the {@link #API_MODEL}; Added during execution.
+	 */
+	TEST_POINT_INDEX("testPointIndex", TestPointIndex.class),
+
 	/**
 	 * Requirement classes parsed from /conformance; Added during execution.
 	 */
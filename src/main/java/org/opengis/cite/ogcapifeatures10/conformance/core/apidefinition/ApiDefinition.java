@@ -4,14 +4,19 @@ import static io.restassured.http.ContentType.JSON;
 import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.OPEN_API_MIME_TYPE;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.API_CACHE_DIR;
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.API_MODEL;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.TEST_POINT_INDEX;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.parseAsListOfMaps;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Map;
 
 import org.opengis.cite.ogcapifeatures10.conformance.CommonFixture;
+import org.opengis.cite.ogcapifeatures10.openapi3.ApiDefinitionCache;
+import org.opengis.cite.ogcapifeatures10.openapi3.TestPointIndex;
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -34,6 +39,19 @@ public class ApiDefinition extends CommonFixture {
 
 	private String apiUrl;
 
+	private ApiDefinitionCache cache;
+
+	/**
+	 * Creates the cache of the validated API definitions if a cache directory is
+	 * configured.
+	 * @param testContext never <code>null</code>
+	 */
+	@BeforeClass(dependsOnMethods = "initCommonFixture")
+	public void initApiDefinitionCache(ITestContext testContext) {
+		File apiCacheDir = (File) testContext.getSuite().getAttribute(API_CACHE_DIR.getName());
+		this.cache = apiCacheDir != null ? new ApiDefinitionCache(apiCacheDir) : null;
+	}
+
 	/**
 	 * <p>
 	 * retrieveApiUrl.
@@ -79,6 +97,10 @@ public class ApiDefinition extends CommonFixture {
 	 *
 	 * Test Method: Validate the API Definition document against an appropriate schema document.
 	 * </pre>
+	 *
+	 * The parsed model and the index of its test points are stored in the suite. If a
+	 * cache directory is configured, a document which passed the validation in a previous
+	 * run is parsed without validation.
 	 * @param testContext never <code>null</code>
 	 * @throws java.net.MalformedURLException if the apiUrl is malformed
 	 */
@@ -87,10 +109,21 @@ public class ApiDefinition extends CommonFixture {
 	public void apiDefinitionValidation(ITestContext testContext) throws MalformedURLException {
 		OpenApi3Parser parser = new OpenApi3Parser();
 
-		OpenApi3 apiModel = parser.parse(response, new URL(apiUrl), true);
-		assertTrue(apiModel.isValid(), createValidationMsg(apiModel));
+		OpenApi3 apiModel;
+		if (cache != null && cache.isValidated(apiUrl, response)) {
+			apiModel = parser.parse(response, new URL(apiUrl), false);
+		}
+		else {
+			apiModel = parser.parse(response, new URL(apiUrl), true);
+			assertTrue(apiModel.isValid(), createValidationMsg(apiModel));
+			if (cache != null)
+				cache.storeValidated(apiUrl, response);
+		}
 
 		testContext.getSuite().setAttribute(API_MODEL.getName(), apiModel);
+
+		TestPointIndex testPointIndex = new TestPointIndex(apiModel, rootUri);
+		testContext.getSuite().setAttribute(TEST_POINT_INDEX.getName(), testPointIndex);
 	}
 
 	private String parseApiUrl(JsonPath jsonPath) {
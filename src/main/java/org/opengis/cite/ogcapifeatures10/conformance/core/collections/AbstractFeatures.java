@@ -1,5 +1,6 @@
 package org.opengis.cite.ogcapifeatures10.conformance.core.collections;
 
+import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertInCrs84;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
@@ -16,21 +17,22 @@ import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findUnsupportedTy
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 
-import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.IntersectionMatrix;
 import org.locationtech.jts.geom.LinearRing;
-import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.operation.predicate.RectangleContains;
-import org.locationtech.jts.operation.predicate.RectangleIntersects;
 import org.opengis.cite.ogcapifeatures10.EtsAssert;
 import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
 import org.opengis.cite.ogcapifeatures10.conformance.CommonDataFixture;
@@ -40,9 +42,17 @@ import org.opengis.cite.ogcapifeatures10.conformance.core.collections.AbstractFe
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
 import org.opengis.cite.ogcapifeatures10.openapi3.TestPoint;
 import org.opengis.cite.ogcapifeatures10.util.BBox;
+import org.opengis.cite.ogcapifeatures10.util.BBoxPredicate;
+import org.opengis.cite.ogcapifeatures10.util.FeaturesPager;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader.GeoJsonFeature;
 import org.opengis.cite.ogcapifeatures10.util.JsonUtils;
+import org.opengis.cite.ogcapifeatures10.util.ParsedResponse;
+import org.opengis.cite.ogcapifeatures10.util.RequestExecutor;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
 import org.testng.ITestContext;
 import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 
@@ -60,7 +70,15 @@ import io.restassured.response.Response;
  */
 public class AbstractFeatures extends CommonDataFixture {
 
-	protected final Map<CollectionResponseKey, ResponseData> collectionIdAndResponse = new HashMap<>();
+	protected final Map<CollectionResponseKey, ResponseData> collectionIdAndResponse = new ConcurrentHashMap<>();
+
+	private final Map<CollectionResponseKey, CapturedRequest<ResponseData>> prefetchedResponses = new ConcurrentHashMap<>();
+
+	/*
+	 * The data providers are invoked once per consuming test method, each request is
+	 * prefetched once only, even if the test of the operation failed.
+	 */
+	private final Set<CollectionResponseKey> prefetchedKeys = ConcurrentHashMap.newKeySet();
 
 	protected List<Map<String, Object>> collections;
 
@@ -75,7 +93,7 @@ public class AbstractFeatures extends CommonDataFixture {
 	 */
 	@DataProvider(name = "collectionPaths")
 	public Iterator<Object[]> collectionPaths(ITestContext testContext) {
-		List<TestPoint> testPointsForCollections = retrieveTestPointsForCollections(getApiModel(), iut,
+		List<TestPoint> testPointsForCollections = retrieveTestPointsForCollections(getTestPointIndex(),
 				noOfCollections);
 		List<Object[]> collectionsData = new ArrayList<>();
 		for (TestPoint testPointForCollections : testPointsForCollections) {
@@ -265,7 +283,8 @@ public class AbstractFeatures extends CommonDataFixture {
 
 		JsonPath jsonPath = response.jsonPath();
 
-		assertNumberMatched(getApiModel(), iut, collection.id, jsonPath, true);
+		assertNumberMatched(this::initPageRequest, getRequestExecutor(), getApiModel(), getTestPointIndex(),
+				collection.id, jsonPath, pagingLimit, true);
 	}
 
 	/**
@@ -311,6 +330,10 @@ public class AbstractFeatures extends CommonDataFixture {
 	 *  1. Do not specify a coordinate reference system in any request. All spatial data should be in the CRS84 reference system.
 	 *  2. Validate retrieved spatial data using the CRS84 reference system.
 	 * </pre>
+	 *
+	 * In exhaustive mode the geometries of all features of all pages are validated,
+	 * otherwise the first {@link OgcApiFeatures10#FEATURES_LIMIT} geometries of the
+	 * response.
 	 * @throws ParseException if the geometry could not be parsed
 	 * @param collection the collection under test, never <code>null</code>
 	 */
@@ -319,33 +342,21 @@ public class AbstractFeatures extends CommonDataFixture {
 		if (response == null)
 			throw new SkipException("Could not find a response for collection with id " + collection.id);
 
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> features = jsonPath.getList("features");
+		if (exhaustive) {
+			validateAllFeatures(collection, response, feature -> assertGeometryInCrs84(collection, feature));
+			return;
+		}
 		int count = 0;
-		for (Map<String, Object> feature : features) {
-			if (count >= OgcApiFeatures10.FEATURES_LIMIT) {
-				break;
-			}
-			Object featureIdOrNull = feature.get("id");
-			if (featureIdOrNull == null) {
-				featureIdOrNull = "N/A";
-			}
-			String featureId = featureIdOrNull.toString();
-			Geometry geometry = null;
-			try {
-				geometry = JsonUtils.parseFeatureGeometry(feature, DEFAULT_CRS);
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(response.getResponse().asByteArray(),
+				DEFAULT_CRS)) {
+			GeoJsonFeature feature;
+			while (count < OgcApiFeatures10.FEATURES_LIMIT && (feature = reader.next()) != null) {
+				if (assertGeometryInCrs84(collection, feature))
+					count++;
 			}
-			catch (Exception e) {
-				// do nothing
-			}
-			if (geometry == null) {
-				// features without geometry should be returned, so this is fine
-				continue;
-			}
-			assertInCrs84(geometry, String.format(
-					"Geometry of feature with id {} in collection with id {} is outside the valid area of the  ",
-					featureId, collection.id));
-			count++;
+		}
+		catch (IOException e) {
+			throw new ParseException(e);
 		}
 	}
 
@@ -354,48 +365,148 @@ public class AbstractFeatures extends CommonDataFixture {
 		if (response == null)
 			throw new SkipException("Could not find a response for collection with id " + collection.id);
 
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> features = jsonPath.getList("features");
-
-		if (features.isEmpty()) {
-			throw new SkipException("No features were returned for collection.");
-		}
-		Coordinate min1 = new Coordinate(bbox.getMinX(), bbox.getMinY());
-		Coordinate min2 = new Coordinate(bbox.getMinX(), bbox.getMaxY());
-		Coordinate max1 = new Coordinate(bbox.getMaxX(), bbox.getMinY());
-		Coordinate max2 = new Coordinate(bbox.getMaxX(), bbox.getMaxY());
-		Polygon bboxPolygon = null;
-		// see https://github.com/opengeospatial/ets-ogcapi-features10/issues/247
-		// special case to cover bounding boxes that cross the date line
-		if (bbox.getMinX() == 177.0d) {
-			bboxPolygon = new GeometryFactory().createPolygon(new Coordinate[] { min1, max1, new Coordinate(-180d, 65d),
-					new Coordinate(180d, 65d), max2, min2, min1 });
-		}
-		else {
-			bboxPolygon = new GeometryFactory().createPolygon(new Coordinate[] { min1, max1, max2, min2, min1 });
+		// bounding boxes crossing the antimeridian are split, see
+		// https://github.com/opengeospatial/ets-ogcapi-features10/issues/247
+		BBoxPredicate bboxPredicate = new BBoxPredicate(bbox);
+		if (exhaustive) {
+			FeaturesPager.Statistics statistics = validateAllFeatures(collection, response,
+					feature -> assertGeometryInBBox(bboxPredicate, feature));
+			if (statistics.getNumberOfFeatures() == 0)
+				throw new SkipException("No features were returned for collection.");
+			return;
 		}
 		int count = 0;
-		for (Map<String, Object> feature : features) {
-			if (count >= OgcApiFeatures10.FEATURES_LIMIT) {
-				break;
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(response.getResponse().asByteArray(),
+				DEFAULT_CRS)) {
+			GeoJsonFeature feature;
+			while (count < OgcApiFeatures10.FEATURES_LIMIT && (feature = reader.next()) != null) {
+				if (assertGeometryInBBox(bboxPredicate, feature))
+					count++;
 			}
-			Geometry geometry = null;
-			try {
-				geometry = JsonUtils.parseFeatureGeometry(feature, DEFAULT_CRS);
+			if (reader.getNumberOfFeatures() == 0) {
+				throw new SkipException("No features were returned for collection.");
 			}
-			catch (Exception e) {
-				// do nothing
-			}
-			if (geometry == null) {
-				// features without geometry should be returned, so this is fine
+		}
+		catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	private boolean assertGeometryInCrs84(CollectionResponseKey collection, GeoJsonFeature feature) {
+		String featureId = feature.getId() != null ? feature.getId() : "N/A";
+		Geometry geometry = feature.getGeometry();
+		if (geometry == null) {
+			// features without geometry should be returned, so this is fine
+			return false;
+		}
+		assertInCrs84(geometry,
+				String.format(
+						"Geometry of feature with id {} in collection with id {} is outside the valid area of the  ",
+						featureId, collection.id));
+		return true;
+	}
+
+	private boolean assertGeometryInBBox(BBoxPredicate bboxPredicate, GeoJsonFeature feature) {
+		Geometry geometry = feature.getGeometry();
+		if (geometry == null) {
+			// features without geometry should be returned, so this is fine
+			return false;
+		}
+		boolean insideBBox = bboxPredicate.intersects(geometry);
+		assertTrue(insideBBox, String.format("Geometry '%s' outside bounding box: '%s'.", geometry.toString(),
+				bboxPredicate.getBbox().toString()));
+		return true;
+	}
+
+	/**
+	 * Streams the features of the response and of all following pages through the passed
+	 * check and logs the throughput.
+	 */
+	private FeaturesPager.Statistics validateAllFeatures(CollectionResponseKey collection, ResponseData response,
+			Consumer<GeoJsonFeature> check) throws ParseException {
+		try {
+			FeaturesPager.Statistics statistics = new FeaturesPager(this::initPageRequest, getRequestExecutor(), 0, -1)
+				.forEachFeature(response.getResponse().asByteArray(), DEFAULT_CRS, check);
+			TestSuiteLogger.log(Level.INFO,
+					String.format("Validated geometries of collection %s: %s", collection.id, statistics));
+			return statistics;
+		}
+		catch (IOException | URISyntaxException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	/**
+	 * Requests the features of the passed requests in advance if the
+	 * {@link RequestExecutor} of the suite executes requests concurrently. Requests with
+	 * a response already available or prefetched before are ignored, as data providers
+	 * are invoked once per test method.
+	 * @param requests the requests to prefetch, never <code>null</code>
+	 */
+	protected void prefetchFeatures(List<FeaturesRequest> requests) {
+		if (!getRequestExecutor().isConcurrent())
+			return;
+		List<FeaturesRequest> requestsToPrefetch = new ArrayList<>();
+		List<Callable<ResponseData>> tasks = new ArrayList<>();
+		for (FeaturesRequest request : requests) {
+			if (collectionIdAndResponse.containsKey(request.key) || !prefetchedKeys.add(request.key))
 				continue;
-			}
-			boolean insideBBox = RectangleIntersects.intersects(bboxPolygon, geometry);
-			assertTrue(insideBBox,
-					String.format("Geometry '%s' outside bounding box: '%s'.", geometry.toString(), bbox.toString()));
-			count++;
+			requestsToPrefetch.add(request);
+			tasks.add(() -> {
+				try {
+					return requestFeatures(request);
+				}
+				catch (Exception e) {
+					// the request is repeated and the failure reported by the test
+					TestSuiteLogger.log(Level.FINE, "Prefetching features from " + request.url + " failed", e);
+					return null;
+				}
+			});
+		}
+		List<CapturedRequest<ResponseData>> responses = executeRequests(tasks);
+		for (int i = 0; i < responses.size(); i++) {
+			CapturedRequest<ResponseData> response = responses.get(i);
+			if (response.getResult() != null)
+				prefetchedResponses.put(requestsToPrefetch.get(i).key, response);
+		}
+	}
+
+	/**
+	 * Discards the prefetched responses which were not retrieved by a test and deletes
+	 * the files of their messages.
+	 */
+	@AfterClass(alwaysRun = true)
+	public void clearPrefetchedResponses() {
+		for (CapturedRequest<ResponseData> prefetchedResponse : prefetchedResponses.values())
+			discard(prefetchedResponse);
+		prefetchedResponses.clear();
+		prefetchedKeys.clear();
+	}
+
+	/**
+	 * Returns the prefetched response of the passed request or requests the features if
+	 * the response was not prefetched.
+	 * @param request the request, never <code>null</code>
+	 * @return the response, never <code>null</code>
+	 */
+	protected ResponseData retrieveFeatures(FeaturesRequest request) {
+		CapturedRequest<ResponseData> prefetchedResponse = prefetchedResponses.remove(request.key);
+		if (prefetchedResponse != null) {
+			restoreMessages(prefetchedResponse);
+			return prefetchedResponse.getResult();
 		}
+		return requestFeatures(request);
+	}
 
+	private ResponseData requestFeatures(FeaturesRequest request) {
+		ZonedDateTime timeStampBeforeResponse = ZonedDateTime.now();
+		Response response = init(false).baseUri(request.url)
+			.accept(GEOJSON_MIME_TYPE)
+			.param(request.parameterName, request.parameterValue)
+			.when()
+			.request(GET);
+		ZonedDateTime timeStampAfterResponse = ZonedDateTime.now();
+		return new ResponseData(response, timeStampBeforeResponse, timeStampAfterResponse);
 	}
 
 	/**
@@ -422,7 +533,7 @@ public class AbstractFeatures extends CommonDataFixture {
 
 	protected class ResponseData {
 
-		private final Response response;
+		private final ParsedResponse response;
 
 		protected final ZonedDateTime timeStampBeforeResponse;
 
@@ -430,15 +541,51 @@ public class AbstractFeatures extends CommonDataFixture {
 
 		public ResponseData(Response response, ZonedDateTime timeStampBeforeResponse,
 				ZonedDateTime timeStampAfterResponse) {
-			this.response = response;
+			this.response = new ParsedResponse(response);
 			this.timeStampBeforeResponse = timeStampBeforeResponse;
 			this.timeStampAfterResponse = timeStampAfterResponse;
 		}
 
+		/**
+		 * @return the parsed body, the body is parsed on the first call only
+		 */
 		public JsonPath jsonPath() {
 			return response.jsonPath();
 		}
 
+		public Response getResponse() {
+			return response.getResponse();
+		}
+
+		/**
+		 * @return the number of times the body was parsed
+		 */
+		public int getParseCount() {
+			return response.getParseCount();
+		}
+
+	}
+
+	/**
+	 * A GET request to the features of a collection with a single query parameter.
+	 */
+	protected class FeaturesRequest {
+
+		private final CollectionResponseKey key;
+
+		private final String url;
+
+		private final String parameterName;
+
+		private final Object parameterValue;
+
+		protected FeaturesRequest(CollectionResponseKey key, String url, String parameterName, Object parameterValue) {
+			this.key = key;
+			this.url = url;
+			this.parameterName = parameterName;
+			this.parameterValue = parameterValue;
+		}
+
 	}
 
 	protected class CollectionResponseKey {
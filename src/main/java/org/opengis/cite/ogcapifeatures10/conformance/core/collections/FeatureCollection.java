@@ -3,12 +3,10 @@ package org.opengis.cite.ogcapifeatures10.conformance.core.collections;
 import static io.restassured.http.ContentType.JSON;
 import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.COLLECTIONS;
-import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.IUT;
 import static org.opengis.cite.ogcapifeatures10.openapi3.OpenApiUtils.retrieveTestPointsForCollectionMetadata;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
-import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +15,8 @@ import org.opengis.cite.ogcapifeatures10.conformance.CommonDataFixture;
 import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
 import org.opengis.cite.ogcapifeatures10.openapi3.TestPoint;
 import org.opengis.cite.ogcapifeatures10.openapi3.UriBuilder;
+import org.opengis.cite.ogcapifeatures10.util.JsonDocuments;
+import org.opengis.cite.ogcapifeatures10.util.ParsedResponse;
 import org.testng.ITestContext;
 import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
@@ -35,7 +35,7 @@ import io.restassured.response.Response;
  */
 public class FeatureCollection extends CommonDataFixture {
 
-	private Map<String, Response> collectionIdAndResponse = new HashMap<>();
+	private Map<String, ParsedResponse> collectionIdAndResponse = new HashMap<>();
 
 	/**
 	 * <p>
@@ -64,12 +64,11 @@ public class FeatureCollection extends CommonDataFixture {
 	 */
 	@AfterClass
 	public void storeCollectionInTestContext(ITestContext testContext) {
-		Map<String, JsonPath> collectionsResponses = new HashMap<>();
-		for (Map.Entry<String, Response> collectionIdAndResponseEntry : collectionIdAndResponse.entrySet()) {
-			if (collectionIdAndResponseEntry.getValue() != null) {
-				JsonPath jsonPath = collectionIdAndResponseEntry.getValue().jsonPath();
-				collectionsResponses.put(collectionIdAndResponseEntry.getKey(), jsonPath);
-			}
+		JsonDocuments<String> collectionsResponses = new JsonDocuments<>();
+		for (Map.Entry<String, ParsedResponse> collectionIdAndResponseEntry : collectionIdAndResponse.entrySet()) {
+			ParsedResponse response = collectionIdAndResponseEntry.getValue();
+			if (response != null)
+				collectionsResponses.put(collectionIdAndResponseEntry.getKey(), response);
 		}
 		testContext.getSuite().setAttribute(SuiteAttribute.COLLECTION_BY_ID.getName(), collectionsResponses);
 	}
@@ -90,8 +89,7 @@ public class FeatureCollection extends CommonDataFixture {
 	public void validateFeatureCollectionMetadataOperation(ITestContext testContext, Map<String, Object> collection) {
 		String collectionId = (String) collection.get("id");
 		assertNotNull(collectionId, "Id of the collection is not available");
-		URI iut = (URI) testContext.getSuite().getAttribute(IUT.getName());
-		List<TestPoint> testPointsForNamedCollection = retrieveTestPointsForCollectionMetadata(getApiModel(), iut,
+		List<TestPoint> testPointsForNamedCollection = retrieveTestPointsForCollectionMetadata(getTestPointIndex(),
 				collectionId);
 		if (testPointsForNamedCollection.isEmpty())
 			throw new SkipException("Could not find collection with id " + collectionId + " in the OpenAPI document");
@@ -101,7 +99,7 @@ public class FeatureCollection extends CommonDataFixture {
 		Response response = init().baseUri(testPointUri).accept(JSON).when().request(GET);
 		response.then().statusCode(200);
 
-		collectionIdAndResponse.put(collectionId, response);
+		collectionIdAndResponse.put(collectionId, new ParsedResponse(response));
 	}
 
 	/**
@@ -120,7 +118,7 @@ public class FeatureCollection extends CommonDataFixture {
 	public void validateFeatureCollectionMetadataResponse(Map<String, Object> collection) {
 		String collectionId = (String) collection.get("id");
 		assertNotNull(collectionId, "Id of the collection is not available");
-		Response response = collectionIdAndResponse.get(collectionId);
+		ParsedResponse response = collectionIdAndResponse.get(collectionId);
 		if (response == null)
 			throw new SkipException("Could not find a response for collection with id " + collectionId);
 
@@ -7,7 +7,6 @@ import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertDefaultCrsAtFirs
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS_CODE;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS_WITH_HEIGHT_CODE;
-import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.IUT;
 import static org.opengis.cite.ogcapifeatures10.openapi3.OpenApiUtils.retrieveTestPointsForCollectionsMetadata;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findLinkByRel;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findLinksWithSupportedMediaTypeByRel;
@@ -18,7 +17,6 @@ import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.parseAsListOfMaps
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.parseAsString;
 import static org.testng.Assert.assertNotNull;
 
-import java.net.URI;
 import java.util.*;
 
 import org.apache.commons.lang3.StringUtils;
@@ -29,7 +27,9 @@ import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
 import org.opengis.cite.ogcapifeatures10.openapi3.TestPoint;
 import org.opengis.cite.ogcapifeatures10.openapi3.UriBuilder;
+import org.opengis.cite.ogcapifeatures10.util.JsonDocuments;
 import org.opengis.cite.ogcapifeatures10.util.JsonUtils;
+import org.opengis.cite.ogcapifeatures10.util.ParsedResponse;
 import org.testng.ITestContext;
 import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
@@ -49,7 +49,7 @@ import io.restassured.response.Response;
  */
 public class FeatureCollections extends CommonDataFixture {
 
-	private final Map<TestPoint, Response> testPointAndResponses = new HashMap<>();
+	private final Map<TestPoint, ParsedResponse> testPointAndResponses = new HashMap<>();
 
 	private final Map<TestPoint, List<Map<String, Object>>> testPointAndCollections = new HashMap<>();
 
@@ -65,8 +65,7 @@ public class FeatureCollections extends CommonDataFixture {
 	@DataProvider(name = "collectionsUris")
 	public Object[][] collectionsUris(ITestContext testContext) {
 		if (this.testPointsData == null) {
-			URI iut = (URI) testContext.getSuite().getAttribute(IUT.getName());
-			List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(getApiModel(), iut);
+			List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(getTestPointIndex());
 			this.testPointsData = new Object[testPoints.size()][];
 			int i = 0;
 			for (TestPoint testPoint : testPoints) {
@@ -99,12 +98,10 @@ public class FeatureCollections extends CommonDataFixture {
 	 */
 	@AfterClass
 	public void storeCollectionsResponseInTestContext(ITestContext testContext) {
-		Map<TestPoint, JsonPath> collectionsResponses = new HashMap<>();
-		for (Map.Entry<TestPoint, Response> testPointAndResponse : testPointAndResponses.entrySet()) {
-			if (testPointAndResponse.getValue() != null) {
-				JsonPath jsonPath = testPointAndResponse.getValue().jsonPath();
-				collectionsResponses.put(testPointAndResponse.getKey(), jsonPath);
-			}
+		JsonDocuments<TestPoint> collectionsResponses = new JsonDocuments<>();
+		for (Map.Entry<TestPoint, ParsedResponse> testPointAndResponse : testPointAndResponses.entrySet()) {
+			if (testPointAndResponse.getValue() != null)
+				collectionsResponses.put(testPointAndResponse.getKey(), testPointAndResponse.getValue());
 		}
 		testContext.getSuite().setAttribute(SuiteAttribute.COLLECTIONS_RESPONSE.getName(), collectionsResponses);
 	}
@@ -129,7 +126,7 @@ public class FeatureCollections extends CommonDataFixture {
 		String testPointUri = new UriBuilder(testPoint).buildUrl();
 		Response response = init().baseUri(testPointUri).accept(JSON).when().request(GET);
 		response.then().statusCode(200);
-		this.testPointAndResponses.put(testPoint, response);
+		this.testPointAndResponses.put(testPoint, new ParsedResponse(response));
 	}
 
 	/**
@@ -149,7 +146,7 @@ public class FeatureCollections extends CommonDataFixture {
 			groups = "collections", dataProvider = "collectionsUris",
 			dependsOnMethods = "validateFeatureCollectionsMetadataOperation", alwaysRun = true)
 	public void validateFeatureCollectionsMetadataOperationResponse_Links(TestPoint testPoint) {
-		Response response = testPointAndResponses.get(testPoint);
+		ParsedResponse response = testPointAndResponses.get(testPoint);
 		if (response == null)
 			throw new SkipException("Could not find a response for test point " + testPoint);
 
@@ -203,7 +200,7 @@ public class FeatureCollections extends CommonDataFixture {
 			groups = "collections", dataProvider = "collectionsUris",
 			dependsOnMethods = "validateFeatureCollectionsMetadataOperation", alwaysRun = true)
 	public void validateFeatureCollectionsMetadataOperationResponse_Items(TestPoint testPoint) {
-		Response response = testPointAndResponses.get(testPoint);
+		ParsedResponse response = testPointAndResponses.get(testPoint);
 		if (response == null)
 			throw new SkipException("Could not find a response for test point " + testPoint);
 		JsonPathConfig config = JsonPathConfig.jsonPathConfig().numberReturnType(NumberReturnType.DOUBLE);
@@ -232,7 +229,7 @@ public class FeatureCollections extends CommonDataFixture {
 			groups = "collections", dataProvider = "collectionsUris",
 			dependsOnMethods = "validateFeatureCollectionsMetadataOperation", alwaysRun = true)
 	public void validateFeatureCollectionsMetadataOperationResponse_CrsProperty(TestPoint testPoint) {
-		Response response = testPointAndResponses.get(testPoint);
+		ParsedResponse response = testPointAndResponses.get(testPoint);
 		if (response == null)
 			throw new SkipException("Could not find a response for test point " + testPoint);
 		JsonPath jsonPath = response.jsonPath();
@@ -261,7 +258,7 @@ public class FeatureCollections extends CommonDataFixture {
 			groups = "collections", dataProvider = "collectionsUris",
 			dependsOnMethods = "validateFeatureCollectionsMetadataOperation", alwaysRun = true)
 	public void validateFeatureCollectionsMetadataOperationResponse_Content(TestPoint testPoint) {
-		Response response = testPointAndResponses.get(testPoint);
+		ParsedResponse response = testPointAndResponses.get(testPoint);
 		if (response == null)
 			throw new SkipException("Could not find a response for test point " + testPoint);
 
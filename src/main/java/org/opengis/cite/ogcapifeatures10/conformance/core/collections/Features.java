@@ -8,10 +8,10 @@ import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.parseFeatureId;
 import java.net.URISyntaxException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.locationtech.jts.io.ParseException;
 import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
@@ -71,7 +71,7 @@ public class Features extends AbstractFeatures {
 					+ " supporting GeoJson (type " + GEOJSON_MIME_TYPE + ")");
 
 		ZonedDateTime timeStampBeforeResponse = ZonedDateTime.now();
-		Response response = init().baseUri(featuresUrl).accept(GEOJSON_MIME_TYPE).when().request(GET);
+		Response response = init(false).baseUri(featuresUrl).accept(GEOJSON_MIME_TYPE).when().request(GET);
 		response.then().statusCode(200);
 		ZonedDateTime timeStampAfterResponse = ZonedDateTime.now();
 		ResponseData responseData = new ResponseData(response, timeStampBeforeResponse, timeStampAfterResponse);
@@ -263,11 +263,14 @@ public class Features extends AbstractFeatures {
 	private void addFeatureIdToTestContext(ITestContext testContext, String collectionName, Response response) {
 		if (response == null)
 			return;
-		Map<String, String> collectionNameAndFeatureId = (Map<String, String>) testContext.getSuite()
-			.getAttribute(SuiteAttribute.FEATUREIDS.getName());
-		if (collectionNameAndFeatureId == null) {
-			collectionNameAndFeatureId = new HashMap<>();
-			testContext.getSuite().setAttribute(SuiteAttribute.FEATUREIDS.getName(), collectionNameAndFeatureId);
+		Map<String, String> collectionNameAndFeatureId;
+		synchronized (testContext.getSuite()) {
+			collectionNameAndFeatureId = (Map<String, String>) testContext.getSuite()
+				.getAttribute(SuiteAttribute.FEATUREIDS.getName());
+			if (collectionNameAndFeatureId == null) {
+				collectionNameAndFeatureId = new ConcurrentHashMap<>();
+				testContext.getSuite().setAttribute(SuiteAttribute.FEATUREIDS.getName(), collectionNameAndFeatureId);
+			}
 		}
 		String featureId = parseFeatureId(response.jsonPath());
 		if (featureId != null)
@@ -10,20 +10,23 @@ import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.parseAsList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
 import org.opengis.cite.ogcapifeatures10.openapi3.OpenApiUtils;
 import org.opengis.cite.ogcapifeatures10.openapi3.TestPoint;
+import org.opengis.cite.ogcapifeatures10.openapi3.TestPointIndex;
+import org.opengis.cite.ogcapifeatures10.util.RequestExecutor;
 import org.testng.SkipException;
 
 import com.reprezen.kaizen.oasparser.model3.OpenApi3;
 import com.reprezen.kaizen.oasparser.model3.Parameter;
 
 import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
 
 /**
  * <p>
@@ -81,7 +84,8 @@ public class FeaturesAssertions {
 				+ ") does not match the number of features in the response (" + numberOfFeatures + ")");
 	}
 
-	static void assertNumberMatched(OpenApi3 apiModel, URI iut, String collectionName, JsonPath jsonPath,
+	static void assertNumberMatched(Supplier<RequestSpecification> requests, RequestExecutor requestExecutor,
+			OpenApi3 apiModel, TestPointIndex testPointIndex, String collectionName, JsonPath jsonPath, int pagingLimit,
 			boolean skipIfNoNumberMatched) throws URISyntaxException {
 		if (!hasProperty("numberMatched", jsonPath))
 			if (skipIfNoNumberMatched)
@@ -92,7 +96,7 @@ public class FeaturesAssertions {
 
 		int maximumLimit = -1;
 
-		List<TestPoint> testPoints = retrieveTestPointsForCollection(apiModel, iut, collectionName);
+		List<TestPoint> testPoints = retrieveTestPointsForCollection(testPointIndex, collectionName);
 		if (!testPoints.isEmpty()) {
 			TestPoint testPoint = testPoints.get(0);
 			Parameter limitParameter = OpenApiUtils.retrieveParameterByName(testPoint.getPath(), apiModel, "limit");
@@ -109,7 +113,8 @@ public class FeaturesAssertions {
 					String.format("Number of matched features too large to check, was %d, test suite limit is %d.",
 							numberMatched, OgcApiFeatures10.NUMBERMATCHED_LIMIT));
 		}
-		int numberOfAllReturnedFeatures = collectNumberOfAllReturnedFeatures(jsonPath, maximumLimit);
+		int numberOfAllReturnedFeatures = collectNumberOfAllReturnedFeatures(requests, requestExecutor, jsonPath,
+				maximumLimit, pagingLimit);
 		assertEquals(numberMatched, numberOfAllReturnedFeatures, "Value of numberReturned (" + numberMatched
 				+ ") does not match the number of features in all responses (" + numberOfAllReturnedFeatures + ")");
 	}
@@ -1,6 +1,5 @@
 package org.opengis.cite.ogcapifeatures10.conformance.core.collections;
 
-import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertFalse;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertInCrs84;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
@@ -12,7 +11,6 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 import java.net.URISyntaxException;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -35,7 +33,6 @@ import com.reprezen.kaizen.oasparser.model3.Parameter;
 import com.reprezen.kaizen.oasparser.model3.Schema;
 
 import io.restassured.path.json.JsonPath;
-import io.restassured.response.Response;
 
 /**
  * A.2.7. Features {root}/collections/{collectionId}/items - BoundingBox
@@ -70,6 +67,16 @@ public class FeaturesBBox extends AbstractFeatures {
 				collectionsWithBboxes.add(new Object[] { collection, new BBox(-180.0, -90.0, 180.0, -85.0) });
 			}
 		}
+		List<FeaturesRequest> requests = new ArrayList<>();
+		for (Object[] collectionWithBbox : collectionsWithBboxes) {
+			Map<String, Object> collection = (Map<String, Object>) collectionWithBbox[0];
+			BBox bbox = (BBox) collectionWithBbox[1];
+			String featuresUrl = findFeaturesUrlForGeoJson(rootUri, collection);
+			if (featuresUrl != null && !featuresUrl.isEmpty())
+				requests.add(new FeaturesRequest(asKey((String) collection.get("id"), bbox), featuresUrl, "bbox",
+						bbox.asQueryParameter()));
+		}
+		prefetchFeatures(requests);
 		return collectionsWithBboxes.iterator();
 	}
 
@@ -162,15 +169,9 @@ public class FeaturesBBox extends AbstractFeatures {
 		if (getFeaturesUrl.isEmpty())
 			throw new SkipException("Could not find url for collection with id " + collectionId
 					+ " supporting GeoJson (type " + GEOJSON_MIME_TYPE + ")");
-		ZonedDateTime timeStampBeforeResponse = ZonedDateTime.now();
-		Response response = init().baseUri(getFeaturesUrl)
-			.accept(GEOJSON_MIME_TYPE)
-			.param("bbox", bbox.asQueryParameter())
-			.when()
-			.request(GET);
-		response.then().statusCode(200);
-		ZonedDateTime timeStampAfterResponse = ZonedDateTime.now();
-		ResponseData responseData = new ResponseData(response, timeStampBeforeResponse, timeStampAfterResponse);
+		ResponseData responseData = retrieveFeatures(
+				new FeaturesRequest(asKey(collectionId, bbox), getFeaturesUrl, "bbox", bbox.asQueryParameter()));
+		responseData.getResponse().then().statusCode(200);
 		collectionIdAndResponse.put(asKey(collectionId, bbox), responseData);
 	}
 
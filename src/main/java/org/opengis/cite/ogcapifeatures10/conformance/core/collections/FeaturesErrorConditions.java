@@ -127,7 +127,7 @@ public class FeaturesErrorConditions extends AbstractFeatures {
 			alwaysRun = true)
 	public void validateFeaturesOperation_QueryParamUnknown(Map<String, Object> collection) {
 		String collectionId = (String) collection.get("id");
-		boolean freeFormParameterSupported = OpenApiUtils.isFreeFormParameterSupportedForCollection(getApiModel(), iut,
+		boolean freeFormParameterSupported = OpenApiUtils.isFreeFormParameterSupportedForCollection(getTestPointIndex(),
 				collectionId);
 		if (freeFormParameterSupported) {
 			throw new SkipException("Free-form parameters are supported for collection with id " + collectionId);
@@ -140,7 +140,7 @@ public class FeaturesErrorConditions extends AbstractFeatures {
 		}
 
 		String queryParam = createRandomQueryParam();
-		boolean parameterSupportedForCollection = OpenApiUtils.isParameterSupportedForCollection(getApiModel(), iut,
+		boolean parameterSupportedForCollection = OpenApiUtils.isParameterSupportedForCollection(getTestPointIndex(),
 				collectionId, queryParam);
 		if (parameterSupportedForCollection) {
 			throw new SkipException(
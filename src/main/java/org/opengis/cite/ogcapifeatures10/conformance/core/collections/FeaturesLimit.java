@@ -1,6 +1,5 @@
 package org.opengis.cite.ogcapifeatures10.conformance.core.collections;
 
-import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertFalse;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
@@ -15,7 +14,6 @@ import static org.testng.Assert.assertNotNull;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -34,7 +32,6 @@ import com.reprezen.kaizen.oasparser.model3.Parameter;
 import com.reprezen.kaizen.oasparser.model3.Schema;
 
 import io.restassured.path.json.JsonPath;
-import io.restassured.response.Response;
 
 /**
  * A.2.7. Features {root}/collections/{collectionId}/items - Limit
@@ -56,7 +53,7 @@ public class FeaturesLimit extends AbstractFeatures {
 		List<Object[]> collectionsWithLimits = new ArrayList<>();
 		for (Map<String, Object> collection : collections) {
 			String collectionId = (String) collection.get("id");
-			List<TestPoint> testPoints = retrieveTestPointsForCollection(getApiModel(), iut, collectionId);
+			List<TestPoint> testPoints = retrieveTestPointsForCollection(getTestPointIndex(), collectionId);
 			for (TestPoint testPoint : testPoints) {
 				Parameter limit = retrieveParameterByName(testPoint.getPath(), getApiModel(), "limit");
 				if (limit != null && limit.getSchema() != null) {
@@ -77,6 +74,16 @@ public class FeaturesLimit extends AbstractFeatures {
 				}
 			}
 		}
+		List<FeaturesRequest> requests = new ArrayList<>();
+		for (Object[] collectionWithLimit : collectionsWithLimits) {
+			Map<String, Object> collection = (Map<String, Object>) collectionWithLimit[0];
+			int limit = (int) collectionWithLimit[1];
+			String featuresUrl = findFeaturesUrlForGeoJson(rootUri, collection);
+			if (featuresUrl != null && !featuresUrl.isEmpty())
+				requests
+					.add(new FeaturesRequest(asKey((String) collection.get("id"), limit), featuresUrl, "limit", limit));
+		}
+		prefetchFeatures(requests);
 		return collectionsWithLimits.iterator();
 	}
 
@@ -151,15 +158,9 @@ public class FeaturesLimit extends AbstractFeatures {
 		if (getFeaturesUrl == null || getFeaturesUrl.isEmpty())
 			throw new SkipException("Could not find url for collection with id " + collectionId
 					+ " supporting GeoJson (type " + GEOJSON_MIME_TYPE + ")");
-		ZonedDateTime timeStampBeforeResponse = ZonedDateTime.now();
-		Response response = init().baseUri(getFeaturesUrl)
-			.accept(GEOJSON_MIME_TYPE)
-			.param("limit", limit)
-			.when()
-			.request(GET);
-		response.then().statusCode(200);
-		ZonedDateTime timeStampAfterResponse = ZonedDateTime.now();
-		ResponseData responseData = new ResponseData(response, timeStampBeforeResponse, timeStampAfterResponse);
+		ResponseData responseData = retrieveFeatures(
+				new FeaturesRequest(asKey(collectionId, limit), getFeaturesUrl, "limit", limit));
+		responseData.getResponse().then().statusCode(200);
 		collectionIdAndResponse.put(asKey(collectionId, limit), responseData);
 	}
 
@@ -1,6 +1,5 @@
 package org.opengis.cite.ogcapifeatures10.conformance.core.collections;
 
-import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertFalse;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
 import static org.opengis.cite.ogcapifeatures10.openapi3.OpenApiUtils.retrieveParameterByName;
@@ -34,8 +33,6 @@ import org.testng.annotations.Test;
 import com.reprezen.kaizen.oasparser.model3.Parameter;
 import com.reprezen.kaizen.oasparser.model3.Schema;
 
-import io.restassured.response.Response;
-
 /**
  * A.2.7. Features {root}/collections/{collectionId}/items - Datetime
  *
@@ -77,6 +74,16 @@ public class FeaturesTime extends AbstractFeatures {
 							beginIntervalDate, endIntervalDate });
 			}
 		}
+		List<FeaturesRequest> requests = new ArrayList<>();
+		for (Object[] collectionWithTime : collectionsWithTimes) {
+			Map<String, Object> collection = (Map<String, Object>) collectionWithTime[0];
+			String queryParameter = (String) collectionWithTime[1];
+			String featuresUrl = findFeaturesUrlForGeoJson(rootUri, collection);
+			if (featuresUrl != null && !featuresUrl.isEmpty())
+				requests.add(new FeaturesRequest(asKey((String) collection.get("id"), queryParameter), featuresUrl,
+						"datetime", queryParameter));
+		}
+		prefetchFeatures(requests);
 		return collectionsWithTimes.iterator();
 	}
 
@@ -152,15 +159,9 @@ public class FeaturesTime extends AbstractFeatures {
 		if (getFeaturesUrl.isEmpty())
 			throw new SkipException("Could not find url for collection with id " + collectionId
 					+ " supporting GeoJson (type " + GEOJSON_MIME_TYPE + ")");
-		ZonedDateTime timeStampBeforeResponse = ZonedDateTime.now();
-		Response response = init().baseUri(getFeaturesUrl)
-			.accept(GEOJSON_MIME_TYPE)
-			.param("datetime", queryParameter)
-			.when()
-			.request(GET);
-		response.then().statusCode(200);
-		ZonedDateTime timeStampAfterResponse = ZonedDateTime.now();
-		ResponseData responseData = new ResponseData(response, timeStampBeforeResponse, timeStampAfterResponse);
+		ResponseData responseData = retrieveFeatures(
+				new FeaturesRequest(asKey(collectionId, queryParameter), getFeaturesUrl, "datetime", queryParameter));
+		responseData.getResponse().then().statusCode(200);
 		collectionIdAndResponse.put(asKey(collectionId, queryParameter), responseData);
 
 	}
@@ -2,29 +2,26 @@ package org.opengis.cite.ogcapifeatures10.conformance.core.conformance;
 
 import static io.restassured.http.ContentType.JSON;
 import static io.restassured.http.Method.GET;
-import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.API_MODEL;
-import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.IUT;
 import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.REQUIREMENTCLASSES;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.TEST_POINT_INDEX;
 import static org.opengis.cite.ogcapifeatures10.conformance.RequirementClass.CORE;
 import static org.opengis.cite.ogcapifeatures10.openapi3.OpenApiUtils.retrieveTestPointsForConformance;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.opengis.cite.ogcapifeatures10.conformance.CommonFixture;
 import org.opengis.cite.ogcapifeatures10.conformance.RequirementClass;
 import org.opengis.cite.ogcapifeatures10.openapi3.TestPoint;
+import org.opengis.cite.ogcapifeatures10.openapi3.TestPointIndex;
 import org.opengis.cite.ogcapifeatures10.openapi3.UriBuilder;
 import org.testng.ITestContext;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import com.reprezen.kaizen.oasparser.model3.OpenApi3;
-
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 
@@ -46,9 +43,10 @@ public class Conformance extends CommonFixture {
 	 */
 	@DataProvider(name = "conformanceUris")
 	public Object[][] conformanceUris(ITestContext testContext) {
-		OpenApi3 apiModel = (OpenApi3) testContext.getSuite().getAttribute(API_MODEL.getName());
-		URI iut = (URI) testContext.getSuite().getAttribute(IUT.getName());
-		List<TestPoint> testPoints = retrieveTestPointsForConformance(apiModel, iut);
+		TestPointIndex testPointIndex = (TestPointIndex) testContext.getSuite()
+			.getAttribute(TEST_POINT_INDEX.getName());
+		List<TestPoint> testPoints = testPointIndex != null ? retrieveTestPointsForConformance(testPointIndex)
+				: new ArrayList<>();
 
 		// Set dummy TestPoint data if no testPoints found.
 		if (testPoints.isEmpty()) {
@@ -3,10 +3,11 @@ package org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collection;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertValidCrsIdentifier;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
@@ -40,7 +41,7 @@ import io.restassured.path.json.JsonPath;
  */
 public class DiscoveryCollectionCrsUri {
 
-	private Map<String, List<CoordinateSystem>> collectionIdAndValidCrs = new HashMap<>();
+	private Map<String, List<CoordinateSystem>> collectionIdAndValidCrs = new ConcurrentHashMap<>();
 
 	/**
 	 * <p>
@@ -161,8 +162,7 @@ public class DiscoveryCollectionCrsUri {
 	}
 
 	private void addCrs(String collectionId, CoordinateSystem coordinateSystem) {
-		collectionIdAndValidCrs.putIfAbsent(collectionId, new ArrayList<>());
-		collectionIdAndValidCrs.get(collectionId).add(coordinateSystem);
+		collectionIdAndValidCrs.computeIfAbsent(collectionId, id -> new CopyOnWriteArrayList<>()).add(coordinateSystem);
 	}
 
 }
@@ -119,7 +119,7 @@ public class BBoxCrsParameter extends AbstractBBoxCrs {
 		if (bbox == null)
 			throw new SkipException(String.format("Collection with id %s has no spatial extent", collectionId));
 		GeometryTransformer geometryTransformer = new GeometryTransformer(bbox.getCrs(), defaultCrs);
-		BBox transformedBboxInDefaultCrs = geometryTransformer.transform(bbox);
+		BBox transformedBboxInDefaultCrs = geometryTransformer.transformEnvelope(bbox);
 		String bboxParameterValueDefaultCrs = transformedBboxInDefaultCrs.asQueryParameter();
 		Response response = init().baseUri(featuredUrl)
 			.accept(GEOJSON_MIME_TYPE)
@@ -173,7 +173,8 @@ public class BBoxCrsParameter extends AbstractBBoxCrs {
 			}
 		}
 
-		BBox transformedBbox = geometryTransformer.transform(bbox);
+		// the corners of the extent do not cover the extent in a projected crs
+		BBox transformedBbox = geometryTransformer.transformEnvelope(bbox);
 
 		Response response = init().baseUri(featuredUrl)
 			.param(BBOX_CRS_PARAM, transformedBbox.getCrs().getCode())
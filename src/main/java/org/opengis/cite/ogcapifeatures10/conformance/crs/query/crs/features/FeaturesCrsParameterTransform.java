@@ -2,22 +2,29 @@ package org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.features;
 
 import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertDefaultCrs;
+import static org.opengis.cite.ogcapifeatures10.EtsAssert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.CRS_PARAMETER;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS_CODE;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS_WITH_HEIGHT_CODE;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
+import static org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute.GEOMETRY_MEMORY_LIMIT;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findFeaturesUrlForGeoJson;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.util.logging.Level;
 
-import org.apache.commons.collections.map.MultiKeyMap;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.ParseException;
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
-import org.opengis.cite.ogcapifeatures10.util.GeometryTransformer;
-import org.opengis.cite.ogcapifeatures10.util.JsonUtils;
+import org.opengis.cite.ogcapifeatures10.util.FeatureGeometryStore;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader.GeoJsonFeature;
+import org.opengis.cite.ogcapifeatures10.util.GeometryComparison;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.testng.ITestContext;
 import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import io.restassured.path.json.JsonPath;
@@ -48,7 +55,28 @@ import io.restassured.response.Response;
  */
 public class FeaturesCrsParameterTransform extends AbstractFeaturesCrs {
 
-	private MultiKeyMap collectionIdAndFeatureIdToGeometry = new MultiKeyMap();
+	private FeatureGeometryStore collectionIdAndFeatureIdToGeometry = new FeatureGeometryStore();
+
+	/**
+	 * Creates the store of the geometries with the memory limit configured for the run.
+	 * @param testContext never <code>null</code>
+	 */
+	@BeforeClass
+	public void initGeometryStore(ITestContext testContext) {
+		Long memoryLimit = (Long) testContext.getSuite().getAttribute(GEOMETRY_MEMORY_LIMIT.getName());
+		if (memoryLimit != null)
+			collectionIdAndFeatureIdToGeometry = new FeatureGeometryStore(memoryLimit);
+	}
+
+	/**
+	 * <p>
+	 * releaseGeometries.
+	 * </p>
+	 */
+	@AfterClass
+	public void releaseGeometries() {
+		collectionIdAndFeatureIdToGeometry.close();
+	}
 
 	/**
 	 * Test: transformed geometries in the path /collections/{collectionId}/items
@@ -81,17 +109,28 @@ public class FeaturesCrsParameterTransform extends AbstractFeaturesCrs {
 				featuresUrl, crsHeader, DEFAULT_CRS_CODE, DEFAULT_CRS_WITH_HEIGHT_CODE));
 		String crs = crsHeader.substring(1, crsHeader.length() - 1);
 
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> features = jsonPath.getList("features");
-		for (Map<String, Object> feature : features) {
-			String featureId = feature.get("id").toString();
-			Geometry geometry = JsonUtils.parseFeatureGeometry(feature, new CoordinateSystem(crs));
-			collectionIdAndFeatureIdToGeometry.put(collectionId, featureId, geometry);
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(response.asByteArray(),
+				new CoordinateSystem(crs))) {
+			GeoJsonFeature feature;
+			while ((feature = reader.next()) != null) {
+				Geometry geometry = parseGeometry(feature);
+				if (geometry != null)
+					collectionIdAndFeatureIdToGeometry.put(collectionId, feature.getId(), geometry);
+			}
+		}
+		catch (IOException e) {
+			throw new ParseException(e);
 		}
 	}
 
 	/**
 	 * Test: transformed geometries in the path /collections/{collectionId}/items
+	 * <p>
+	 * The transformed geometries are asserted to match if the crs and the default crs are
+	 * resolved from the bundled proj4 definitions, which declare the axis order of the
+	 * authority. For other crs proj4j assumes lon/lat order, which may differ from the
+	 * server, so a mismatch is logged as a warning and the test passes.
+	 * </p>
 	 * @param collectionId id id of the collection, never <code>null</code>
 	 * @param collection the /collection object, never <code>null</code>
 	 * @param crs the crs to test, never <code>null</code>
@@ -120,16 +159,31 @@ public class FeaturesCrsParameterTransform extends AbstractFeaturesCrs {
 			.request(GET);
 		response.then().statusCode(200);
 
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> features = jsonPath.getList("features");
-		for (Map<String, Object> feature : features) {
-			String featureId = feature.get("id").toString();
-			Geometry geometry = JsonUtils.parseFeatureGeometry(feature, crs);
-			Geometry geometryInDefaultCrs = (Geometry) collectionIdAndFeatureIdToGeometry.get(collectionId, featureId);
-			GeometryTransformer geometryTransformer = new GeometryTransformer(crs, defaultCRS);
-			Geometry transformedGeometry = geometryTransformer.transform(geometry);
-			geometryInDefaultCrs.equalsExact(transformedGeometry, 0.001);
+		GeometryComparison comparison = new GeometryComparison(crs, defaultCRS, GeometryComparison.DEFAULT_TOLERANCE);
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(response.asByteArray(), crs)) {
+			GeoJsonFeature feature;
+			while ((feature = reader.next()) != null) {
+				Geometry geometry = parseGeometry(feature);
+				Geometry geometryInDefaultCrs = collectionIdAndFeatureIdToGeometry.get(collectionId, feature.getId());
+				comparison.add(feature.getId(), geometry, geometryInDefaultCrs);
+			}
 		}
+		catch (IOException e) {
+			throw new ParseException(e);
+		}
+		GeometryComparison.Result result = comparison.compare();
+		String message = String.format("Transformed geometries of collection with id %s at '%s': %s", collectionId,
+				featuresUrl, result);
+		if (comparison.isAxisOrderOfAuthority())
+			assertTrue(result.isMatching(), message);
+		else if (!result.isMatching())
+			TestSuiteLogger.log(Level.WARNING, message);
+	}
+
+	private Geometry parseGeometry(GeoJsonFeature feature) throws ParseException {
+		if (feature.getInvalidGeometry() != null)
+			throw new ParseException(feature.getInvalidGeometry());
+		return feature.getGeometry();
 	}
 
 }
@@ -0,0 +1,42 @@
+package org.opengis.cite.ogcapifeatures10.listener;
+
+import org.opengis.cite.ogcapifeatures10.util.FlightRecorderEvents;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * A listener binding the running test method and the tested collection to the thread
+ * executing the test, so the {@link FlightRecorderEvents} emitted by the test are tagged
+ * with them. Does nothing if the events are disabled.
+ */
+public class FlightRecorderListener implements ITestListener {
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestStart(ITestResult result) {
+		if (!FlightRecorderEvents.isEnabled())
+			return;
+		String testMethod = result.getMethod().getRealClass().getSimpleName() + "#"
+				+ result.getMethod().getMethodName();
+		FlightRecorderEvents.bindContext(testMethod, TimingListener.findCollectionId(result.getParameters()));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		FlightRecorderEvents.joinContext(null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestFailure(ITestResult result) {
+		FlightRecorderEvents.joinContext(null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestSkipped(ITestResult result) {
+		FlightRecorderEvents.joinContext(null);
+	}
+
+}
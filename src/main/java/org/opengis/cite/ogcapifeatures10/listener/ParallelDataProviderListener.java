@@ -0,0 +1,86 @@
+package org.opengis.cite.ogcapifeatures10.listener;
+
+import static java.util.logging.Level.WARNING;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapifeatures10.TestRunArg;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+/**
+ * A listener enabling the parallel execution of the rows of selected data providers. The
+ * mode is opt-in: it is only activated if the test run argument
+ * {@link TestRunArg#DATAPROVIDERTHREADCOUNT dataproviderthreadcount} is set to a value
+ * greater than 1. Otherwise all data providers are executed sequentially as before.
+ *
+ * <p>
+ * Only data providers listed in {@link #PARALLEL_DATA_PROVIDERS} are executed in
+ * parallel. The test methods consuming them must be safe for concurrent use.
+ * </p>
+ */
+public class ParallelDataProviderListener implements IAlterSuiteListener, IAnnotationTransformer {
+
+	/**
+	 * Names of the data providers which rows may be executed in parallel.
+	 */
+	public static final Set<String> PARALLEL_DATA_PROVIDERS = Collections
+		.unmodifiableSet(new HashSet<>(Arrays.asList("collectionItemUrisWithBboxes", "collectionItemUrisWithLimits",
+				"collectionItemUrisWithDateTimes", "collectionIdAndJsonAndCrs",
+				"collectionIdAndJsonAndCrsAndDefaultCrs", "collectionFeatureIdCrsAndDefaultCrs")));
+
+	private int dataProviderThreadCount = 1;
+
+	/** {@inheritDoc} */
+	@Override
+	public void alter(List<XmlSuite> suites) {
+		for (XmlSuite suite : suites) {
+			int threadCount = parseThreadCount(suite.getParameter(TestRunArg.DATAPROVIDERTHREADCOUNT.toString()));
+			if (threadCount > 1) {
+				suite.setDataProviderThreadCount(threadCount);
+				dataProviderThreadCount = Math.max(dataProviderThreadCount, threadCount);
+				TestSuiteLogger.log(Level.CONFIG,
+						String.format("Executing data providers %s with %d threads in parallel",
+								PARALLEL_DATA_PROVIDERS, threadCount));
+			}
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void transform(IDataProviderAnnotation annotation, Method method) {
+		if (isParallelModeEnabled() && PARALLEL_DATA_PROVIDERS.contains(annotation.getName()))
+			annotation.setParallel(true);
+	}
+
+	/**
+	 * @return <code>true</code> if rows of the data providers are executed in parallel,
+	 * <code>false</code> otherwise
+	 */
+	boolean isParallelModeEnabled() {
+		return dataProviderThreadCount > 1;
+	}
+
+	private int parseThreadCount(String threadCount) {
+		if (threadCount == null || threadCount.isEmpty())
+			return 1;
+		try {
+			return Integer.parseInt(threadCount.trim());
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+					TestRunArg.DATAPROVIDERTHREADCOUNT, threadCount));
+			return 1;
+		}
+	}
+
+}
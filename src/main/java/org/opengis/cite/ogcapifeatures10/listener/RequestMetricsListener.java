@@ -0,0 +1,86 @@
+package org.opengis.cite.ogcapifeatures10.listener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
+import org.opengis.cite.ogcapifeatures10.util.HttpTransport;
+import org.opengis.cite.ogcapifeatures10.util.RequestMetrics;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * A listener surfacing the {@link RequestMetrics} of a test run.
+ *
+ * <p>
+ * The requests issued by a test are summarized in the result attribute
+ * {@value #REQUEST_METRICS_ATTRIBUTE}. When the suite finishes, the latency and
+ * throughput of all requests by endpoint are logged and written to the file
+ * {@value #REQUEST_METRICS_FILE} in the output directory of the suite.
+ * </p>
+ */
+public class RequestMetricsListener implements ISuiteListener, ITestListener {
+
+	/** Constant <code>REQUEST_METRICS_ATTRIBUTE="requestMetrics"</code> */
+	public static final String REQUEST_METRICS_ATTRIBUTE = "requestMetrics";
+
+	/** Constant <code>REQUEST_METRICS_FILE="request-metrics.txt"</code> */
+	public static final String REQUEST_METRICS_FILE = "request-metrics.txt";
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestStart(ITestResult result) {
+		RequestMetrics.startTest();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		endTest(result);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestFailure(ITestResult result) {
+		endTest(result);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onTestSkipped(ITestResult result) {
+		endTest(result);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onFinish(ISuite suite) {
+		Object transport = suite.getAttribute(SuiteAttribute.HTTP_TRANSPORT.getName());
+		if (!(transport instanceof HttpTransport))
+			return;
+		String report = ((HttpTransport) transport).getRequestMetrics().createReport();
+		TestSuiteLogger.log(Level.INFO, "Request metrics:" + System.lineSeparator() + report);
+		if (suite.getOutputDirectory() == null)
+			return;
+		File reportFile = new File(suite.getOutputDirectory(), REQUEST_METRICS_FILE);
+		try {
+			Files.createDirectories(reportFile.toPath().getParent());
+			Files.write(reportFile.toPath(), report.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write request metrics to " + reportFile, e);
+		}
+	}
+
+	private void endTest(ITestResult result) {
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.endTest();
+		if (testMetrics != null)
+			result.setAttribute(REQUEST_METRICS_ATTRIBUTE, testMetrics);
+	}
+
+}
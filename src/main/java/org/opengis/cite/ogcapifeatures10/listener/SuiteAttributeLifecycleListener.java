@@ -0,0 +1,165 @@
+package org.opengis.cite.ogcapifeatures10.listener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
+import org.opengis.cite.ogcapifeatures10.conformance.core.collections.AbstractFeatures;
+import org.opengis.cite.ogcapifeatures10.conformance.core.collections.Feature;
+import org.opengis.cite.ogcapifeatures10.conformance.core.collections.FeatureCollection;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collection.AbstractDiscoveryCollection;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collection.DiscoveryCollectionCrsUri;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collections.AbstractDiscoveryCollections;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.bboxcrs.AbstractBBoxCrs;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.feature.AbstractFeatureCrs;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.features.AbstractFeaturesCrs;
+import org.opengis.cite.ogcapifeatures10.util.JsonDocuments;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.testng.IClassListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * A listener releasing the suite attributes keeping parsed documents. The test classes
+ * reading such an attribute are declared by this listener, subclasses of them are
+ * consumers as well. When the last test class of the run consuming an attribute finished,
+ * the attribute is removed from the suite and the estimated heap retained by it is
+ * logged. Attributes not released before the suite finishes are logged on finish,
+ * attributes without declared consumers are kept until the end of the suite.
+ */
+public class SuiteAttributeLifecycleListener implements ISuiteListener, IClassListener {
+
+	private static final int OBJECT_SIZE = 16;
+
+	private static final int REFERENCE_SIZE = 8;
+
+	private static final int ENTRY_SIZE = 32;
+
+	private static final Map<SuiteAttribute, List<Class<?>>> CONSUMERS = new EnumMap<>(SuiteAttribute.class);
+
+	static {
+		CONSUMERS.put(SuiteAttribute.COLLECTIONS_RESPONSE, Arrays.asList(AbstractDiscoveryCollections.class));
+		CONSUMERS.put(SuiteAttribute.COLLECTIONS, Arrays.asList(FeatureCollection.class, Feature.class,
+				AbstractFeatures.class, AbstractDiscoveryCollections.class));
+		CONSUMERS.put(SuiteAttribute.COLLECTION_BY_ID,
+				Arrays.asList(AbstractDiscoveryCollection.class, DiscoveryCollectionCrsUri.class, AbstractBBoxCrs.class,
+						AbstractFeatureCrs.class, AbstractFeaturesCrs.class));
+	}
+
+	private final Map<SuiteAttribute, Set<Class<?>>> pendingConsumers = new EnumMap<>(SuiteAttribute.class);
+
+	private ISuite suite;
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void onStart(ISuite suite) {
+		this.suite = suite;
+		pendingConsumers.clear();
+		Set<Class<?>> testClasses = new HashSet<>();
+		for (ITestNGMethod method : suite.getAllMethods())
+			testClasses.add(method.getRealClass());
+		for (Map.Entry<SuiteAttribute, List<Class<?>>> attributeAndConsumers : CONSUMERS.entrySet()) {
+			Set<Class<?>> consumers = new HashSet<>();
+			for (Class<?> testClass : testClasses) {
+				if (isConsumer(attributeAndConsumers.getValue(), testClass))
+					consumers.add(testClass);
+			}
+			pendingConsumers.put(attributeAndConsumers.getKey(), consumers);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onBeforeClass(ITestClass testClass) {
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void onAfterClass(ITestClass testClass) {
+		if (suite == null)
+			return;
+		for (Map.Entry<SuiteAttribute, Set<Class<?>>> attributeAndConsumers : pendingConsumers.entrySet()) {
+			Set<Class<?>> consumers = attributeAndConsumers.getValue();
+			consumers.remove(testClass.getRealClass());
+			SuiteAttribute attribute = attributeAndConsumers.getKey();
+			if (consumers.isEmpty() && suite.getAttribute(attribute.getName()) != null) {
+				Object value = suite.removeAttribute(attribute.getName());
+				TestSuiteLogger.log(Level.INFO, String.format("Released suite attribute %s after %s, retained ~%d kB",
+						attribute.getName(), testClass.getName(), estimateSize(value) / 1024));
+			}
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void onFinish(ISuite suite) {
+		for (SuiteAttribute attribute : CONSUMERS.keySet()) {
+			Object value = suite.getAttribute(attribute.getName());
+			if (value != null)
+				TestSuiteLogger.log(Level.INFO, String.format("Suite attribute %s retained ~%d kB until the end",
+						attribute.getName(), estimateSize(value) / 1024));
+		}
+		pendingConsumers.clear();
+		this.suite = null;
+	}
+
+	private static boolean isConsumer(List<Class<?>> consumers, Class<?> testClass) {
+		for (Class<?> consumer : consumers) {
+			if (consumer.isAssignableFrom(testClass))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Estimates the heap retained by a parsed document, i.e. nested maps, collections,
+	 * strings, numbers and {@link JsonDocuments}. The {@link JsonPath}s of the latter are
+	 * estimated by the byte length of their original JSON, as the tree parsed by a
+	 * {@link JsonPath} is not accessible. Other objects are counted with their header
+	 * only.
+	 * @param value the value to estimate, may be <code>null</code>
+	 * @return the estimated number of bytes
+	 */
+	static long estimateSize(Object value) {
+		return estimateSize(value, Collections.newSetFromMap(new IdentityHashMap<>()));
+	}
+
+	private static long estimateSize(Object value, Set<Object> visited) {
+		if (value == null || !visited.add(value))
+			return 0;
+		if (value instanceof String)
+			return OBJECT_SIZE * 2 + ((String) value).length();
+		if (value instanceof JsonDocuments) {
+			long size = OBJECT_SIZE * 3 + ((JsonDocuments<?>) value).getByteLength();
+			for (Object key : ((JsonDocuments<?>) value).keySet())
+				size += ENTRY_SIZE + OBJECT_SIZE + estimateSize(key, visited);
+			return size;
+		}
+		if (value instanceof Map) {
+			long size = OBJECT_SIZE * 3;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+				size += ENTRY_SIZE + estimateSize(entry.getKey(), visited) + estimateSize(entry.getValue(), visited);
+			return size;
+		}
+		if (value instanceof Collection) {
+			long size = OBJECT_SIZE * 2;
+			for (Object element : (Collection<?>) value)
+				size += REFERENCE_SIZE + estimateSize(element, visited);
+			return size;
+		}
+		return OBJECT_SIZE;
+	}
+
+}
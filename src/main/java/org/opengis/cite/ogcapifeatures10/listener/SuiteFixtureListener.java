@@ -5,12 +5,16 @@ import static java.util.logging.Level.WARNING;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.util.Map;
 import java.util.logging.Level;
 
 import org.opengis.cite.ogcapifeatures10.TestRunArg;
 import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
 import org.opengis.cite.ogcapifeatures10.util.ClientUtils;
+import org.opengis.cite.ogcapifeatures10.util.HttpTransport;
+import org.opengis.cite.ogcapifeatures10.util.RequestExecutor;
+import org.opengis.cite.ogcapifeatures10.util.ResponseCache;
 import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
 import org.opengis.cite.ogcapifeatures10.util.URIUtils;
 import org.testng.ISuite;
@@ -33,6 +37,8 @@ import jakarta.ws.rs.client.Client;
  */
 public class SuiteFixtureListener implements ISuiteListener {
 
+	private static final String CAPTURE_SPILL_DIR = "messages";
+
 	/** {@inheritDoc} */
 	@Override
 	public void onStart(ISuite suite) {
@@ -43,6 +49,8 @@ public class SuiteFixtureListener implements ISuiteListener {
 	/** {@inheritDoc} */
 	@Override
 	public void onFinish(ISuite suite) {
+		releaseClientComponent(suite);
+		deleteTemporaryCaptureSpillDir(suite);
 		if (null != System.getProperty("deleteSubjectOnFinish")) {
 			deleteTempFiles(suite);
 			System.getProperties().remove("deleteSubjectOnFinish");
@@ -87,12 +95,69 @@ public class SuiteFixtureListener implements ISuiteListener {
 			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
 					TestRunArg.NOOFCOLLECTIONS, noOfCollections));
 		}
+
+		String pagingLimit = params.get(TestRunArg.PAGINGLIMIT.toString());
+		try {
+			if (pagingLimit != null) {
+				int pagingLimitInt = Integer.parseInt(pagingLimit);
+				suite.setAttribute(SuiteAttribute.PAGING_LIMIT.getName(), pagingLimitInt);
+			}
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+					TestRunArg.PAGINGLIMIT, pagingLimit));
+		}
+
+		String captureLimit = params.get(TestRunArg.CAPTURELIMIT.toString());
+		try {
+			if (captureLimit != null) {
+				int captureLimitInt = Integer.parseInt(captureLimit);
+				suite.setAttribute(SuiteAttribute.CAPTURE_LIMIT.getName(), captureLimitInt);
+			}
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+					TestRunArg.CAPTURELIMIT, captureLimit));
+		}
+		String geometryMemory = params.get(TestRunArg.GEOMETRYMEMORY.toString());
+		try {
+			if (geometryMemory != null) {
+				long geometryMemoryLong = Long.parseLong(geometryMemory);
+				suite.setAttribute(SuiteAttribute.GEOMETRY_MEMORY_LIMIT.getName(), geometryMemoryLong);
+			}
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+					TestRunArg.GEOMETRYMEMORY, geometryMemory));
+		}
+		String captureSpill = params.get(TestRunArg.CAPTURESPILL.toString());
+		if (Boolean.parseBoolean(captureSpill)) {
+			File captureSpillDir = createCaptureSpillDir(suite);
+			if (captureSpillDir != null)
+				suite.setAttribute(SuiteAttribute.CAPTURE_SPILL_DIR.getName(), captureSpillDir);
+		}
+		// set by the operator only (command line option or system property), a test run
+		// argument would let any user of the server write into any directory
+		String apiCacheDir = System.getProperty("apiCacheDir");
+		if (apiCacheDir != null && !apiCacheDir.isEmpty()) {
+			File apiCacheDirFile = apiCacheDir.startsWith("file:") ? new File(URI.create(apiCacheDir))
+					: new File(apiCacheDir);
+			suite.setAttribute(SuiteAttribute.API_CACHE_DIR.getName(), apiCacheDirFile);
+		}
+		boolean exhaustive = Boolean.parseBoolean(params.get(TestRunArg.EXHAUSTIVE.toString()));
+		suite.setAttribute(SuiteAttribute.EXHAUSTIVE.getName(), exhaustive);
+		// all collections are validated in exhaustive mode, unless limited explicitly
+		if (exhaustive && noOfCollections == null)
+			suite.setAttribute(SuiteAttribute.NO_OF_COLLECTIONS.getName(), -1);
 	}
 
 	/**
 	 * A client component is added to the suite fixture as the value of the
 	 * {@link SuiteAttribute#CLIENT} attribute; it may be subsequently accessed via the
-	 * {@link org.testng.ITestContext#getSuite()} method.
+	 * {@link org.testng.ITestContext#getSuite()} method. The shared HTTP transport with
+	 * the response cache size configured by the {@link TestRunArg#CACHESIZE cachesize}
+	 * argument and the request executor configured by the
+	 * {@link TestRunArg#VIRTUALTHREADS virtualthreads} argument are registered as well.
 	 * @param suite The test suite instance.
 	 */
 	void registerClientComponent(ISuite suite) {
@@ -100,6 +165,81 @@ public class SuiteFixtureListener implements ISuiteListener {
 		if (null != client) {
 			suite.setAttribute(SuiteAttribute.CLIENT.getName(), client);
 		}
+		long cacheSize = ResponseCache.DEFAULT_MAX_SIZE_BYTES;
+		String cacheSizeParam = suite.getXmlSuite().getParameters().get(TestRunArg.CACHESIZE.toString());
+		try {
+			if (cacheSizeParam != null)
+				cacheSize = Long.parseLong(cacheSizeParam);
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(WARNING, String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+					TestRunArg.CACHESIZE, cacheSizeParam));
+		}
+		HttpTransport transport = new HttpTransport(HttpTransport.DEFAULT_MAX_CONNECTIONS,
+				HttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST, cacheSize);
+		suite.setAttribute(SuiteAttribute.HTTP_TRANSPORT.getName(), transport);
+
+		String virtualThreads = suite.getXmlSuite().getParameters().get(TestRunArg.VIRTUALTHREADS.toString());
+		RequestExecutor executor = Boolean.parseBoolean(virtualThreads) ? RequestExecutor.concurrent()
+				: RequestExecutor.sequential();
+		TestSuiteLogger.log(Level.CONFIG, "Using " + executor);
+		suite.setAttribute(SuiteAttribute.REQUEST_EXECUTOR.getName(), executor);
+	}
+
+	/**
+	 * Logs the connection and cache statistics of the shared
+	 * {@link SuiteAttribute#HTTP_TRANSPORT} and closes its connections. The threads of
+	 * the {@link SuiteAttribute#REQUEST_EXECUTOR} of the suite are stopped.
+	 * @param suite The test suite instance.
+	 */
+	void releaseClientComponent(ISuite suite) {
+		Object executor = suite.getAttribute(SuiteAttribute.REQUEST_EXECUTOR.getName());
+		if (executor instanceof RequestExecutor)
+			((RequestExecutor) executor).shutdown();
+		Object transport = suite.getAttribute(SuiteAttribute.HTTP_TRANSPORT.getName());
+		if (transport instanceof HttpTransport) {
+			TestSuiteLogger.log(Level.INFO, transport.toString());
+			TestSuiteLogger.log(Level.INFO, ((HttpTransport) transport).getResponseCache().toString());
+			TestSuiteLogger.log(Level.INFO, ((HttpTransport) transport).getConcurrencyLimiter().toString());
+			TestSuiteLogger.log(Level.INFO, ((HttpTransport) transport).getRetryHandler().toString());
+			((HttpTransport) transport).shutdown();
+		}
+	}
+
+	/**
+	 * The messages exceeding the capture limit are written next to the results into the
+	 * output directory of the suite. Without output directory a temporary directory is
+	 * created, which is deleted when the suite is finished.
+	 * @param suite The test suite instance.
+	 * @return the directory, <code>null</code> if no directory could be created
+	 */
+	File createCaptureSpillDir(ISuite suite) {
+		if (suite.getOutputDirectory() != null)
+			return new File(suite.getOutputDirectory(), CAPTURE_SPILL_DIR);
+		try {
+			return Files.createTempDirectory("ets-ogcapi-features10-" + CAPTURE_SPILL_DIR + "-").toFile();
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(WARNING, "Could not create directory for messages exceeding the capture limit", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the directory created by {@link #createCaptureSpillDir(ISuite)} if the
+	 * suite has no output directory, the files in the output directory are kept with the
+	 * results.
+	 * @param suite The test suite instance.
+	 */
+	void deleteTemporaryCaptureSpillDir(ISuite suite) {
+		Object captureSpillDir = suite.getAttribute(SuiteAttribute.CAPTURE_SPILL_DIR.getName());
+		if (suite.getOutputDirectory() != null || !(captureSpillDir instanceof File))
+			return;
+		File[] files = ((File) captureSpillDir).listFiles();
+		if (files != null)
+			for (File file : files)
+				file.delete();
+		((File) captureSpillDir).delete();
 	}
 
 	/**
@@ -1,11 +1,15 @@
 package org.opengis.cite.ogcapifeatures10.listener;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.opengis.cite.ogcapifeatures10.conformance.CommonFixture;
 import org.opengis.cite.ogcapifeatures10.util.ClientUtils;
+import org.opengis.cite.ogcapifeatures10.util.RequestMetrics;
 import org.opengis.cite.ogcapifeatures10.util.XMLUtils;
 import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
@@ -17,28 +21,68 @@ import jakarta.ws.rs.core.MediaType;
  * A listener that augments a test result with diagnostic information in the event that a
  * test method failed. This information will appear in the XML report when the test run is
  * completed.
+ *
+ * <p>
+ * Requests of a test retried because of transient transport errors are listed in the
+ * attribute {@value #RETRIES_ATTRIBUTE} of the result, whether the test passed or failed.
+ * </p>
  */
 public class TestFailureListener extends TestListenerAdapter {
 
+	/** Constant <code>RETRIES_ATTRIBUTE="retries"</code> */
+	public static final String RETRIES_ATTRIBUTE = "retries";
+
 	/**
 	 * {@inheritDoc}
 	 *
 	 * Sets the "request" and "response" attributes of a test result. The value of these
 	 * attributes is a string that contains information about the content of an outgoing
 	 * or incoming message: target resource, status code, headers, entity (if present).
-	 * The entity is represented as a String with UTF-8 character encoding.
+	 * The entity is represented as a String with UTF-8 character encoding. Messages
+	 * exceeding the capture limit are shortened; if they were written to temporary files,
+	 * the "responseFile" attribute contains the paths of these files.
 	 */
 	@Override
 	public void onTestFailure(ITestResult result) {
 		super.onTestFailure(result);
+		setRetries(result);
 		Object instance = result.getInstance();
 		if (CommonFixture.class.isInstance(instance)) {
 			CommonFixture fixture = CommonFixture.class.cast(instance);
 			result.setAttribute("request", fixture.getRequest());
 			result.setAttribute("response", fixture.getResponse());
+			List<Path> responseFiles = fixture.getResponseFiles();
+			if (!responseFiles.isEmpty()) {
+				result.setAttribute("responseFile",
+						responseFiles.stream().map(Path::toString).collect(Collectors.joining(", ")));
+			}
 		}
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		super.onTestSuccess(result);
+		setRetries(result);
+	}
+
+	/**
+	 * Sets the "retries" attribute of a test result if requests of the test were retried.
+	 * The value lists the retried requests with the cause of the retry, one per line.
+	 * @param result the result of the test, never <code>null</code>
+	 */
+	void setRetries(ITestResult result) {
+		// the metrics are still bound to the thread or already attached to the result
+		Object testMetrics = RequestMetrics.currentTest();
+		if (testMetrics == null)
+			testMetrics = result.getAttribute(RequestMetricsListener.REQUEST_METRICS_ATTRIBUTE);
+		if (!(testMetrics instanceof RequestMetrics.TestMetrics))
+			return;
+		List<String> retries = ((RequestMetrics.TestMetrics) testMetrics).getRetries();
+		if (!retries.isEmpty())
+			result.setAttribute(RETRIES_ATTRIBUTE, String.join("\n", retries));
+	}
+
 	/**
 	 * Gets diagnostic information about a request message. If the request contains a
 	 * message body, it should be represented as a DOM Document node or as an object
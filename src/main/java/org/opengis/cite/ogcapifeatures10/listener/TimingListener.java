@@ -0,0 +1,311 @@
+package org.opengis.cite.ogcapifeatures10.listener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * A listener measuring the wall-clock time spent in data providers, configuration methods
+ * and test methods.
+ *
+ * <p>
+ * The invocations of a test method are grouped by the collection and the CRS passed by
+ * the data provider. When the suite finishes, the {@value #TOP_N} slowest methods and the
+ * time spent per test class are logged, and the complete profile is written as JSON to
+ * the file {@value #PROFILE_FILE} in the output directory of the suite.
+ * </p>
+ */
+public class TimingListener implements ISuiteListener, IInvokedMethodListener, IDataProviderListener {
+
+	/** Constant <code>PROFILE_FILE="timing-profile.json"</code> */
+	public static final String PROFILE_FILE = "timing-profile.json";
+
+	/** Constant <code>TOP_N=20</code> */
+	public static final int TOP_N = 20;
+
+	/**
+	 * Kinds of the timed methods.
+	 */
+	public enum Kind {
+
+		/** A method building the parameters of a test method. */
+		DATA_PROVIDER,
+
+		/** A configuration method, e.g. annotated with BeforeClass. */
+		CONFIGURATION,
+
+		/** A test method. */
+		TEST
+
+	}
+
+	private final ThreadLocal<Long> dataProviderStart = new ThreadLocal<>();
+
+	private final ThreadLocal<Long> invocationStart = new ThreadLocal<>();
+
+	private final Map<String, Timing> timings = new LinkedHashMap<>();
+
+	private final Map<String, long[]> classSpans = new TreeMap<>();
+
+	private long suiteStart;
+
+	/** {@inheritDoc} */
+	@Override
+	public void onStart(ISuite suite) {
+		suiteStart = System.nanoTime();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void beforeDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+			ITestContext iTestContext) {
+		dataProviderStart.set(System.nanoTime());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void afterDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+			ITestContext iTestContext) {
+		Long start = dataProviderStart.get();
+		dataProviderStart.remove();
+		if (start == null)
+			return;
+		String methodName = dataProviderMethod.getMethod().getName() + " (" + method.getMethodName() + ")";
+		record(Kind.DATA_PROVIDER, method.getRealClass().getName(), methodName, null, null, start, System.nanoTime());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		invocationStart.set(System.nanoTime());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		Long start = invocationStart.get();
+		invocationStart.remove();
+		if (start == null)
+			return;
+		ITestNGMethod testMethod = method.getTestMethod();
+		String className = testMethod.getRealClass().getName();
+		if (method.isTestMethod()) {
+			Object[] parameters = testResult.getParameters();
+			record(Kind.TEST, className, testMethod.getMethodName(), findCollectionId(parameters), findCrs(parameters),
+					start, System.nanoTime());
+		}
+		else {
+			record(Kind.CONFIGURATION, className, testMethod.getMethodName(), null, null, start, System.nanoTime());
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onFinish(ISuite suite) {
+		long suiteNanos = System.nanoTime() - suiteStart;
+		TestSuiteLogger.log(Level.INFO, createReport(TOP_N));
+		if (suite.getOutputDirectory() == null)
+			return;
+		File profileFile = new File(suite.getOutputDirectory(), PROFILE_FILE);
+		try {
+			Files.createDirectories(profileFile.toPath().getParent());
+			try (OutputStream out = Files.newOutputStream(profileFile.toPath())) {
+				writeProfile(suite.getName(), suiteNanos, out);
+			}
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write timing profile to " + profileFile, e);
+		}
+	}
+
+	/**
+	 * Creates a report of the slowest methods and the time spent per test class.
+	 * @param topN the maximum number of methods listed
+	 * @return the report, never <code>null</code>
+	 */
+	synchronized String createReport(int topN) {
+		StringBuilder report = new StringBuilder("Slowest methods:").append(System.lineSeparator());
+		List<Timing> slowest = new ArrayList<>(timings.values());
+		slowest.sort(Comparator.comparingLong((Timing timing) -> timing.totalNanos).reversed());
+		for (Timing timing : slowest.subList(0, Math.min(topN, slowest.size())))
+			report.append(String.format(Locale.ROOT, "%10.1f s %6d x %-13s %s#%s%s%n", seconds(timing.totalNanos),
+					timing.invocations, timing.kind, simpleName(timing.className), timing.methodName,
+					timing.describeRow()));
+		report.append("Test classes:").append(System.lineSeparator());
+		for (Map.Entry<String, long[]> classAndSpan : classSpans.entrySet()) {
+			long[] span = classAndSpan.getValue();
+			report.append(String.format(Locale.ROOT, "%10.1f s wall-clock, %.1f s summed %s%n",
+					seconds(span[1] - span[0]), seconds(span[2]), simpleName(classAndSpan.getKey())));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Writes the profile as JSON.
+	 * @param suiteName the name of the suite
+	 * @param suiteNanos the duration of the suite in nanoseconds
+	 * @param out the stream to write to, not closed, never <code>null</code>
+	 * @throws IOException if the profile could not be written
+	 */
+	synchronized void writeProfile(String suiteName, long suiteNanos, OutputStream out) throws IOException {
+		try (JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.useDefaultPrettyPrinter();
+			generator.writeStartObject();
+			generator.writeStringField("suite", suiteName);
+			generator.writeNumberField("durationMillis", millis(suiteNanos));
+			generator.writeArrayFieldStart("classes");
+			for (Map.Entry<String, long[]> classAndSpan : classSpans.entrySet()) {
+				long[] span = classAndSpan.getValue();
+				generator.writeStartObject();
+				generator.writeStringField("testClass", classAndSpan.getKey());
+				generator.writeNumberField("wallClockMillis", millis(span[1] - span[0]));
+				generator.writeNumberField("totalMillis", millis(span[2]));
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeArrayFieldStart("methods");
+			for (Timing timing : timings.values()) {
+				generator.writeStartObject();
+				generator.writeStringField("kind", timing.kind.name());
+				generator.writeStringField("testClass", timing.className);
+				generator.writeStringField("method", timing.methodName);
+				if (timing.collectionId != null)
+					generator.writeStringField("collection", timing.collectionId);
+				if (timing.crs != null)
+					generator.writeStringField("crs", timing.crs);
+				generator.writeNumberField("invocations", timing.invocations);
+				generator.writeNumberField("totalMillis", millis(timing.totalNanos));
+				generator.writeNumberField("maxMillis", millis(timing.maxNanos));
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+
+	private synchronized void record(Kind kind, String className, String methodName, String collectionId, String crs,
+			long start, long end) {
+		String key = kind + "|" + className + "|" + methodName + "|" + collectionId + "|" + crs;
+		timings.computeIfAbsent(key, k -> new Timing(kind, className, methodName, collectionId, crs))
+			.record(end - start);
+		long[] span = classSpans.computeIfAbsent(className, k -> new long[] { start, end, 0 });
+		span[0] = Math.min(span[0], start);
+		span[1] = Math.max(span[1], end);
+		span[2] += end - start;
+	}
+
+	static String findCollectionId(Object[] parameters) {
+		if (parameters == null)
+			return null;
+		for (int i = 0; i < parameters.length; i++) {
+			Object parameter = parameters[i];
+			if (i == 0 && parameter instanceof String)
+				return (String) parameter;
+			if (parameter instanceof Map && ((Map<?, ?>) parameter).get("id") instanceof String)
+				return (String) ((Map<?, ?>) parameter).get("id");
+			if (parameter instanceof JsonPath) {
+				Object id = ((JsonPath) parameter).get("id");
+				if (id instanceof String)
+					return (String) id;
+			}
+		}
+		return null;
+	}
+
+	static String findCrs(Object[] parameters) {
+		if (parameters == null)
+			return null;
+		for (Object parameter : parameters) {
+			if (parameter instanceof CoordinateSystem)
+				return ((CoordinateSystem) parameter).getCode();
+		}
+		return null;
+	}
+
+	private static String simpleName(String className) {
+		return className.substring(className.lastIndexOf('.') + 1);
+	}
+
+	private static double seconds(long nanos) {
+		return nanos / 1e9;
+	}
+
+	private static long millis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	private static class Timing {
+
+		private final Kind kind;
+
+		private final String className;
+
+		private final String methodName;
+
+		private final String collectionId;
+
+		private final String crs;
+
+		private long invocations;
+
+		private long totalNanos;
+
+		private long maxNanos;
+
+		private Timing(Kind kind, String className, String methodName, String collectionId, String crs) {
+			this.kind = kind;
+			this.className = className;
+			this.methodName = methodName;
+			this.collectionId = collectionId;
+			this.crs = crs;
+		}
+
+		private void record(long nanos) {
+			invocations++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+		}
+
+		private String describeRow() {
+			if (collectionId == null && crs == null)
+				return "";
+			StringBuilder row = new StringBuilder(" [");
+			if (collectionId != null)
+				row.append("collection ").append(collectionId);
+			if (crs != null)
+				row.append(collectionId != null ? ", " : "").append("crs ").append(crs);
+			return row.append(']').toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,202 @@
+package org.opengis.cite.ogcapifeatures10.openapi3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+
+/**
+ * Persistent cache of the API definition documents which passed the validation.
+ *
+ * <p>
+ * An entry is keyed by the SHA-256 digest of the document, the url it was retrieved from
+ * and the versions of the test suite and of the OpenAPI parser validating it. The url is
+ * part of the key as relative references are resolved against it, the versions as an
+ * upgrade may change the outcome of the validation. If the entry of a document exists,
+ * the document is known to be valid and is parsed without validation. Documents failing
+ * the validation are not cached, so the validation messages are reported on each run.
+ * </p>
+ *
+ * <p>
+ * Documents referencing other documents (a <code>$ref</code> not starting with
+ * <code>#</code>) are not cached: the referenced documents may change without the
+ * referencing document changing.
+ * </p>
+ *
+ * <p>
+ * The document is still retrieved on each run, as Abstract Test 5 requires it to be
+ * returned with status code 200; only the validation is skipped.
+ * </p>
+ */
+public class ApiDefinitionCache {
+
+	private static final String ENTRY_SUFFIX = ".properties";
+
+	private static final String URL = "url";
+
+	private static final String VALIDATED = "validated";
+
+	private static final String REF = "$ref";
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final String VALIDATOR_VERSION = readSuiteVersion() + "/"
+			+ OpenApi3Parser.class.getPackage().getImplementationVersion();
+
+	private final File cacheDir;
+
+	/**
+	 * @param cacheDir the directory containing the entries, created if it does not exist,
+	 * never <code>null</code>
+	 */
+	public ApiDefinitionCache(File cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * Checks if the passed document was validated successfully in a previous run.
+	 * @param apiUrl the url the document was retrieved from, never <code>null</code>
+	 * @param document the content of the document, never <code>null</code>
+	 * @return <code>true</code> if the document is known to be valid, <code>false</code>
+	 * otherwise
+	 */
+	public boolean isValidated(String apiUrl, String document) {
+		Properties properties = load(entryFile(apiUrl, document));
+		return properties != null && apiUrl.equals(properties.getProperty(URL));
+	}
+
+	/**
+	 * Stores that the passed document was validated successfully. Documents referencing
+	 * other documents are not stored. Failures to write the entry are logged only.
+	 * @param apiUrl the url the document was retrieved from, never <code>null</code>
+	 * @param document the content of the document, never <code>null</code>
+	 */
+	public void storeValidated(String apiUrl, String document) {
+		if (hasExternalReferences(document)) {
+			TestSuiteLogger.log(Level.FINE,
+					"API definition " + apiUrl + " references other documents, the validation result is not cached");
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(URL, apiUrl);
+		properties.setProperty(VALIDATED, Long.toString(System.currentTimeMillis()));
+		try {
+			Files.createDirectories(cacheDir.toPath());
+			store(entryFile(apiUrl, document), properties);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not cache validation result in " + cacheDir, e);
+		}
+	}
+
+	/**
+	 * Checks if the passed document references other documents.
+	 * @param document the content of the document, never <code>null</code>
+	 * @return <code>true</code> if a <code>$ref</code> does not start with <code>#</code>
+	 * or the document is not a JSON document, <code>false</code> otherwise
+	 */
+	static boolean hasExternalReferences(String document) {
+		try (JsonParser parser = JSON_FACTORY.createParser(document)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME && REF.equals(parser.getCurrentName())) {
+					JsonToken value = parser.nextToken();
+					if (value != JsonToken.VALUE_STRING || !parser.getText().startsWith("#"))
+						return true;
+				}
+			}
+			return false;
+		}
+		catch (IOException e) {
+			// references of other encodings are not resolved here
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the hex encoded SHA-256 digest of the versions of the suite and the parser,
+	 * the url and the document.
+	 * @param apiUrl the url the document was retrieved from, never <code>null</code>
+	 * @param document the content of the document, never <code>null</code>
+	 * @return the digest, never <code>null</code>
+	 */
+	static String digest(String apiUrl, String document) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			messageDigest.update(VALIDATOR_VERSION.getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte) 0);
+			messageDigest.update(apiUrl.getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte) 0);
+			messageDigest.update(document.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(messageDigest.digest());
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private File entryFile(String apiUrl, String document) {
+		return new File(cacheDir, digest(apiUrl, document) + ENTRY_SUFFIX);
+	}
+
+	private static String readSuiteVersion() {
+		try (InputStream in = ApiDefinitionCache.class
+			.getResourceAsStream("/org/opengis/cite/ogcapifeatures10/ets.properties")) {
+			Properties etsProperties = new Properties();
+			if (in != null)
+				etsProperties.load(in);
+			return etsProperties.getProperty("ets-version");
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read the version of the test suite", e);
+			return null;
+		}
+	}
+
+	private static Properties load(File file) {
+		if (!file.isFile())
+			return null;
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+			return properties;
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read cached validation result " + file, e);
+			return null;
+		}
+	}
+
+	private void store(File file, Properties properties) throws IOException {
+		try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			properties.store(out, "Validated API definition");
+			write(file, out.toByteArray());
+		}
+	}
+
+	/*
+	 * Written to a temporary file first, so concurrent runs never read partial files.
+	 */
+	private void write(File file, byte[] content) throws IOException {
+		Path tmp = Files.createTempFile(cacheDir.toPath(), file.getName(), ".tmp");
+		Files.write(tmp, content);
+		Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
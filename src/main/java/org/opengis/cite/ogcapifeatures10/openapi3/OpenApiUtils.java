@@ -16,7 +16,6 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.glassfish.jersey.uri.UriTemplate;
-import org.glassfish.jersey.uri.internal.UriTemplateParser;
 import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
 
 import com.reprezen.kaizen.oasparser.model3.MediaType;
@@ -41,13 +40,6 @@ public class OpenApiUtils {
 	// https://github.com/OAI/OpenAPI-Specification/blob/master/versions/3.0.0.md#fixed-fields
 	private static final String DEFAULT_SERVER_URL = "/";
 
-	@FunctionalInterface
-	private interface PathMatcherFunction<A, B, C> {
-
-		A apply(B b, C c);
-
-	}
-
 	enum PATH {
 
 		CONFORMANCE("conformance"), COLLECTIONS("collections");
@@ -65,17 +57,6 @@ public class OpenApiUtils {
 
 	}
 
-	private static class PathMatcher implements PathMatcherFunction<Boolean, String, String> {
-
-		@Override
-		public Boolean apply(String pathUnderTest, String pathToMatch) {
-			UriTemplateParser parser = new UriTemplateParser(pathUnderTest);
-			Matcher matcher = parser.getPattern().matcher(pathToMatch);
-			return matcher.matches();
-		}
-
-	}
-
 	private static class ExactMatchFilter implements Predicate<TestPoint> {
 
 		private final String requestedPath;
@@ -106,76 +87,70 @@ public class OpenApiUtils {
 	/**
 	 * Parse all test points from the passed OpenApi3 document as described in A.4.3.
 	 * Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut) {
-		List<Path> pathItemObjects = identifyTestPoints(apiModel);
-		List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
-		return processServerObjects(pathItemAndServers, true);
+	static List<TestPoint> retrieveTestPoints(TestPointIndex index) {
+		List<TestPoint> allTestPoints = new ArrayList<>();
+		for (PATH path : PATH.values())
+			allTestPoints.addAll(index.retrieveTestPoints("/" + path.getPathItem(), true));
+		return allTestPoints;
 	}
 
 	/**
-	 * Parse the CONFORMANCE test points from the passed OpenApi3 document as described in
-	 * A.4.3. Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * Parse the CONFORMANCE test points from the indexed OpenApi3 document as described
+	 * in A.4.3. Identify the Test Points.
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForConformance(OpenApi3 apiModel, URI iut) {
-		return retrieveTestPoints(apiModel, iut, CONFORMANCE, false);
+	public static List<TestPoint> retrieveTestPointsForConformance(TestPointIndex index) {
+		return retrieveTestPoints(index, CONFORMANCE, false);
 	}
 
 	/**
-	 * Parse the COLLECTIONS METADATA test points from the passed OpenApi3 document as
+	 * Parse the COLLECTIONS METADATA test points from the indexed OpenApi3 document as
 	 * described in A.4.3. Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForCollectionsMetadata(OpenApi3 apiModel, URI iut) {
-		return retrieveTestPoints(apiModel, iut, COLLECTIONS, false);
+	public static List<TestPoint> retrieveTestPointsForCollectionsMetadata(TestPointIndex index) {
+		return retrieveTestPoints(index, COLLECTIONS, false);
 	}
 
 	/**
 	 * Parse the COLLECTION METADATA test points for the passed collectionName including
-	 * the extended path from the passed OpenApi3 document as described in A.4.3. Identify
-	 * the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * the extended path from the indexed OpenApi3 document as described in A.4.3.
+	 * Identify the Test Points.
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param collectionName the extended path, may be <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForCollectionMetadata(OpenApi3 apiModel, URI iut,
-			String collectionName) {
+	public static List<TestPoint> retrieveTestPointsForCollectionMetadata(TestPointIndex index, String collectionName) {
 		StringBuilder requestedPath = new StringBuilder();
-		requestedPath.append(findBasePath(apiModel, iut));
+		requestedPath.append(index.getBasePath());
 		requestedPath.append(COLLECTIONS.getPathItem());
 		requestedPath.append("/");
 		requestedPath.append(collectionName);
 
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut, requestedPath.toString(), true);
+		List<TestPoint> testPoints = index.retrieveTestPoints(requestedPath.toString(), true);
 		return testPoints.stream().filter(new ExactMatchFilter(requestedPath.toString())).collect(Collectors.toList());
 	}
 
 	/**
-	 * Parse the COLLECTIONS test points from the passed OpenApi3 document as described in
-	 * A.4.3. Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * Parse the COLLECTIONS test points from the indexed OpenApi3 document as described
+	 * in A.4.3. Identify the Test Points.
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param noOfCollection the number of collections to return test points for (-1 means
 	 * the test points of all collections should be returned)
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForCollections(OpenApi3 apiModel, URI iut, int noOfCollection) {
+	public static List<TestPoint> retrieveTestPointsForCollections(TestPointIndex index, int noOfCollection) {
 		StringBuilder requestedPath = new StringBuilder();
-		requestedPath.append(findBasePath(apiModel, iut));
+		requestedPath.append(index.getBasePath());
 		requestedPath.append(COLLECTIONS.getPathItem());
 		requestedPath.append("/.*/items");
 
-		List<TestPoint> allTestPoints = retrieveTestPoints(apiModel, iut, requestedPath.toString(),
-				(a, b) -> a.matches(b), true);
+		List<TestPoint> allTestPoints = index.retrieveTestPointsMatchingRegex(requestedPath.toString(), true);
 		if (noOfCollection < 0 && allTestPoints.size() > OgcApiFeatures10.COLLECTIONS_LIMIT) {
 			return allTestPoints.subList(0, OgcApiFeatures10.COLLECTIONS_LIMIT);
 		}
@@ -187,39 +162,37 @@ public class OpenApiUtils {
 
 	/**
 	 * Parse the test points with the passed path including the extended path from the
-	 * passed OpenApi3 document as described in A.4.3. Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * indexed OpenApi3 document as described in A.4.3. Identify the Test Points.
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param collectionName the extended path, may be <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForCollection(OpenApi3 apiModel, URI iut, String collectionName) {
-		String requestedPath = createCollectionPath(apiModel, iut, collectionName);
+	public static List<TestPoint> retrieveTestPointsForCollection(TestPointIndex index, String collectionName) {
+		String requestedPath = createCollectionPath(index, collectionName);
 
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut, requestedPath, true);
+		List<TestPoint> testPoints = index.retrieveTestPoints(requestedPath, true);
 		return testPoints.stream().filter(new ExactMatchFilter(requestedPath)).collect(Collectors.toList());
 	}
 
 	/**
 	 * Parse the test points with the passed path including the extended path from the
-	 * passed OpenApi3 document as described in A.4.3. Identify the Test Points.
-	 * @param apiModel never <code>null</code>
-	 * @param iut the url of the instance under test, never <code>null</code>
+	 * indexed OpenApi3 document as described in A.4.3. Identify the Test Points.
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param collectionName the extended path, may be <code>null</code>
 	 * @param featureId the id of the feature, never <code>null</code>
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
-	public static List<TestPoint> retrieveTestPointsForFeature(OpenApi3 apiModel, URI iut, String collectionName,
+	public static List<TestPoint> retrieveTestPointsForFeature(TestPointIndex index, String collectionName,
 			String featureId) {
 		StringBuilder requestedPath = new StringBuilder();
-		requestedPath.append(findBasePath(apiModel, iut));
+		requestedPath.append(index.getBasePath());
 		requestedPath.append(COLLECTIONS.getPathItem());
 		requestedPath.append("/");
 		requestedPath.append(collectionName);
 		requestedPath.append("/items/");
 		requestedPath.append(featureId);
 
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut, requestedPath.toString(), true);
+		List<TestPoint> testPoints = index.retrieveTestPoints(requestedPath.toString(), true);
 		return testPoints.stream().filter(new ExactMatchFilter(requestedPath.toString())).collect(Collectors.toList());
 	}
 
@@ -250,15 +223,14 @@ public class OpenApiUtils {
 	 * <p>
 	 * isFreeFormParameterSupportedForCollection.
 	 * </p>
-	 * @param apiModel a {@link com.reprezen.kaizen.oasparser.model3.OpenApi3} object
-	 * @param iut a {@link java.net.URI} object
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param collectionName a {@link java.lang.String} object
 	 * @return a boolean
 	 */
-	public static boolean isFreeFormParameterSupportedForCollection(OpenApi3 apiModel, URI iut, String collectionName) {
-		String requestedPath = createCollectionPath(apiModel, iut, collectionName);
+	public static boolean isFreeFormParameterSupportedForCollection(TestPointIndex index, String collectionName) {
+		String requestedPath = createCollectionPath(index, collectionName);
 
-		List<Path> paths = identifyTestPoints(apiModel, requestedPath, new PathMatcher());
+		List<Path> paths = index.findPaths(requestedPath);
 		for (Path path : paths) {
 			Collection<Parameter> parameters = path.getGet().getParameters();
 			for (Parameter parameter : parameters) {
@@ -274,17 +246,16 @@ public class OpenApiUtils {
 	 * <p>
 	 * isParameterSupportedForCollection.
 	 * </p>
-	 * @param apiModel a {@link com.reprezen.kaizen.oasparser.model3.OpenApi3} object
-	 * @param iut a {@link java.net.URI} object
+	 * @param index the index of the OpenApi3 document, never <code>null</code>
 	 * @param collectionName a {@link java.lang.String} object
 	 * @param queryParam a {@link java.lang.String} object
 	 * @return a boolean
 	 */
-	public static boolean isParameterSupportedForCollection(OpenApi3 apiModel, URI iut, String collectionName,
+	public static boolean isParameterSupportedForCollection(TestPointIndex index, String collectionName,
 			String queryParam) {
-		String requestedPath = createCollectionPath(apiModel, iut, collectionName);
+		String requestedPath = createCollectionPath(index, collectionName);
 
-		List<Path> paths = identifyTestPoints(apiModel, requestedPath, new PathMatcher());
+		List<Path> paths = index.findPaths(requestedPath);
 		for (Path path : paths) {
 			Collection<Parameter> parameters = path.getGet().getParameters();
 			for (Parameter parameter : parameters) {
@@ -296,9 +267,9 @@ public class OpenApiUtils {
 		return false;
 	}
 
-	private static String createCollectionPath(OpenApi3 apiModel, URI iut, String collectionName) {
+	private static String createCollectionPath(TestPointIndex index, String collectionName) {
 		StringBuilder requestedPath = new StringBuilder();
-		requestedPath.append(findBasePath(apiModel, iut));
+		requestedPath.append(index.getBasePath());
 		requestedPath.append(COLLECTIONS.getPathItem());
 		requestedPath.append("/");
 		requestedPath.append(collectionName);
@@ -306,67 +277,10 @@ public class OpenApiUtils {
 		return requestedPath.toString();
 	}
 
-	private static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut, PATH path,
-			boolean allowEmptyTemplateReplacements) {
-		String requestedPath = findBasePath(apiModel, iut) + path.getPathItem();
-		return retrieveTestPoints(apiModel, iut, requestedPath, allowEmptyTemplateReplacements);
-	}
-
-	private static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut, String requestedPath,
+	private static List<TestPoint> retrieveTestPoints(TestPointIndex index, PATH path,
 			boolean allowEmptyTemplateReplacements) {
-		return retrieveTestPoints(apiModel, iut, requestedPath, new PathMatcher(), allowEmptyTemplateReplacements);
-	}
-
-	private static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut, String requestedPath,
-			PathMatcherFunction<Boolean, String, String> pathMatcher, boolean allowEmptyTemplateReplacements) {
-		List<Path> pathItemObjects = identifyTestPoints(apiModel, requestedPath, pathMatcher);
-		List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
-		return processServerObjects(pathItemAndServers, allowEmptyTemplateReplacements);
-	}
-
-	/**
-	 * A.4.3.1. Identify Test Points:
-	 *
-	 * a) Purpose: To identify the test points associated with each Path in the OpenAPI
-	 * document
-	 *
-	 * b) Pre-conditions:
-	 *
-	 * An OpenAPI document has been obtained
-	 *
-	 * A list of URLs for the servers to be included in the compliance test has been
-	 * provided
-	 *
-	 * A list of the paths specified in the WFS 3.0 specification
-	 *
-	 * c) Method:
-	 *
-	 * FOR EACH paths property in the OpenAPI document If the path name is one of those
-	 * specified in the WFS 3.0 specification Retrieve the Server URIs using A.4.3.2. FOR
-	 * EACH Server URI Concatenate the Server URI with the path name to form a test point.
-	 * Add that test point to the list.
-	 *
-	 * d) References: None
-	 * @param apiModel never <code>null</code>
-	 */
-	private static List<Path> identifyTestPoints(OpenApi3 apiModel) {
-		List<Path> allTestPoints = new ArrayList<>();
-		for (PATH path : PATH.values())
-			allTestPoints.addAll(identifyTestPoints(apiModel, "/" + path.getPathItem(), new PathMatcher()));
-		return allTestPoints;
-	}
-
-	private static List<Path> identifyTestPoints(OpenApi3 apiModel, String path,
-			PathMatcherFunction<Boolean, String, String> pathMatch) {
-		List<Path> pathItems = new ArrayList<>();
-		Map<String, Path> pathItemObjects = apiModel.getPaths();
-		for (Path pathItemObject : pathItemObjects.values()) {
-			String pathString = pathItemObject.getPathString();
-			if (pathMatch.apply(pathString, path)) {
-				pathItems.add(pathItemObject);
-			}
-		}
-		return pathItems;
+		String requestedPath = index.getBasePath() + path.getPathItem();
+		return index.retrieveTestPoints(requestedPath, allowEmptyTemplateReplacements);
 	}
 
 	/**
@@ -416,7 +330,7 @@ public class OpenApiUtils {
 	 * @param iut never <code>null</code>
 	 * @param pathItemObjects never <code>null</code>
 	 */
-	private static List<PathItemAndServer> identifyServerUrls(OpenApi3 apiModel, URI iut, List<Path> pathItemObjects) {
+	static List<PathItemAndServer> identifyServerUrls(OpenApi3 apiModel, URI iut, List<Path> pathItemObjects) {
 		List<PathItemAndServer> pathItemAndServers = new ArrayList<>();
 
 		for (Path pathItemObject : pathItemObjects) {
@@ -479,7 +393,7 @@ public class OpenApiUtils {
 	 * d) References: None
 	 * @param pathItemAndServers never <code>null</code>
 	 */
-	private static List<TestPoint> processServerObjects(List<PathItemAndServer> pathItemAndServers,
+	static List<TestPoint> processServerObjects(List<PathItemAndServer> pathItemAndServers,
 			boolean allowEmptyTemplateReplacements) {
 		List<TestPoint> uris = new ArrayList<>();
 		for (PathItemAndServer pathItemAndServer : pathItemAndServers) {
@@ -610,7 +524,7 @@ public class OpenApiUtils {
 		return urls;
 	}
 
-	private static class PathItemAndServer {
+	static class PathItemAndServer {
 
 		private final Path pathItemObject;
 
@@ -627,7 +541,7 @@ public class OpenApiUtils {
 
 	}
 
-	private static String findBasePath(OpenApi3 apiModel, URI iut) {
+	static String findBasePath(OpenApi3 apiModel, URI iut) {
 		String basePath = "/";
 		List<Server> serverUrls = apiModel.getServers();
 
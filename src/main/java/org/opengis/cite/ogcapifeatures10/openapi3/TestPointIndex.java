@@ -0,0 +1,212 @@
+package org.opengis.cite.ogcapifeatures10.openapi3;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+import com.reprezen.kaizen.oasparser.model3.Path;
+
+/**
+ * Index of the paths of an OpenApi3 document and the test points derived from them.
+ *
+ * <p>
+ * The paths are indexed once: paths without template variables by their path string,
+ * templated paths by their number of segments. The patterns of the templates are compiled
+ * once, the servers and template replacements of a path are resolved on the first lookup
+ * of this path. The results of all lookups are kept, so repeated lookups from data
+ * providers take constant time.
+ * </p>
+ *
+ * <p>
+ * The index of the model under test is built when the API definition was validated and
+ * stored as the suite attribute
+ * {@link org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute#TEST_POINT_INDEX};
+ * the tests pass it to {@link OpenApiUtils} for all lookups with this model.
+ * </p>
+ */
+public class TestPointIndex {
+
+	private final OpenApi3 apiModel;
+
+	private final URI iut;
+
+	private final String basePath;
+
+	private final Map<String, List<PathEntry>> untemplatedPaths = new HashMap<>();
+
+	private final Map<Integer, List<PathEntry>> templatedPathsBySegments = new HashMap<>();
+
+	private final List<PathEntry> templatedPathsWithRegex = new ArrayList<>();
+
+	private final List<PathEntry> allPaths = new ArrayList<>();
+
+	private final Map<String, List<PathEntry>> pathsByRequestedPath = new ConcurrentHashMap<>();
+
+	private final Map<String, List<PathEntry>> pathsByRegex = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates the index of the passed model.
+	 * @param apiModel never <code>null</code>
+	 * @param iut the url of the instance under test, never <code>null</code>
+	 */
+	public TestPointIndex(OpenApi3 apiModel, URI iut) {
+		this.apiModel = apiModel;
+		this.iut = iut;
+		this.basePath = OpenApiUtils.findBasePath(apiModel, iut);
+		for (Path path : apiModel.getPaths().values()) {
+			PathEntry entry = new PathEntry(allPaths.size(), path);
+			allPaths.add(entry);
+			String pathString = path.getPathString();
+			if (!pathString.contains("{"))
+				untemplatedPaths.computeIfAbsent(pathString, p -> new ArrayList<>()).add(entry);
+			else if (pathString.contains(":"))
+				templatedPathsWithRegex.add(entry);
+			else
+				templatedPathsBySegments.computeIfAbsent(countSegments(pathString), s -> new ArrayList<>()).add(entry);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>basePath</code>.
+	 * </p>
+	 * @return the base path of the instance under test, never <code>null</code>
+	 */
+	public String getBasePath() {
+		return basePath;
+	}
+
+	/**
+	 * Returns the paths with a template matching the requested path (A.4.3.1. Identify
+	 * Test Points).
+	 * @param requestedPath the requested path, never <code>null</code>
+	 * @return the matching paths in the order of the document, never <code>null</code>
+	 */
+	List<Path> findPaths(String requestedPath) {
+		return toPaths(pathsByRequestedPath.computeIfAbsent(requestedPath, this::findPathEntries));
+	}
+
+	/**
+	 * Returns the test points of the paths with a template matching the requested path.
+	 * @param requestedPath the requested path, never <code>null</code>
+	 * @param allowEmptyTemplateReplacements <code>true</code> if templated paths without
+	 * replacements are added as test point
+	 * @return the test points in the order of the document, never <code>null</code>
+	 */
+	List<TestPoint> retrieveTestPoints(String requestedPath, boolean allowEmptyTemplateReplacements) {
+		return toTestPoints(pathsByRequestedPath.computeIfAbsent(requestedPath, this::findPathEntries),
+				allowEmptyTemplateReplacements);
+	}
+
+	/**
+	 * Returns the test points of the paths with a path string matching the passed regular
+	 * expression.
+	 * @param regex the regular expression, never <code>null</code>
+	 * @param allowEmptyTemplateReplacements <code>true</code> if templated paths without
+	 * replacements are added as test point
+	 * @return the test points in the order of the document, never <code>null</code>
+	 */
+	List<TestPoint> retrieveTestPointsMatchingRegex(String regex, boolean allowEmptyTemplateReplacements) {
+		List<PathEntry> entries = pathsByRegex.computeIfAbsent(regex, r -> {
+			Pattern pattern = Pattern.compile(r);
+			List<PathEntry> matchingEntries = new ArrayList<>();
+			for (PathEntry entry : allPaths) {
+				if (pattern.matcher(entry.path.getPathString()).matches())
+					matchingEntries.add(entry);
+			}
+			return matchingEntries;
+		});
+		return toTestPoints(entries, allowEmptyTemplateReplacements);
+	}
+
+	private List<PathEntry> findPathEntries(String requestedPath) {
+		TreeSet<PathEntry> candidates = new TreeSet<>((a, b) -> Integer.compare(a.position, b.position));
+		candidates.addAll(untemplatedPaths.getOrDefault(requestedPath, Collections.emptyList()));
+		candidates.addAll(templatedPathsBySegments.getOrDefault(countSegments(requestedPath), Collections.emptyList()));
+		candidates.addAll(templatedPathsWithRegex);
+		List<PathEntry> matchingEntries = new ArrayList<>();
+		for (PathEntry candidate : candidates) {
+			if (candidate.getPattern().matcher(requestedPath).matches())
+				matchingEntries.add(candidate);
+		}
+		return matchingEntries;
+	}
+
+	private List<TestPoint> toTestPoints(List<PathEntry> entries, boolean allowEmptyTemplateReplacements) {
+		List<TestPoint> testPoints = new ArrayList<>();
+		for (PathEntry entry : entries) {
+			testPoints.addAll(entry.getTestPoints(allowEmptyTemplateReplacements));
+		}
+		return testPoints;
+	}
+
+	private static List<Path> toPaths(List<PathEntry> entries) {
+		List<Path> paths = new ArrayList<>(entries.size());
+		for (PathEntry entry : entries) {
+			paths.add(entry.path);
+		}
+		return paths;
+	}
+
+	private static int countSegments(String path) {
+		int segments = 0;
+		for (int i = 0; i < path.length(); i++) {
+			if (path.charAt(i) == '/')
+				segments++;
+		}
+		return segments;
+	}
+
+	private class PathEntry {
+
+		private final int position;
+
+		private final Path path;
+
+		private Pattern pattern;
+
+		private List<TestPoint> testPoints;
+
+		private List<TestPoint> testPointsWithoutEmptyTemplateReplacements;
+
+		private PathEntry(int position, Path path) {
+			this.position = position;
+			this.path = path;
+		}
+
+		private synchronized Pattern getPattern() {
+			if (pattern == null)
+				pattern = new UriTemplateParser(path.getPathString()).getPattern();
+			return pattern;
+		}
+
+		private synchronized List<TestPoint> getTestPoints(boolean allowEmptyTemplateReplacements) {
+			if (allowEmptyTemplateReplacements) {
+				if (testPoints == null)
+					testPoints = createTestPoints(true);
+				return testPoints;
+			}
+			if (testPointsWithoutEmptyTemplateReplacements == null)
+				testPointsWithoutEmptyTemplateReplacements = createTestPoints(false);
+			return testPointsWithoutEmptyTemplateReplacements;
+		}
+
+		private List<TestPoint> createTestPoints(boolean allowEmptyTemplateReplacements) {
+			List<OpenApiUtils.PathItemAndServer> pathItemAndServers = OpenApiUtils.identifyServerUrls(apiModel, iut,
+					Collections.singletonList(path));
+			return Collections.unmodifiableList(
+					OpenApiUtils.processServerObjects(pathItemAndServers, allowEmptyTemplateReplacements));
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+/**
+ * Tests if geometries intersect a bounding box.
+ *
+ * <p>
+ * The envelope of a geometry is compared with the bounding box first: geometries with an
+ * envelope outside the bounding box are rejected, geometries with an envelope inside the
+ * bounding box are accepted. Only the remaining geometries are tested against the
+ * prepared polygon of the bounding box, which is created on first use.
+ * </p>
+ *
+ * <p>
+ * A bounding box with a lower left corner east of the upper right corner crosses the
+ * antimeridian (OGC API - Features - Part 1, 7.15.3). It is split into the parts east and
+ * west of the antimeridian, a geometry intersects the bounding box if it intersects one
+ * of the parts.
+ * </p>
+ */
+public class BBoxPredicate {
+
+	private static final double MAX_LONGITUDE = 180d;
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	private final BBox bbox;
+
+	private final List<Envelope> envelopes;
+
+	private final PreparedGeometry[] preparedPolygons;
+
+	/**
+	 * @param bbox the bounding box to test against, never <code>null</code>
+	 */
+	public BBoxPredicate(BBox bbox) {
+		this.bbox = bbox;
+		if (crossesAntimeridian(bbox)) {
+			List<Envelope> parts = new ArrayList<>();
+			parts.add(new Envelope(bbox.getMinX(), MAX_LONGITUDE, bbox.getMinY(), bbox.getMaxY()));
+			parts.add(new Envelope(-MAX_LONGITUDE, bbox.getMaxX(), bbox.getMinY(), bbox.getMaxY()));
+			this.envelopes = Collections.unmodifiableList(parts);
+		}
+		else {
+			this.envelopes = Collections
+				.singletonList(new Envelope(bbox.getMinX(), bbox.getMaxX(), bbox.getMinY(), bbox.getMaxY()));
+		}
+		this.preparedPolygons = new PreparedGeometry[envelopes.size()];
+	}
+
+	/**
+	 * @param bbox the bounding box to check, never <code>null</code>
+	 * @return <code>true</code> if the bounding box crosses the antimeridian, i.e. the
+	 * lower left corner is east of the upper right corner, <code>false</code> otherwise
+	 */
+	public static boolean crossesAntimeridian(BBox bbox) {
+		return bbox.getMinX() > bbox.getMaxX();
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>bbox</code>.
+	 * </p>
+	 * @return the bounding box, never <code>null</code>
+	 */
+	public BBox getBbox() {
+		return bbox;
+	}
+
+	/**
+	 * @param geometry the geometry to test, never <code>null</code>
+	 * @return <code>true</code> if the geometry intersects the bounding box,
+	 * <code>false</code> otherwise
+	 */
+	public boolean intersects(Geometry geometry) {
+		if (geometry.isEmpty())
+			return false;
+		Envelope geometryEnvelope = geometry.getEnvelopeInternal();
+		for (int i = 0; i < envelopes.size(); i++) {
+			Envelope envelope = envelopes.get(i);
+			if (!envelope.intersects(geometryEnvelope))
+				continue;
+			if (envelope.covers(geometryEnvelope) || geometry.getDimension() == 0 && geometry.getNumPoints() == 1)
+				return true;
+			if (preparedPolygon(i).intersects(geometry))
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized PreparedGeometry preparedPolygon(int index) {
+		if (preparedPolygons[index] == null)
+			preparedPolygons[index] = PreparedGeometryFactory.prepare(geometryFactory.toGeometry(envelopes.get(index)));
+		return preparedPolygons[index];
+	}
+
+}
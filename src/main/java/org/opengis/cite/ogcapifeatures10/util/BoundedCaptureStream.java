@@ -0,0 +1,232 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+/**
+ * Captures a message written by a logging filter within a fixed byte budget.
+ *
+ * <p>
+ * The first half of the budget keeps the head of the message, the second half is a ring
+ * buffer keeping the tail. Bytes in between are counted but dropped. Optionally the
+ * complete message is spilled to a file in a given directory as soon as it exceeds the
+ * budget, the file is referenced in the text returned by {@link #toString()}.
+ * </p>
+ */
+public class BoundedCaptureStream extends OutputStream {
+
+	private static final String SPILL_FILE_PREFIX = "ets-ogcapi-features10-message-";
+
+	private final int headLimit;
+
+	private final int tailLimit;
+
+	private final Path spillDirectory;
+
+	private boolean spill;
+
+	private byte[] head = new byte[0];
+
+	private int headCount;
+
+	private byte[] tail;
+
+	private int tailPosition;
+
+	private int tailCount;
+
+	private long totalCount;
+
+	private Path spillFile;
+
+	private OutputStream spillStream;
+
+	/**
+	 * @param limit the maximum number of bytes kept in memory, if &lt;= 0 the complete
+	 * message is kept
+	 * @param spillDirectory the directory a message exceeding the limit is written to
+	 * completely, created if it does not exist, <code>null</code> if the message is not
+	 * written to a file
+	 */
+	public BoundedCaptureStream(int limit, Path spillDirectory) {
+		this.headLimit = limit > 0 ? limit - limit / 2 : Integer.MAX_VALUE;
+		this.tailLimit = limit > 0 ? limit / 2 : 0;
+		this.spillDirectory = spillDirectory;
+		this.spill = spillDirectory != null && limit > 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(int b) {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(byte[] bytes) {
+		write(bytes, 0, bytes.length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(byte[] bytes, int offset, int length) {
+		totalCount += length;
+		if (headCount < headLimit) {
+			int toHead = Math.min(length, headLimit - headCount);
+			if (headCount + toHead > head.length)
+				head = Arrays.copyOf(head, (int) Math.min(headLimit, Math.max(headCount + toHead, head.length * 2L)));
+			System.arraycopy(bytes, offset, head, headCount, toHead);
+			headCount += toHead;
+			offset += toHead;
+			length -= toHead;
+		}
+		if (length == 0)
+			return;
+		if (spill && spillFile == null && tailCount + length > tailLimit)
+			startSpill();
+		writeToSpill(bytes, offset, length);
+		writeToTail(bytes, offset, length);
+	}
+
+	/**
+	 * @return the number of bytes written, including dropped bytes
+	 */
+	public long size() {
+		return totalCount;
+	}
+
+	/**
+	 * @return the file containing the complete message, <code>null</code> if the message
+	 * did not exceed the limit or spilling is disabled
+	 */
+	public Path getSpillFile() {
+		return spillFile;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void flush() {
+		if (spillStream != null) {
+			try {
+				spillStream.flush();
+			}
+			catch (IOException e) {
+				stopSpill(e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the spill file, if one was created. The captured message is still available.
+	 */
+	@Override
+	public void close() {
+		if (spillStream != null) {
+			try {
+				spillStream.close();
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not close " + spillFile, e);
+			}
+			spillStream = null;
+		}
+	}
+
+	/**
+	 * Closes and deletes the spill file, if one was created.
+	 */
+	public void deleteSpillFile() {
+		close();
+		if (spillFile != null) {
+			try {
+				Files.deleteIfExists(spillFile);
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not delete " + spillFile, e);
+			}
+			spillFile = null;
+		}
+	}
+
+	/**
+	 * Returns the captured message decoded as UTF-8. If bytes were dropped, a marker with
+	 * the number of dropped bytes and the spill file (if available) is inserted between
+	 * head and tail.
+	 * @return the captured message, never <code>null</code>
+	 */
+	@Override
+	public String toString() {
+		String headText = new String(head, 0, headCount, StandardCharsets.UTF_8);
+		long dropped = totalCount - headCount - tailCount;
+		if (tailCount == 0 && dropped == 0)
+			return headText;
+		byte[] tailBytes = new byte[tailCount];
+		int start = tailCount < tailLimit ? 0 : tailPosition;
+		for (int i = 0; i < tailCount; i++) {
+			tailBytes[i] = tail[(start + i) % tailLimit];
+		}
+		String tailText = new String(tailBytes, StandardCharsets.UTF_8);
+		if (dropped == 0)
+			return headText + tailText;
+		StringBuilder marker = new StringBuilder("\n[... ").append(dropped).append(" bytes omitted");
+		if (spillFile != null)
+			marker.append(", complete message in ").append(spillFile);
+		marker.append(" ...]\n");
+		return headText + marker + tailText;
+	}
+
+	private void writeToTail(byte[] bytes, int offset, int length) {
+		if (tail == null)
+			tail = new byte[tailLimit];
+		if (length >= tailLimit) {
+			System.arraycopy(bytes, offset + length - tailLimit, tail, 0, tailLimit);
+			tailPosition = 0;
+			tailCount = tailLimit;
+			return;
+		}
+		int firstPart = Math.min(length, tailLimit - tailPosition);
+		System.arraycopy(bytes, offset, tail, tailPosition, firstPart);
+		System.arraycopy(bytes, offset + firstPart, tail, 0, length - firstPart);
+		tailPosition = (tailPosition + length) % tailLimit;
+		tailCount = Math.min(tailLimit, tailCount + length);
+	}
+
+	private void startSpill() {
+		try {
+			Files.createDirectories(spillDirectory);
+			spillFile = Files.createTempFile(spillDirectory, SPILL_FILE_PREFIX, ".txt");
+			spillStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+			spillStream.write(head, 0, headCount);
+			// the ring buffer was not wrapped yet
+			if (tailCount > 0)
+				spillStream.write(tail, 0, tailCount);
+		}
+		catch (IOException e) {
+			stopSpill(e);
+		}
+	}
+
+	private void writeToSpill(byte[] bytes, int offset, int length) {
+		if (spillStream == null)
+			return;
+		try {
+			spillStream.write(bytes, offset, length);
+		}
+		catch (IOException e) {
+			stopSpill(e);
+		}
+	}
+
+	private void stopSpill(IOException e) {
+		TestSuiteLogger.log(Level.WARNING, "Could not write complete message to " + spillFile, e);
+		spill = false;
+		deleteSpillFile();
+	}
+
+}
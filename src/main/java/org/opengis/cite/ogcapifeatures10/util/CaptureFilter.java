@@ -0,0 +1,52 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Applies a filter capturing the request and response messages (e.g. a
+ * {@link io.restassured.filter.log.RequestLoggingFilter}) before the filters of the
+ * {@link HttpTransport}.
+ *
+ * <p>
+ * The logging filters of RestAssured are applied last by default. The
+ * {@link ResponseCache} does not pass a request served from the cache to the following
+ * filters, so a logging filter applied after the cache would not capture the messages
+ * reported for a failed test.
+ * </p>
+ */
+public class CaptureFilter implements OrderedFilter {
+
+	/** Constant <code>ORDER=LOWEST_PRECEDENCE - 3</code> */
+	public static final int ORDER = LOWEST_PRECEDENCE - 3;
+
+	private final Filter filter;
+
+	/**
+	 * @param filter the filter capturing the messages, never <code>null</code>
+	 */
+	public CaptureFilter(Filter filter) {
+		this.filter = filter;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		return filter.filter(requestSpec, responseSpec, ctx);
+	}
+
+	/**
+	 * The messages must be captured before the {@link ResponseCache} is applied.
+	 * @return {@link #ORDER}
+	 */
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+}
@@ -1,18 +1,20 @@
 package org.opengis.cite.ogcapifeatures10.util;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.SocketAddress;
 import java.net.URI;
-import java.net.URL;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
 import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
@@ -149,27 +151,27 @@ public class ClientUtils {
 	}
 
 	/**
-	 * Checks if a GET request to a given URI returns HTTP 200 - OK
+	 * Checks if a GET request to a given URI sent through the passed transport returns
+	 * HTTP 200 - OK
+	 * @param transport The transport to send the request through, never <code>null</code>
 	 * @param uri The URI to check
 	 * @return true, if HTTP 200 - OK was returned after a GET request, false otherwise
 	 */
-	public static boolean is200Response(URI uri) {
-		URL url = null;
-		int code = 0;
+	public static boolean is200Response(HttpTransport transport, URI uri) {
+		return is200Response(transport.getHttpClient(), uri);
+	}
 
+	private static boolean is200Response(HttpClient httpClient, URI uri) {
+		int code = 0;
 		try {
-			url = uri.toURL();
-			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-			connection.setRequestMethod("GET");
-			connection.connect();
-
-			code = connection.getResponseCode();
-
+			HttpResponse response = httpClient.execute(new HttpGet(uri));
+			code = response.getStatusLine().getStatusCode();
+			// consume the entity to release the connection back to the pool
+			EntityUtils.consumeQuietly(response.getEntity());
 		}
 		catch (Exception ee) {
-			ee.printStackTrace();
+			Logger.getLogger(ClientUtils.class.getName()).log(Level.WARNING, "Failed to request " + uri, ee);
 		}
-
 		return (code == 200);
 	}
 
@@ -0,0 +1,418 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.apache.http.conn.ConnectTimeoutException;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Adaptive limit of the requests in flight per host, protecting the implementation under
+ * test from overload when requests are executed in parallel.
+ *
+ * <p>
+ * The limit of a host follows an AIMD scheme: it starts at the maximum and is increased
+ * additively by one per window of successful responses. It is decreased multiplicatively
+ * if the server signals overload with status 429 or 503, or if a request times out. The
+ * latency of the responses is not used as signal, as the endpoints of a host differ
+ * widely in their response times (e.g. large pages of features compared to the landing
+ * page). A <code>Retry-After</code> header of a response signaling overload stops further
+ * requests to the host until the given time passed. Requests exceeding the limit wait for
+ * a permit.
+ * </p>
+ *
+ * <p>
+ * The limiter must be applied after the {@link ResponseCache}, so responses served from
+ * the cache do not take a permit. The attempts of the {@link RetryHandler} are sent with
+ * the permit of the request. Each throttling is logged and recorded, see
+ * {@link #getThrottlingEvents()}.
+ * </p>
+ */
+public class ConcurrencyLimiter implements OrderedFilter {
+
+	/** Constant <code>RETRY_AFTER="Retry-After"</code> */
+	public static final String RETRY_AFTER = "Retry-After";
+
+	private static final double BACKOFF_RATIO = 0.75;
+
+	private static final long MAX_RETRY_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+	private static final int MAX_THROTTLING_EVENTS = 100;
+
+	private final int maxLimit;
+
+	private final Map<String, HostLimit> hostLimits = new ConcurrentHashMap<>();
+
+	private final Deque<ThrottlingEvent> throttlingEvents = new ArrayDeque<>();
+
+	private final AtomicLong throttledResponses = new AtomicLong();
+
+	private final AtomicLong delayedRequests = new AtomicLong();
+
+	/**
+	 * Creates a new limiter.
+	 * @param maxLimit the maximum number of requests in flight per host, at least 1
+	 */
+	public ConcurrencyLimiter(int maxLimit) {
+		if (maxLimit < 1)
+			throw new IllegalArgumentException("Maximum limit must be at least 1, but was " + maxLimit);
+		this.maxLimit = maxLimit;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		HostLimit hostLimit = getHostLimit(requestSpec.getURI());
+		if (hostLimit.acquire())
+			delayedRequests.incrementAndGet();
+		long start = System.nanoTime();
+		Response response = null;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+			return response;
+		}
+		catch (Exception e) {
+			// transport errors are thrown unchecked by RestAssured
+			if (isTimeout(e))
+				onTimeout(hostLimit, start);
+			throw e;
+		}
+		finally {
+			hostLimit.release();
+			if (response != null)
+				onResponse(hostLimit, start, response.getStatusCode(), response.getHeader(RETRY_AFTER));
+		}
+	}
+
+	/**
+	 * The limiter must only see requests not served by the {@link ResponseCache}, each
+	 * attempt of the {@link RetryHandler} is sent with the same permit.
+	 * @return {@link OrderedFilter#LOWEST_PRECEDENCE} - 1
+	 */
+	@Override
+	public int getOrder() {
+		return LOWEST_PRECEDENCE - 1;
+	}
+
+	/**
+	 * @param host the host and port of the requests
+	 * @return the current limit of requests in flight to the host, the maximum limit if
+	 * no request was sent to the host yet
+	 */
+	public int getLimit(String host) {
+		HostLimit hostLimit = hostLimits.get(host);
+		return hostLimit != null ? hostLimit.getLimit() : maxLimit;
+	}
+
+	/**
+	 * @return the number of responses with status 429 or 503
+	 */
+	public long getThrottledResponses() {
+		return throttledResponses.get();
+	}
+
+	/**
+	 * @return the number of requests which waited for a permit
+	 */
+	public long getDelayedRequests() {
+		return delayedRequests.get();
+	}
+
+	/**
+	 * @return the latest throttling events, at most {@value #MAX_THROTTLING_EVENTS}, the
+	 * oldest first, never <code>null</code>
+	 */
+	public synchronized List<ThrottlingEvent> getThrottlingEvents() {
+		return new ArrayList<>(throttlingEvents);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		Map<String, Integer> limits = new TreeMap<>();
+		hostLimits.forEach((host, hostLimit) -> limits.put(host, hostLimit.getLimit()));
+		return String.format("Concurrency limiter: %d throttled responses, %d delayed requests, limits %s (max %d)",
+				throttledResponses.get(), delayedRequests.get(), limits, maxLimit);
+	}
+
+	/**
+	 * Adapts the limit to a response not passed to the filter, e.g. a response retried by
+	 * the {@link RetryHandler}.
+	 * @param uri the requested URI, never <code>null</code>
+	 * @param start the time the request was sent as {@link System#nanoTime()}
+	 * @param statusCode the status code of the response
+	 * @param retryAfter the value of the <code>Retry-After</code> header of the response,
+	 * may be <code>null</code>
+	 */
+	void observe(String uri, long start, int statusCode, String retryAfter) {
+		onResponse(getHostLimit(uri), start, statusCode, retryAfter);
+	}
+
+	/**
+	 * Adapts the limit to a request which timed out and was not passed to the filter,
+	 * e.g. a request retried by the {@link RetryHandler}.
+	 * @param uri the requested URI, never <code>null</code>
+	 * @param start the time the request was sent as {@link System#nanoTime()}
+	 */
+	void observeTimeout(String uri, long start) {
+		onTimeout(getHostLimit(uri), start);
+	}
+
+	/**
+	 * @param e the error of a request, never <code>null</code>
+	 * @return <code>true</code> if the error or one of its causes is a connect or read
+	 * timeout, <code>false</code> otherwise
+	 */
+	static boolean isTimeout(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SocketTimeoutException || cause instanceof ConnectTimeoutException)
+				return true;
+		}
+		return false;
+	}
+
+	private HostLimit getHostLimit(String uri) {
+		return hostLimits.computeIfAbsent(parseHost(uri), HostLimit::new);
+	}
+
+	private void onResponse(HostLimit hostLimit, long start, int statusCode, String retryAfter) {
+		if (statusCode == 429 || statusCode == 503) {
+			throttledResponses.incrementAndGet();
+			long retryAfterMillis = parseRetryAfter(retryAfter, Instant.now());
+			int limit = hostLimit.decrease(start, retryAfterMillis);
+			recordThrottling(new ThrottlingEvent(hostLimit.host, statusCode, retryAfterMillis, limit));
+		}
+		else {
+			hostLimit.increase();
+		}
+	}
+
+	private void onTimeout(HostLimit hostLimit, long start) {
+		int limit = hostLimit.decrease(start, 0);
+		TestSuiteLogger.log(Level.FINE,
+				String.format("Request to %s timed out, limit decreased to %d", hostLimit.host, limit));
+	}
+
+	private synchronized void recordThrottling(ThrottlingEvent event) {
+		TestSuiteLogger.log(Level.WARNING, event.toString());
+		if (throttlingEvents.size() == MAX_THROTTLING_EVENTS)
+			throttlingEvents.removeFirst();
+		throttlingEvents.addLast(event);
+		FlightRecorderEvents.ThrottleEvent flightRecorderEvent = FlightRecorderEvents
+			.begin(FlightRecorderEvents.ThrottleEvent::new);
+		if (flightRecorderEvent != null) {
+			flightRecorderEvent.host = event.host;
+			flightRecorderEvent.statusCode = event.statusCode;
+			flightRecorderEvent.retryAfter = event.retryAfterMillis;
+			flightRecorderEvent.limit = event.limit;
+			flightRecorderEvent.commit();
+		}
+	}
+
+	/**
+	 * Parses the value of a <code>Retry-After</code> header.
+	 * @param retryAfter the value, either delay seconds or an HTTP date, may be
+	 * <code>null</code>
+	 * @param now the current time, never <code>null</code>
+	 * @return the delay in milliseconds, at most two minutes, 0 if the value is missing
+	 * or invalid
+	 */
+	static long parseRetryAfter(String retryAfter, Instant now) {
+		if (retryAfter == null || retryAfter.trim().isEmpty())
+			return 0;
+		long delayMillis;
+		try {
+			delayMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+		}
+		catch (NumberFormatException e) {
+			try {
+				ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+				delayMillis = Duration.between(now, date.toInstant()).toMillis();
+			}
+			catch (DateTimeParseException dateTimeParseException) {
+				return 0;
+			}
+		}
+		return Math.max(0, Math.min(MAX_RETRY_AFTER_MILLIS, delayMillis));
+	}
+
+	private static String parseHost(String uri) {
+		try {
+			URI parsedUri = URI.create(uri);
+			if (parsedUri.getHost() != null)
+				return parsedUri.getPort() < 0 ? parsedUri.getHost() : parsedUri.getHost() + ":" + parsedUri.getPort();
+		}
+		catch (IllegalArgumentException e) {
+			// requests to invalid URIs share the limit
+		}
+		return "";
+	}
+
+	private class HostLimit {
+
+		private final String host;
+
+		private double limit = maxLimit;
+
+		private int inFlight;
+
+		private long lastDecreaseNanos = System.nanoTime();
+
+		private long blockedUntilNanos = System.nanoTime();
+
+		private HostLimit(String host) {
+			this.host = host;
+		}
+
+		/**
+		 * Waits until a request may be sent to the host.
+		 * @return <code>true</code> if the request had to wait, <code>false</code>
+		 * otherwise
+		 */
+		private synchronized boolean acquire() {
+			boolean waited = false;
+			try {
+				while (true) {
+					long blockedNanos = blockedUntilNanos - System.nanoTime();
+					if (blockedNanos > 0) {
+						wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(blockedNanos)));
+					}
+					else if (inFlight >= (int) limit) {
+						wait();
+					}
+					else {
+						inFlight++;
+						return waited;
+					}
+					waited = true;
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for a request permit to " + host, e);
+			}
+		}
+
+		private synchronized void release() {
+			inFlight--;
+			notifyAll();
+		}
+
+		private synchronized void increase() {
+			limit = Math.min(maxLimit, limit + 1 / limit);
+		}
+
+		/**
+		 * Decreases the limit once for all requests started before the last decrease.
+		 */
+		private synchronized int decrease(long requestStartNanos, long retryAfterMillis) {
+			long now = System.nanoTime();
+			if (requestStartNanos - lastDecreaseNanos > 0) {
+				limit = Math.max(1, limit * BACKOFF_RATIO);
+				lastDecreaseNanos = now;
+			}
+			if (retryAfterMillis > 0) {
+				long retryAfterNanos = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+				if (retryAfterNanos - blockedUntilNanos > 0)
+					blockedUntilNanos = retryAfterNanos;
+			}
+			notifyAll();
+			return (int) limit;
+		}
+
+		private synchronized int getLimit() {
+			return (int) limit;
+		}
+
+	}
+
+	/**
+	 * A response of the server signaling overload.
+	 */
+	public static class ThrottlingEvent {
+
+		private final Instant time = Instant.now();
+
+		private final String host;
+
+		private final int statusCode;
+
+		private final long retryAfterMillis;
+
+		private final int limit;
+
+		private ThrottlingEvent(String host, int statusCode, long retryAfterMillis, int limit) {
+			this.host = host;
+			this.statusCode = statusCode;
+			this.retryAfterMillis = retryAfterMillis;
+			this.limit = limit;
+		}
+
+		/**
+		 * @return the time the response was received, never <code>null</code>
+		 */
+		public Instant getTime() {
+			return time;
+		}
+
+		/**
+		 * @return the host and port of the server, never <code>null</code>
+		 */
+		public String getHost() {
+			return host;
+		}
+
+		/**
+		 * @return the status code of the response
+		 */
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		/**
+		 * @return the delay requested by the <code>Retry-After</code> header in
+		 * milliseconds, 0 if none was requested
+		 */
+		public long getRetryAfterMillis() {
+			return retryAfterMillis;
+		}
+
+		/**
+		 * @return the limit of requests in flight to the host after the response
+		 */
+		public int getLimit() {
+			return limit;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%s throttled requests with status %d at %s: retry after %d ms, limit %d",
+					host, statusCode, time, retryAfterMillis, limit);
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.collections.keyvalue.MultiKey;
+import org.locationtech.proj4j.CRSFactory;
+import org.locationtech.proj4j.CoordinateReferenceSystem;
+import org.locationtech.proj4j.CoordinateTransform;
+import org.locationtech.proj4j.CoordinateTransformFactory;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+/**
+ * Thread-safe cache of the transformations between two coordinate systems.
+ *
+ * <p>
+ * The coordinate systems are created from the parameters indexed by
+ * {@link Proj4Definitions} instead of {@link CRSFactory#createFromName(String)}, which
+ * scans the bundled EPSG file. Each transformation and each coordinate system is created
+ * once and shared; the least recently used entries are evicted if the maximum number of
+ * entries is exceeded. A {@link CoordinateTransform} keeps state while transforming, so
+ * users have to synchronize on the instance returned by {@link #get}.
+ * </p>
+ */
+public final class CoordinateTransformCache {
+
+	/** Constant <code>DEFAULT_MAX_ENTRIES=64</code> */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	private static final CoordinateTransformCache INSTANCE = new CoordinateTransformCache(DEFAULT_MAX_ENTRIES);
+
+	private final CRSFactory crsFactory = new CRSFactory();
+
+	private final CoordinateTransformFactory coordinateTransformFactory = new CoordinateTransformFactory();
+
+	private final Map<String, CoordinateReferenceSystem> crss;
+
+	private final Map<MultiKey, CoordinateTransform> transforms;
+
+	private int misses;
+
+	/**
+	 * @param maxEntries the maximum number of cached transformations and coordinate
+	 * systems
+	 */
+	CoordinateTransformCache(int maxEntries) {
+		this.crss = new LruMap<>(maxEntries);
+		this.transforms = new LruMap<>(maxEntries);
+	}
+
+	/**
+	 * @return the cache shared by all tests, never <code>null</code>
+	 */
+	public static CoordinateTransformCache instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the transformation from the source to the target coordinate system.
+	 * @param srcCrs source crs, never <code>null</code>
+	 * @param targetCrs target crs, never <code>null</code>
+	 * @return the cached or created transformation, never <code>null</code>
+	 */
+	public synchronized CoordinateTransform get(CoordinateSystem srcCrs, CoordinateSystem targetCrs) {
+		MultiKey key = new MultiKey(srcCrs, targetCrs);
+		CoordinateTransform transform = transforms.get(key);
+		if (transform == null) {
+			misses++;
+			transform = coordinateTransformFactory.createTransform(crs(srcCrs), crs(targetCrs));
+			transforms.put(key, transform);
+		}
+		return transform;
+	}
+
+	/**
+	 * Creates a new transformation from the source to the target coordinate system, which
+	 * is not cached. Only the coordinate systems are taken from the cache.
+	 * @param srcCrs source crs, never <code>null</code>
+	 * @param targetCrs target crs, never <code>null</code>
+	 * @return the created transformation, never <code>null</code>
+	 */
+	public synchronized CoordinateTransform create(CoordinateSystem srcCrs, CoordinateSystem targetCrs) {
+		return coordinateTransformFactory.createTransform(crs(srcCrs), crs(targetCrs));
+	}
+
+	/**
+	 * @return the number of transformations created by this cache
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		crss.clear();
+		transforms.clear();
+	}
+
+	private CoordinateReferenceSystem crs(CoordinateSystem crs) {
+		return crss.computeIfAbsent(crs.getCodeWithAuthority(), name -> {
+			String parameters = Proj4Definitions.getParameters(name);
+			if (parameters != null)
+				return crsFactory.createFromParameters(name, parameters);
+			return crsFactory.createFromName(name);
+		});
+	}
+
+	private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+		private final int maxEntries;
+
+		private LruMap(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxEntries;
+		}
+
+	}
+
+}
@@ -0,0 +1,250 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Stores the geometries of features by collection id and feature id.
+ *
+ * <p>
+ * The geometries are kept as WKB. As long as the encoded geometries of all entries do not
+ * exceed the memory limit, they are kept on the heap; further entries are appended to a
+ * temporary file and read back with positional reads when requested. The collection ids
+ * are interned, so the keys of the features of a collection share one id instance.
+ * </p>
+ */
+public class FeatureGeometryStore implements Closeable {
+
+	/** Constant <code>DEFAULT_MEMORY_LIMIT=256 * 1024 * 1024</code> */
+	public static final long DEFAULT_MEMORY_LIMIT = 256 * 1024 * 1024;
+
+	private static final String SPILL_FILE_PREFIX = "ets-ogcapi-features10-geometries-";
+
+	private final GeometryFactory geometryFactory = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+	private final Map<String, String> collectionIds = new ConcurrentHashMap<>();
+
+	private final Map<Key, Object> entries = new ConcurrentHashMap<>();
+
+	private final long memoryLimit;
+
+	private long memorySize;
+
+	private Path spillFile;
+
+	private FileChannel spillChannel;
+
+	private long spillSize;
+
+	/**
+	 * Creates a store with the {@link #DEFAULT_MEMORY_LIMIT}.
+	 */
+	public FeatureGeometryStore() {
+		this(DEFAULT_MEMORY_LIMIT);
+	}
+
+	/**
+	 * @param memoryLimit the maximum number of bytes of encoded geometries kept on the
+	 * heap, if &lt; 0 all geometries are kept on the heap
+	 */
+	public FeatureGeometryStore(long memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	/**
+	 * Stores the geometry of a feature, replacing a geometry stored before.
+	 * @param collectionId the id of the collection, never <code>null</code>
+	 * @param featureId the id of the feature, may be <code>null</code>
+	 * @param geometry the geometry to store, never <code>null</code>
+	 */
+	public void put(String collectionId, String featureId, Geometry geometry) {
+		byte[] wkb = new WKBWriter(outputDimension(geometry)).write(geometry);
+		Object previous = entries.put(key(collectionId, featureId), store(wkb));
+		if (previous instanceof byte[])
+			release((byte[]) previous);
+	}
+
+	/**
+	 * Returns the geometry of a feature.
+	 * @param collectionId the id of the collection, never <code>null</code>
+	 * @param featureId the id of the feature, may be <code>null</code>
+	 * @return the stored geometry, <code>null</code> if no geometry is stored for this
+	 * feature
+	 */
+	public Geometry get(String collectionId, String featureId) {
+		Object entry = entries.get(key(collectionId, featureId));
+		if (entry == null)
+			return null;
+		byte[] wkb = entry instanceof byte[] ? (byte[]) entry : read((SpilledEntry) entry);
+		try {
+			return new WKBReader(geometryFactory).read(wkb);
+		}
+		catch (ParseException e) {
+			throw new IllegalStateException("Stored geometry could not be decoded", e);
+		}
+	}
+
+	/**
+	 * @return the number of stored geometries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the number of bytes of the geometries written to the temporary file
+	 */
+	public synchronized long getSpillSize() {
+		return spillSize;
+	}
+
+	/**
+	 * Removes all geometries and deletes the temporary file, if one was created.
+	 */
+	@Override
+	public synchronized void close() {
+		entries.clear();
+		collectionIds.clear();
+		memorySize = 0;
+		spillSize = 0;
+		if (spillChannel != null) {
+			try {
+				spillChannel.close();
+				Files.deleteIfExists(spillFile);
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not delete " + spillFile, e);
+			}
+			spillChannel = null;
+			spillFile = null;
+		}
+	}
+
+	private Key key(String collectionId, String featureId) {
+		return new Key(collectionIds.computeIfAbsent(collectionId, id -> id), featureId);
+	}
+
+	private synchronized Object store(byte[] wkb) {
+		if (memoryLimit < 0 || memorySize + wkb.length <= memoryLimit || !canSpill()) {
+			memorySize += wkb.length;
+			return wkb;
+		}
+		try {
+			long position = spillSize;
+			ByteBuffer buffer = ByteBuffer.wrap(wkb);
+			while (buffer.hasRemaining())
+				spillChannel.write(buffer, position + buffer.position());
+			spillSize += wkb.length;
+			return new SpilledEntry(position, wkb.length);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write geometry to " + spillFile, e);
+			memorySize += wkb.length;
+			return wkb;
+		}
+	}
+
+	private synchronized void release(byte[] wkb) {
+		// the space of replaced entries in the temporary file is not reused
+		memorySize -= wkb.length;
+	}
+
+	/**
+	 * @return the number of bytes of the geometries kept on the heap
+	 */
+	synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	private boolean canSpill() {
+		if (spillChannel != null)
+			return true;
+		try {
+			spillFile = Files.createTempFile(SPILL_FILE_PREFIX, ".wkb");
+			spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			return true;
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not create temporary file for geometries", e);
+			return false;
+		}
+	}
+
+	private synchronized byte[] read(SpilledEntry entry) {
+		ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+		try {
+			while (buffer.hasRemaining()) {
+				if (spillChannel.read(buffer, entry.position + buffer.position()) < 0)
+					throw new IOException("Unexpected end of file");
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Stored geometry could not be read from " + spillFile, e);
+		}
+		return buffer.array();
+	}
+
+	private static int outputDimension(Geometry geometry) {
+		Coordinate coordinate = geometry.getCoordinate();
+		return coordinate != null && !Double.isNaN(coordinate.getZ()) ? 3 : 2;
+	}
+
+	private static class Key {
+
+		private final String collectionId;
+
+		private final String featureId;
+
+		private Key(String collectionId, String featureId) {
+			this.collectionId = collectionId;
+			this.featureId = featureId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof Key))
+				return false;
+			Key that = (Key) o;
+			return collectionId.equals(that.collectionId) && Objects.equals(featureId, that.featureId);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * collectionId.hashCode() + Objects.hashCode(featureId);
+		}
+
+	}
+
+	private static class SpilledEntry {
+
+		private final long position;
+
+		private final int length;
+
+		private SpilledEntry(long position, int length) {
+			this.position = position;
+			this.length = length;
+		}
+
+	}
+
+}
@@ -0,0 +1,357 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static io.restassured.http.Method.GET;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader.GeoJsonFeature;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Walks the 'next' links of a feature collection and counts or streams the features of
+ * all pages.
+ *
+ * <p>
+ * Each page is scanned with a streaming parser instead of being parsed into a complete
+ * document. As soon as the 'next' link and the features of a page are found, the request
+ * of the following page is submitted to the {@link RequestExecutor}, so the next page is
+ * transferred while the features of the current page are still being processed. A page
+ * without features ends the walk, its 'next' link is not requested.
+ * </p>
+ *
+ * <p>
+ * A pager walks the pages once, a new pager has to be created for each walk.
+ * </p>
+ *
+ * <p>
+ * The pages are not stored in the {@link ResponseCache} of the transport: each page is
+ * read once, caching them would only evict the responses which are requested again.
+ * </p>
+ */
+public class FeaturesPager {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final Supplier<RequestSpecification> requests;
+
+	private final RequestExecutor requestExecutor;
+
+	private final boolean ownsRequestExecutor;
+
+	private final int maximumLimit;
+
+	private final int pagingLimit;
+
+	private int requestedPages;
+
+	/**
+	 * Creates a pager requesting the next page with a sequential executor, which is shut
+	 * down after the walk.
+	 * @param requests creates the request of each page, e.g. with the filters of the test
+	 * fixture, may be <code>null</code> to send them with the default client of
+	 * RestAssured
+	 * @param maximumLimit the limit parameter value to use, if &lt;= 0 the parameter is
+	 * omitted
+	 * @param pagingLimit the maximum number of 'next' links to follow, if &lt; 0 all
+	 * links are followed
+	 */
+	public FeaturesPager(Supplier<RequestSpecification> requests, int maximumLimit, int pagingLimit) {
+		this(requests, null, maximumLimit, pagingLimit);
+	}
+
+	/**
+	 * @param requests creates the request of each page, e.g. with the filters of the test
+	 * fixture, may be <code>null</code> to send them with the default client of
+	 * RestAssured
+	 * @param requestExecutor the executor requesting the next page, usually the
+	 * {@link org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute#REQUEST_EXECUTOR}
+	 * of the suite, may be <code>null</code> to use a sequential executor which is shut
+	 * down after the walk
+	 * @param maximumLimit the limit parameter value to use, if &lt;= 0 the parameter is
+	 * omitted
+	 * @param pagingLimit the maximum number of 'next' links to follow, if &lt; 0 all
+	 * links are followed
+	 */
+	public FeaturesPager(Supplier<RequestSpecification> requests, RequestExecutor requestExecutor, int maximumLimit,
+			int pagingLimit) {
+		this.requests = requests;
+		this.ownsRequestExecutor = requestExecutor == null;
+		this.requestExecutor = requestExecutor != null ? requestExecutor : RequestExecutor.sequential();
+		this.maximumLimit = maximumLimit;
+		this.pagingLimit = pagingLimit;
+	}
+
+	/**
+	 * Counts the features of the passed page and all following pages.
+	 * @param jsonPath the initial page, never <code>null</code>
+	 * @return the number of all features
+	 * @throws java.net.URISyntaxException if the creation of a uri fails
+	 */
+	public int countAllFeatures(JsonPath jsonPath) throws URISyntaxException {
+		try {
+			return countFeatures(jsonPath);
+		}
+		finally {
+			releaseRequestExecutor();
+		}
+	}
+
+	private int countFeatures(JsonPath jsonPath) throws URISyntaxException {
+		int numberOfAllReturnedFeatures = JsonUtils.parseAsList("features", jsonPath).size();
+		Map<String, Object> nextLink = JsonUtils.findLinkByRel(jsonPath.getList("links"), "next");
+		if (nextLink == null || numberOfAllReturnedFeatures == 0)
+			return numberOfAllReturnedFeatures;
+		Future<byte[]> nextPage = requestNextPage((String) nextLink.get("href"));
+		while (nextPage != null) {
+			byte[] page = RequestExecutor.await(nextPage);
+			PageScan pageScan = scanPage(page);
+			numberOfAllReturnedFeatures += pageScan.numberOfFeatures;
+			nextPage = pageScan.nextPage;
+		}
+		return numberOfAllReturnedFeatures;
+	}
+
+	/**
+	 * Passes the features of the passed page and all following pages to the consumer. The
+	 * features are streamed from each page and not kept, the next page is requested while
+	 * the features of the current page are consumed.
+	 * @param firstPage the initial page, never <code>null</code>
+	 * @param crs the crs of the geometries, never <code>null</code>
+	 * @param consumer the consumer of each feature, never <code>null</code>
+	 * @return the statistics of the walk, never <code>null</code>
+	 * @throws java.net.URISyntaxException if the creation of a uri fails
+	 * @throws java.io.IOException if a page could not be parsed
+	 */
+	public Statistics forEachFeature(byte[] firstPage, CoordinateSystem crs, Consumer<GeoJsonFeature> consumer)
+			throws URISyntaxException, IOException {
+		try {
+			return walkFeatures(firstPage, crs, consumer);
+		}
+		finally {
+			releaseRequestExecutor();
+		}
+	}
+
+	private Statistics walkFeatures(byte[] firstPage, CoordinateSystem crs, Consumer<GeoJsonFeature> consumer)
+			throws URISyntaxException, IOException {
+		Statistics statistics = new Statistics();
+		long start = System.nanoTime();
+		byte[] page = firstPage;
+		while (page != null) {
+			PageScan pageScan = scanPage(page);
+			try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(page, crs)) {
+				GeoJsonFeature feature;
+				while ((feature = reader.next()) != null)
+					consumer.accept(feature);
+				statistics.numberOfFeatures += reader.getNumberOfFeatures();
+			}
+			catch (IOException | RuntimeException | Error e) {
+				if (pageScan.nextPage != null)
+					pageScan.nextPage.cancel(true);
+				throw e;
+			}
+			statistics.numberOfPages++;
+			statistics.numberOfBytes += page.length;
+			page = pageScan.nextPage != null ? RequestExecutor.await(pageScan.nextPage) : null;
+		}
+		statistics.durationNanos = System.nanoTime() - start;
+		return statistics;
+	}
+
+	private void releaseRequestExecutor() {
+		if (ownsRequestExecutor)
+			requestExecutor.shutdown();
+	}
+
+	private Future<byte[]> requestNextPage(String nextUrl) throws URISyntaxException {
+		if (pagingLimit >= 0 && requestedPages >= pagingLimit)
+			return null;
+		requestedPages++;
+		RequestSpecification request = createRequest(nextUrl);
+		// retries of the prefetched pages are recorded for the test walking the pages
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.currentTest();
+		FlightRecorderEvents.Context flightRecorderContext = FlightRecorderEvents.currentContext();
+		return requestExecutor.submit(() -> {
+			RequestMetrics.joinTest(testMetrics);
+			FlightRecorderEvents.joinContext(flightRecorderContext);
+			try {
+				Response response = request.when().request(GET);
+				response.then().statusCode(200);
+				return response.asByteArray();
+			}
+			finally {
+				RequestMetrics.joinTest(null);
+				FlightRecorderEvents.joinContext(null);
+			}
+		});
+	}
+
+	private RequestSpecification createRequest(String nextUrl) throws URISyntaxException {
+		URI uri = new URI(nextUrl);
+		RequestSpecification accept = requests != null ? requests.get() : RestAssured.given();
+		accept.baseUri(nextUrl).accept(GEOJSON_MIME_TYPE);
+		String[] pairs = uri.getQuery().split("&");
+		String limitParamFromUri = null;
+		for (String pair : pairs) {
+			int idx = pair.indexOf("=");
+			String key = pair.substring(0, idx);
+			String value = pair.substring(idx + 1);
+			if ("limit".equals(key)) {
+				limitParamFromUri = value;
+			}
+			else {
+				accept.param(key, value);
+			}
+		}
+		if (maximumLimit > 0) {
+			accept.param("limit", maximumLimit);
+		}
+		else if (limitParamFromUri != null) {
+			accept.param("limit", limitParamFromUri);
+		}
+		return accept;
+	}
+
+	/**
+	 * Counts the features of the page and requests the page referenced by the first
+	 * 'next' link, immediately when the link and the features are found. The next page is
+	 * not requested if the page has no features.
+	 */
+	private PageScan scanPage(byte[] page) throws URISyntaxException {
+		PageScan pageScan = new PageScan();
+		String nextUrl = null;
+		boolean featuresScanned = false;
+		try (JsonParser parser = JSON_FACTORY.createParser(page)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT)
+				return pageScan;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("features".equals(fieldName) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						pageScan.numberOfFeatures++;
+						parser.skipChildren();
+					}
+					featuresScanned = true;
+				}
+				else if ("links".equals(fieldName) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						String href = parseNextLinkHref(parser);
+						if (href != null && nextUrl == null)
+							nextUrl = href;
+					}
+				}
+				else {
+					parser.skipChildren();
+				}
+				if (featuresScanned && nextUrl != null && pageScan.numberOfFeatures > 0 && pageScan.nextPage == null)
+					pageScan.nextPage = requestNextPage(nextUrl);
+			}
+		}
+		catch (IOException e) {
+			throw new AssertionError("Could not parse features page: " + e.getMessage(), e);
+		}
+		return pageScan;
+	}
+
+	private String parseNextLinkHref(JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+		String rel = null;
+		String href = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("rel".equals(fieldName) && value == JsonToken.VALUE_STRING)
+				rel = parser.getText();
+			else if ("href".equals(fieldName) && value == JsonToken.VALUE_STRING)
+				href = parser.getText();
+			else
+				parser.skipChildren();
+		}
+		return "next".equals(rel) ? href : null;
+	}
+
+	/**
+	 * Statistics of a walk over all pages.
+	 */
+	public static class Statistics {
+
+		private int numberOfPages;
+
+		private long numberOfFeatures;
+
+		private long numberOfBytes;
+
+		private long durationNanos;
+
+		/**
+		 * @return the number of pages
+		 */
+		public int getNumberOfPages() {
+			return numberOfPages;
+		}
+
+		/**
+		 * @return the number of features of all pages
+		 */
+		public long getNumberOfFeatures() {
+			return numberOfFeatures;
+		}
+
+		/**
+		 * @return the number of bytes of all pages
+		 */
+		public long getNumberOfBytes() {
+			return numberOfBytes;
+		}
+
+		/**
+		 * @return the duration of the walk in nanoseconds, including the requests
+		 */
+		public long getDurationNanos() {
+			return durationNanos;
+		}
+
+		/**
+		 * @return the text containing the number of features, pages and bytes as well as
+		 * the throughput in features/s and MB/s, never <code>null</code>
+		 */
+		@Override
+		public String toString() {
+			double seconds = Math.max(durationNanos, 1) / 1e9;
+			return String.format(Locale.ROOT, "%d features in %d pages (%.2f MB) in %.3f s: %.1f features/s, %.2f MB/s",
+					numberOfFeatures, numberOfPages, numberOfBytes / 1e6, seconds, numberOfFeatures / seconds,
+					numberOfBytes / 1e6 / seconds);
+		}
+
+	}
+
+	private static class PageScan {
+
+		private int numberOfFeatures;
+
+		private Future<byte[]> nextPage;
+
+	}
+
+}
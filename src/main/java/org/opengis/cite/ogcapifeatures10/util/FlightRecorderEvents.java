@@ -0,0 +1,248 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of the spans a test run spends its time in: HTTP requests,
+ * JSON parsing, geometry parsing and CRS transformations. Throttling by the server is
+ * recorded as well.
+ *
+ * <p>
+ * The events are only created if enabled with the command line option
+ * <code>-j</code>/<code>--jfrEvents</code> or the system property
+ * {@value #JFR_EVENTS_PROPERTY}, and only recorded while a flight recording is running,
+ * e.g. started with <code>-XX:StartFlightRecording</code>. Each event is tagged with the
+ * test method and the collection bound to the thread by the
+ * {@link org.opengis.cite.ogcapifeatures10.listener.FlightRecorderListener}.
+ * </p>
+ */
+public final class FlightRecorderEvents {
+
+	/** Constant <code>JFR_EVENTS_PROPERTY="jfrEvents"</code> */
+	public static final String JFR_EVENTS_PROPERTY = "jfrEvents";
+
+	private static final String CATEGORY = "OGC API Features ETS";
+
+	private static final ThreadLocal<Context> CURRENT_CONTEXT = new ThreadLocal<>();
+
+	private static volatile boolean enabled = Boolean.getBoolean(JFR_EVENTS_PROPERTY);
+
+	private FlightRecorderEvents() {
+	}
+
+	/**
+	 * @return <code>true</code> if events are created, <code>false</code> otherwise
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the creation of events.
+	 * @param enabled <code>true</code> if events should be created, <code>false</code>
+	 * otherwise
+	 */
+	public static void setEnabled(boolean enabled) {
+		FlightRecorderEvents.enabled = enabled;
+	}
+
+	/**
+	 * Binds the test method and collection to the current thread, the following events of
+	 * the thread are tagged with them.
+	 * @param testMethod the name of the test method, may be <code>null</code>
+	 * @param collectionId the id of the tested collection, may be <code>null</code>
+	 * @return the bound context, never <code>null</code>
+	 */
+	public static Context bindContext(String testMethod, String collectionId) {
+		Context context = new Context(testMethod, collectionId);
+		CURRENT_CONTEXT.set(context);
+		return context;
+	}
+
+	/**
+	 * Binds a context to the current thread, e.g. to a thread executing requests of a
+	 * test.
+	 * @param context the context to bind, may be <code>null</code> to unbind
+	 */
+	public static void joinContext(Context context) {
+		if (context == null)
+			CURRENT_CONTEXT.remove();
+		else
+			CURRENT_CONTEXT.set(context);
+	}
+
+	/**
+	 * @return the context bound to the current thread, <code>null</code> if none is bound
+	 */
+	public static Context currentContext() {
+		return CURRENT_CONTEXT.get();
+	}
+
+	/**
+	 * Creates and begins an event tagged with the context of the current thread.
+	 * @param factory creates the event, never <code>null</code>
+	 * @param <E> the type of the event
+	 * @return the begun event, <code>null</code> if events are disabled
+	 */
+	static <E extends SuiteEvent> E begin(Supplier<E> factory) {
+		if (!enabled)
+			return null;
+		E event = factory.get();
+		if (!event.isEnabled())
+			return null;
+		Context context = CURRENT_CONTEXT.get();
+		if (context != null) {
+			event.testMethod = context.testMethod;
+			event.collectionId = context.collectionId;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * The test method and collection the events of a thread are tagged with.
+	 */
+	public static final class Context {
+
+		private final String testMethod;
+
+		private final String collectionId;
+
+		private Context(String testMethod, String collectionId) {
+			this.testMethod = testMethod;
+			this.collectionId = collectionId;
+		}
+
+	}
+
+	/**
+	 * Base class of the events, tagged with the test method and collection.
+	 */
+	abstract static class SuiteEvent extends Event {
+
+		@Label("Test Method")
+		String testMethod;
+
+		@Label("Collection")
+		String collectionId;
+
+	}
+
+	/**
+	 * An HTTP request, ending when the response was read completely.
+	 */
+	@Name("org.opengis.cite.ogcapifeatures10.HttpRequest")
+	@Label("HTTP Request")
+	@Category({ CATEGORY, "HTTP" })
+	@Description("Request to the implementation under test")
+	static final class HttpRequestEvent extends SuiteEvent {
+
+		@Label("Method")
+		String method;
+
+		@Label("URI")
+		String uri;
+
+		@Label("Endpoint")
+		String endpoint;
+
+		@Label("Status Code")
+		int statusCode;
+
+		@Label("Body Size")
+		@DataAmount
+		long bodySize;
+
+		@Label("Cached")
+		@Description("Response served by the response cache of the test run")
+		boolean cached;
+
+	}
+
+	/**
+	 * Parsing a response body into a JSON document.
+	 */
+	@Name("org.opengis.cite.ogcapifeatures10.JsonParse")
+	@Label("JSON Parse")
+	@Category({ CATEGORY, "Parsing" })
+	@Description("Parsing a response body into a JSON document")
+	static final class JsonParseEvent extends SuiteEvent {
+
+		@Label("Content Type")
+		String contentType;
+
+		@Label("Number Return Type")
+		String numberReturnType;
+
+	}
+
+	/**
+	 * Parsing GeoJSON geometries into JTS geometries.
+	 */
+	@Name("org.opengis.cite.ogcapifeatures10.GeometryParse")
+	@Label("Geometry Parse")
+	@Category({ CATEGORY, "Parsing" })
+	@Description("Parsing a GeoJSON geometry into a JTS geometry")
+	static final class GeometryParseEvent extends SuiteEvent {
+
+		@Label("Geometry Type")
+		String geometryType;
+
+		@Label("SRID")
+		int srid;
+
+	}
+
+	/**
+	 * Transforming coordinates between two coordinate reference systems.
+	 */
+	@Name("org.opengis.cite.ogcapifeatures10.CrsTransform")
+	@Label("CRS Transform")
+	@Category({ CATEGORY, "Geometry" })
+	@Description("Transforming coordinates between two coordinate reference systems with proj4j")
+	static final class CrsTransformEvent extends SuiteEvent {
+
+		@Label("Source CRS")
+		String sourceCrs;
+
+		@Label("Target CRS")
+		String targetCrs;
+
+		@Label("Coordinates")
+		int coordinates;
+
+	}
+
+	/**
+	 * A response of the server signaling overload, see {@link ConcurrencyLimiter}.
+	 */
+	@Name("org.opengis.cite.ogcapifeatures10.Throttle")
+	@Label("Throttle")
+	@Category({ CATEGORY, "HTTP" })
+	@Description("Response with status 429 or 503 decreasing the limit of requests in flight")
+	static final class ThrottleEvent extends SuiteEvent {
+
+		@Label("Host")
+		String host;
+
+		@Label("Status Code")
+		int statusCode;
+
+		@Label("Retry After")
+		@Timespan(Timespan.MILLISECONDS)
+		long retryAfter;
+
+		@Label("Limit")
+		int limit;
+
+	}
+
+}
@@ -0,0 +1,320 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming pull parser of GeoJSON FeatureCollection and Feature documents.
+ *
+ * <p>
+ * The features are returned one at a time by {@link #next()}, the geometry of each
+ * feature is parsed straight into JTS coordinate sequences. No tree of the whole document
+ * is created, so the memory required is independent of the number of features in the
+ * document. Members of the features other than 'id' and 'geometry' are skipped.
+ * </p>
+ */
+public class GeoJsonFeatureReader implements Closeable {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final JsonParser parser;
+
+	private final GeoJsonGeometryFactory geometryFactory;
+
+	private boolean inFeaturesArray;
+
+	private boolean finished;
+
+	private int numberOfFeatures;
+
+	private String invalidGeometry;
+
+	/**
+	 * @param featureCollection the GeoJSON document, never <code>null</code>
+	 * @param crs the crs of the geometries, never <code>null</code>
+	 * @throws IOException if the document could not be read
+	 */
+	public GeoJsonFeatureReader(byte[] featureCollection, CoordinateSystem crs) throws IOException {
+		this(JSON_FACTORY.createParser(featureCollection), crs);
+	}
+
+	/**
+	 * @param featureCollection the GeoJSON document, never <code>null</code>
+	 * @param crs the crs of the geometries, never <code>null</code>
+	 * @throws IOException if the document could not be read
+	 */
+	public GeoJsonFeatureReader(InputStream featureCollection, CoordinateSystem crs) throws IOException {
+		this(JSON_FACTORY.createParser(featureCollection), crs);
+	}
+
+	private GeoJsonFeatureReader(JsonParser parser, CoordinateSystem crs) throws IOException {
+		this.parser = parser;
+		this.geometryFactory = new GeoJsonGeometryFactory(crs.getSrid());
+		if (parser.nextToken() != JsonToken.START_OBJECT)
+			throw new IOException("GeoJSON document is not a JSON object");
+	}
+
+	/**
+	 * Reads the next feature. If the document is a single Feature, this feature is
+	 * returned by the first call.
+	 * @return the next feature, <code>null</code> if there are no more features
+	 * @throws IOException if the document could not be read
+	 */
+	public GeoJsonFeature next() throws IOException {
+		if (finished)
+			return null;
+		if (inFeaturesArray) {
+			if (parser.nextToken() == JsonToken.START_OBJECT) {
+				numberOfFeatures++;
+				return readFeature();
+			}
+			inFeaturesArray = false;
+		}
+		// members of the top level object, if it is a Feature the 'id' and 'geometry'
+		// members are collected
+		GeoJsonFeature topLevelFeature = new GeoJsonFeature();
+		boolean isFeature = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("features".equals(fieldName) && value == JsonToken.START_ARRAY) {
+				inFeaturesArray = true;
+				return next();
+			}
+			else if ("geometry".equals(fieldName)) {
+				isFeature = true;
+				readGeometry(topLevelFeature);
+			}
+			else if ("id".equals(fieldName) && value.isScalarValue()) {
+				topLevelFeature.id = parser.getText();
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		finished = true;
+		if (isFeature) {
+			numberOfFeatures++;
+			return topLevelFeature;
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the geometry of a single GeoJSON Feature.
+	 * @param feature the GeoJSON Feature document, never <code>null</code>
+	 * @param crs the crs of the geometry, never <code>null</code>
+	 * @return the parsed geometry, <code>null</code> if the feature has no geometry
+	 * @throws org.locationtech.jts.io.ParseException if the geometry could not be parsed
+	 */
+	public static Geometry readFeatureGeometry(byte[] feature, CoordinateSystem crs) throws ParseException {
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(feature, crs)) {
+			GeoJsonFeature geoJsonFeature = reader.next();
+			if (geoJsonFeature == null)
+				return null;
+			if (geoJsonFeature.getInvalidGeometry() != null)
+				throw new ParseException(geoJsonFeature.getInvalidGeometry());
+			return geoJsonFeature.getGeometry();
+		}
+		catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	/**
+	 * @return the number of features read so far
+	 */
+	public int getNumberOfFeatures() {
+		return numberOfFeatures;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	private GeoJsonFeature readFeature() throws IOException {
+		GeoJsonFeature feature = new GeoJsonFeature();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("geometry".equals(fieldName))
+				readGeometry(feature);
+			else if ("id".equals(fieldName) && value.isScalarValue())
+				feature.id = parser.getText();
+			else
+				parser.skipChildren();
+		}
+		return feature;
+	}
+
+	private void readGeometry(GeoJsonFeature feature) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		invalidGeometry = null;
+		FlightRecorderEvents.GeometryParseEvent event = FlightRecorderEvents
+			.begin(FlightRecorderEvents.GeometryParseEvent::new);
+		feature.geometry = parseGeometry();
+		feature.invalidGeometry = invalidGeometry;
+		if (event != null) {
+			if (feature.geometry != null) {
+				event.geometryType = feature.geometry.getGeometryType();
+				event.srid = feature.geometry.getSRID();
+			}
+			event.commit();
+		}
+	}
+
+	/**
+	 * Parses the geometry object at the current position. The object is always consumed
+	 * completely, if the geometry is invalid <code>null</code> is returned and the reason
+	 * is assigned to {@link #invalidGeometry}.
+	 */
+	private Geometry parseGeometry() throws IOException {
+		String type = null;
+		Object coordinates = null;
+		List<Geometry> geometries = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("type".equals(fieldName) && value == JsonToken.VALUE_STRING) {
+				type = parser.getText();
+			}
+			else if ("coordinates".equals(fieldName) && value == JsonToken.START_ARRAY) {
+				coordinates = parseCoordinates();
+			}
+			else if ("geometries".equals(fieldName) && value == JsonToken.START_ARRAY) {
+				geometries = new ArrayList<>();
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					if (parser.currentToken() == JsonToken.START_OBJECT)
+						geometries.add(parseGeometry());
+					else
+						invalid("Member of GeometryCollection is not an object");
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		if (invalidGeometry != null)
+			return null;
+		if (coordinates == null && geometries == null)
+			return invalid("Geometry of type " + type + " has no coordinates");
+		try {
+			return geometryFactory.create(type, coordinates, geometries);
+		}
+		catch (IllegalArgumentException e) {
+			return invalid(e.getMessage());
+		}
+	}
+
+	/**
+	 * Parses the array at the current position, see {@link GeoJsonGeometryFactory} for
+	 * the representation of the nesting.
+	 */
+	private Object parseCoordinates() throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token != null && token.isNumeric()) {
+			double[] position = new double[3];
+			int dimension = 0;
+			while (token != JsonToken.END_ARRAY) {
+				if (token.isNumeric()) {
+					if (dimension == position.length)
+						position = Arrays.copyOf(position, dimension * 2);
+					position[dimension++] = parser.getDoubleValue();
+				}
+				else {
+					invalid("Position contains a value which is not a number");
+					parser.skipChildren();
+				}
+				token = parser.nextToken();
+			}
+			return Arrays.copyOf(position, dimension);
+		}
+		List<Object> children = new ArrayList<>();
+		boolean positions = true;
+		while (token != JsonToken.END_ARRAY) {
+			if (token == JsonToken.START_ARRAY) {
+				Object child = parseCoordinates();
+				positions &= child instanceof double[];
+				children.add(child);
+			}
+			else {
+				invalid("Coordinates contain a value which is not an array");
+				parser.skipChildren();
+			}
+			token = parser.nextToken();
+		}
+		if (positions && !children.isEmpty() && invalidGeometry == null) {
+			List<double[]> positionList = new ArrayList<>(children.size());
+			for (Object child : children) {
+				positionList.add((double[]) child);
+			}
+			try {
+				return GeoJsonGeometryFactory.toSequence(positionList);
+			}
+			catch (IllegalArgumentException e) {
+				invalid(e.getMessage());
+			}
+		}
+		return children;
+	}
+
+	private Geometry invalid(String reason) {
+		if (invalidGeometry == null)
+			invalidGeometry = reason;
+		return null;
+	}
+
+	/**
+	 * A feature read by the {@link GeoJsonFeatureReader}.
+	 */
+	public static class GeoJsonFeature {
+
+		private String id;
+
+		private Geometry geometry;
+
+		private String invalidGeometry;
+
+		/**
+		 * @return the id of the feature, <code>null</code> if the feature has no id
+		 */
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * @return the geometry of the feature, <code>null</code> if the feature has no
+		 * geometry or the geometry is invalid
+		 */
+		public Geometry getGeometry() {
+			return geometry;
+		}
+
+		/**
+		 * @return a description why the geometry is invalid, <code>null</code> if the
+		 * geometry is valid or missing
+		 */
+		public String getInvalidGeometry() {
+			return invalidGeometry;
+		}
+
+	}
+
+}
@@ -0,0 +1,196 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ * Creates JTS geometries from GeoJSON geometry objects.
+ *
+ * <p>
+ * The coordinates are written into packed coordinate sequences directly, without creating
+ * intermediate {@link org.locationtech.jts.geom.Coordinate} objects. The nesting of the
+ * GeoJSON 'coordinates' member is represented as follows: a position is a
+ * <code>double[]</code>, an array of positions a {@link CoordinateSequence} and all
+ * deeper arrays a {@link List} of these.
+ * </p>
+ */
+public class GeoJsonGeometryFactory {
+
+	private final GeometryFactory geometryFactory;
+
+	/**
+	 * @param srid the SRID assigned to all created geometries
+	 */
+	public GeoJsonGeometryFactory(int srid) {
+		this.geometryFactory = new GeometryFactory(new PrecisionModel(), srid,
+				PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+	}
+
+	/**
+	 * Creates a geometry from a GeoJSON geometry object parsed into a map.
+	 * @param geometry the GeoJSON geometry object, never <code>null</code>
+	 * @return the geometry, never <code>null</code>
+	 * @throws IllegalArgumentException if the geometry is not a valid GeoJSON geometry
+	 */
+	public Geometry create(Map<String, Object> geometry) {
+		String type = (String) geometry.get("type");
+		try {
+			if ("GeometryCollection".equals(type)) {
+				List<Geometry> geometries = new ArrayList<>();
+				for (Object member : (List<?>) geometry.get("geometries")) {
+					geometries.add(create((Map<String, Object>) member));
+				}
+				return create(type, null, geometries);
+			}
+			Object coordinates = geometry.get("coordinates");
+			if (!(coordinates instanceof List))
+				throw new IllegalArgumentException("Geometry of type " + type + " has no coordinates");
+			return create(type, toCoordinates((List<?>) coordinates), null);
+		}
+		catch (ClassCastException | NullPointerException e) {
+			throw new IllegalArgumentException("Invalid geometry of type " + type, e);
+		}
+	}
+
+	/**
+	 * Creates a geometry from the members of a GeoJSON geometry object.
+	 * @param type the value of the 'type' member, may be <code>null</code>
+	 * @param coordinates the value of the 'coordinates' member, see class documentation,
+	 * may be <code>null</code> for geometry collections
+	 * @param geometries the members of a geometry collection, may be <code>null</code>
+	 * for all other types
+	 * @return the geometry, never <code>null</code>
+	 * @throws IllegalArgumentException if the geometry is not a valid GeoJSON geometry
+	 */
+	public Geometry create(String type, Object coordinates, List<Geometry> geometries) {
+		if (type == null)
+			throw new IllegalArgumentException("Geometry has no type");
+		try {
+			switch (type) {
+				case "Point":
+					return geometryFactory.createPoint(asSequence(coordinates));
+				case "MultiPoint":
+					return geometryFactory.createMultiPoint(asSequence(coordinates));
+				case "LineString":
+					return geometryFactory.createLineString(asSequence(coordinates));
+				case "MultiLineString":
+					List<?> lines = asList(coordinates);
+					LineString[] lineStrings = new LineString[lines.size()];
+					for (int i = 0; i < lineStrings.length; i++) {
+						lineStrings[i] = geometryFactory.createLineString(asSequence(lines.get(i)));
+					}
+					return geometryFactory.createMultiLineString(lineStrings);
+				case "Polygon":
+					return createPolygon(coordinates);
+				case "MultiPolygon":
+					List<?> polygonCoordinates = asList(coordinates);
+					Polygon[] polygons = new Polygon[polygonCoordinates.size()];
+					for (int i = 0; i < polygons.length; i++) {
+						polygons[i] = createPolygon(polygonCoordinates.get(i));
+					}
+					return geometryFactory.createMultiPolygon(polygons);
+				case "GeometryCollection":
+					if (geometries == null)
+						throw new IllegalArgumentException("GeometryCollection has no geometries");
+					return geometryFactory.createGeometryCollection(geometries.toArray(new Geometry[0]));
+				default:
+					throw new IllegalArgumentException("Unsupported geometry type " + type);
+			}
+		}
+		catch (ClassCastException e) {
+			throw new IllegalArgumentException("Coordinates do not match geometry type " + type, e);
+		}
+	}
+
+	/**
+	 * Packs the passed positions into a coordinate sequence. The sequence has three
+	 * dimensions, if at least one position has a third ordinate.
+	 * @param positions the positions, never <code>null</code>
+	 * @return the coordinate sequence, never <code>null</code>
+	 */
+	public static CoordinateSequence toSequence(List<double[]> positions) {
+		int dimension = 2;
+		for (double[] position : positions) {
+			if (position.length < 2)
+				throw new IllegalArgumentException("Position with less than two ordinates");
+			if (position.length > 2)
+				dimension = 3;
+		}
+		double[] ordinates = new double[positions.size() * dimension];
+		int index = 0;
+		for (double[] position : positions) {
+			ordinates[index] = position[0];
+			ordinates[index + 1] = position[1];
+			if (dimension == 3)
+				ordinates[index + 2] = position.length > 2 ? position[2] : Double.NaN;
+			index += dimension;
+		}
+		return new PackedCoordinateSequence.Double(ordinates, dimension, 0);
+	}
+
+	private Polygon createPolygon(Object coordinates) {
+		List<?> rings = asList(coordinates);
+		if (rings.isEmpty())
+			return geometryFactory.createPolygon();
+		LinearRing shell = geometryFactory.createLinearRing(asSequence(rings.get(0)));
+		LinearRing[] holes = new LinearRing[rings.size() - 1];
+		for (int i = 0; i < holes.length; i++) {
+			holes[i] = geometryFactory.createLinearRing(asSequence(rings.get(i + 1)));
+		}
+		return geometryFactory.createPolygon(shell, holes);
+	}
+
+	private CoordinateSequence asSequence(Object coordinates) {
+		if (coordinates instanceof double[]) {
+			List<double[]> positions = new ArrayList<>(1);
+			positions.add((double[]) coordinates);
+			return toSequence(positions);
+		}
+		if (coordinates instanceof List && ((List<?>) coordinates).isEmpty())
+			return toSequence(new ArrayList<>());
+		return (CoordinateSequence) coordinates;
+	}
+
+	private List<?> asList(Object coordinates) {
+		if (coordinates instanceof CoordinateSequence && ((CoordinateSequence) coordinates).size() == 0)
+			return new ArrayList<>();
+		return (List<?>) coordinates;
+	}
+
+	private static Object toCoordinates(List<?> coordinates) {
+		if (!coordinates.isEmpty() && coordinates.get(0) instanceof Number) {
+			double[] position = new double[coordinates.size()];
+			for (int i = 0; i < position.length; i++) {
+				position[i] = ((Number) coordinates.get(i)).doubleValue();
+			}
+			return position;
+		}
+		List<Object> children = new ArrayList<>(coordinates.size());
+		boolean positions = !coordinates.isEmpty();
+		for (Object child : coordinates) {
+			Object childCoordinates = toCoordinates((List<?>) child);
+			positions &= childCoordinates instanceof double[];
+			children.add(childCoordinates);
+		}
+		if (positions) {
+			List<double[]> positionList = new ArrayList<>(children.size());
+			for (Object child : children) {
+				positionList.add((double[]) child);
+			}
+			return toSequence(positionList);
+		}
+		return children;
+	}
+
+}
@@ -0,0 +1,232 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+/**
+ * Compares geometries requested in a crs with the same geometries requested in the
+ * default crs.
+ *
+ * <p>
+ * The geometries are transformed to the default crs and compared on the common
+ * {@link ForkJoinPool}: the list of geometries is split recursively, each leaf task
+ * transforms its geometries with the {@link GeometryTransformer} of its worker thread,
+ * and the results of all tasks are merged into one {@link Result}. The transformers are
+ * created for one call of {@link #compare()} and released when it returns.
+ * </p>
+ *
+ * <p>
+ * The axis order is taken from the proj4 definitions bundled with the test suite (e.g.
+ * EPSG:4326 in lat/lon order), a crs without bundled definition is transformed by proj4j
+ * in lon/lat order. The result is asserted if both crs are bundled, see
+ * {@link #isAxisOrderOfAuthority()}; otherwise the axis order may differ from the one of
+ * the server and the result is a hint only.
+ * </p>
+ */
+public class GeometryComparison {
+
+	/** Constant <code>DEFAULT_TOLERANCE=0.001</code> */
+	public static final double DEFAULT_TOLERANCE = 0.001;
+
+	private static final int LEAF_SIZE = 64;
+
+	private static final int MAX_REPORTED_MISMATCHES = 10;
+
+	private final CoordinateSystem crs;
+
+	private final CoordinateSystem defaultCrs;
+
+	private final double tolerance;
+
+	private final List<Candidate> candidates = new ArrayList<>();
+
+	/**
+	 * @param crs the crs of the geometries to transform, never <code>null</code>
+	 * @param defaultCrs the default crs, never <code>null</code>
+	 * @param tolerance the maximum distance between the coordinates of the transformed
+	 * geometry and the geometry in the default crs
+	 */
+	public GeometryComparison(CoordinateSystem crs, CoordinateSystem defaultCrs, double tolerance) {
+		this.crs = crs;
+		this.defaultCrs = defaultCrs;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Adds a geometry to compare.
+	 * @param featureId the id of the feature, may be <code>null</code>
+	 * @param geometry the geometry in the crs, may be <code>null</code> if the feature
+	 * has no geometry
+	 * @param geometryInDefaultCrs the geometry in the default crs, may be
+	 * <code>null</code> if not available
+	 */
+	public void add(String featureId, Geometry geometry, Geometry geometryInDefaultCrs) {
+		candidates.add(new Candidate(featureId, geometry, geometryInDefaultCrs));
+	}
+
+	/**
+	 * @return <code>true</code> if both crs are resolved from the bundled proj4
+	 * definitions, which declare the axis order of the authority, <code>false</code> if
+	 * one of them is created by proj4j from its name in lon/lat order
+	 */
+	public boolean isAxisOrderOfAuthority() {
+		return Proj4Definitions.getParameters(crs.getCodeWithAuthority()) != null
+				&& Proj4Definitions.getParameters(defaultCrs.getCodeWithAuthority()) != null;
+	}
+
+	/**
+	 * Compares all added geometries.
+	 * @return the merged result, never <code>null</code>
+	 */
+	public Result compare() {
+		Map<Thread, GeometryTransformer> transformers = new ConcurrentHashMap<>();
+		if (candidates.size() <= LEAF_SIZE)
+			return new CompareTask(transformers, 0, candidates.size()).compute();
+		return ForkJoinPool.commonPool().invoke(new CompareTask(transformers, 0, candidates.size()));
+	}
+
+	/**
+	 * Result of the comparison of all geometries.
+	 */
+	public class Result {
+
+		private int numberOfCompared;
+
+		private int numberOfSkipped;
+
+		private final List<String> mismatchingFeatureIds = new ArrayList<>();
+
+		/**
+		 * @return the number of compared geometries
+		 */
+		public int getNumberOfCompared() {
+			return numberOfCompared;
+		}
+
+		/**
+		 * @return the number of features without geometry in one of the crs
+		 */
+		public int getNumberOfSkipped() {
+			return numberOfSkipped;
+		}
+
+		/**
+		 * @return the ids of the features with mismatching geometries in the order they
+		 * were added, never <code>null</code>
+		 */
+		public List<String> getMismatchingFeatureIds() {
+			return Collections.unmodifiableList(mismatchingFeatureIds);
+		}
+
+		/**
+		 * @return <code>true</code> if all compared geometries match, <code>false</code>
+		 * otherwise
+		 */
+		public boolean isMatching() {
+			return mismatchingFeatureIds.isEmpty();
+		}
+
+		/**
+		 * @return the report of the comparison, never <code>null</code>
+		 */
+		@Override
+		public String toString() {
+			StringBuilder report = new StringBuilder();
+			report.append(mismatchingFeatureIds.size())
+				.append(" of ")
+				.append(numberOfCompared)
+				.append(" geometries in crs ")
+				.append(crs.getCode())
+				.append(" do not match the geometries in the default crs ")
+				.append(defaultCrs.getCode())
+				.append(" (tolerance ")
+				.append(tolerance)
+				.append(")");
+			if (!mismatchingFeatureIds.isEmpty()) {
+				int reported = Math.min(MAX_REPORTED_MISMATCHES, mismatchingFeatureIds.size());
+				report.append(", features: ").append(String.join(", ", mismatchingFeatureIds.subList(0, reported)));
+				if (reported < mismatchingFeatureIds.size())
+					report.append(", ...");
+			}
+			return report.toString();
+		}
+
+		private Result merge(Result other) {
+			numberOfCompared += other.numberOfCompared;
+			numberOfSkipped += other.numberOfSkipped;
+			mismatchingFeatureIds.addAll(other.mismatchingFeatureIds);
+			return this;
+		}
+
+	}
+
+	private class CompareTask extends RecursiveTask<Result> {
+
+		// one transformer per worker thread, shared by the leaf tasks of the thread
+		private final Map<Thread, GeometryTransformer> transformers;
+
+		private final int from;
+
+		private final int to;
+
+		private CompareTask(Map<Thread, GeometryTransformer> transformers, int from, int to) {
+			this.transformers = transformers;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Result compute() {
+			if (to - from <= LEAF_SIZE)
+				return compareLeaf();
+			int middle = (from + to) >>> 1;
+			CompareTask first = new CompareTask(transformers, from, middle);
+			first.fork();
+			Result second = new CompareTask(transformers, middle, to).compute();
+			return first.join().merge(second);
+		}
+
+		private Result compareLeaf() {
+			GeometryTransformer geometryTransformer = transformers.computeIfAbsent(Thread.currentThread(),
+					thread -> GeometryTransformer.createUnshared(crs, defaultCrs));
+			Result result = new Result();
+			for (Candidate candidate : candidates.subList(from, to)) {
+				if (candidate.geometry == null || candidate.geometryInDefaultCrs == null) {
+					result.numberOfSkipped++;
+					continue;
+				}
+				Geometry transformedGeometry = geometryTransformer.transform(candidate.geometry);
+				result.numberOfCompared++;
+				if (!candidate.geometryInDefaultCrs.equalsExact(transformedGeometry, tolerance))
+					result.mismatchingFeatureIds.add(candidate.featureId != null ? candidate.featureId : "N/A");
+			}
+			return result;
+		}
+
+	}
+
+	private static class Candidate {
+
+		private final String featureId;
+
+		private final Geometry geometry;
+
+		private final Geometry geometryInDefaultCrs;
+
+		private Candidate(String featureId, Geometry geometry, Geometry geometryInDefaultCrs) {
+			this.featureId = featureId;
+			this.geometry = geometry;
+			this.geometryInDefaultCrs = geometryInDefaultCrs;
+		}
+
+	}
+
+}
@@ -1,10 +1,6 @@
 package org.opengis.cite.ogcapifeatures10.util;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
-
-import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -15,9 +11,9 @@ import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
-import org.locationtech.proj4j.CRSFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 import org.locationtech.proj4j.CoordinateTransform;
-import org.locationtech.proj4j.CoordinateTransformFactory;
 import org.locationtech.proj4j.ProjCoordinate;
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
 
@@ -26,11 +22,18 @@ import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSys
  * GeometryTransformer class.
  * </p>
  *
+ * <p>
+ * The coordinates of a geometry are copied into a packed array of doubles and transformed
+ * in bulk, the transformed geometries are backed by this array.
+ * </p>
+ *
  * @author <a href="mailto:goltz@lat-lon.de">Lyn Goltz </a>
  */
 public class GeometryTransformer {
 
-	private final GeometryFactory geometryFactory = new GeometryFactory();
+	private static final int ENVELOPE_SEGMENTS = 16;
+
+	private final GeometryFactory geometryFactory = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
 
 	private final CoordinateTransform transformer;
 
@@ -40,19 +43,32 @@ public class GeometryTransformer {
 
 	/**
 	 * <p>
-	 * Constructor for GeometryTransformer.
+	 * Constructor for GeometryTransformer. The transformation is taken from the
+	 * {@link CoordinateTransformCache}.
 	 * </p>
 	 * @param srcCrs source crs, , never <code>null</code>
 	 * @param targetCrs target crs, , never <code>null</code>
 	 */
 	public GeometryTransformer(CoordinateSystem srcCrs, CoordinateSystem targetCrs) {
+		this(srcCrs, targetCrs, CoordinateTransformCache.instance().get(srcCrs, targetCrs));
+	}
+
+	private GeometryTransformer(CoordinateSystem srcCrs, CoordinateSystem targetCrs, CoordinateTransform transformer) {
 		this.srcCrs = srcCrs;
 		this.targetCrs = targetCrs;
-		CoordinateTransformFactory coordinateTransformFactory = new CoordinateTransformFactory();
-		CRSFactory crsFactory = new CRSFactory();
-		this.transformer = coordinateTransformFactory.createTransform(
-				crsFactory.createFromName(srcCrs.getCodeWithAuthority()),
-				crsFactory.createFromName(targetCrs.getCodeWithAuthority()));
+		this.transformer = transformer;
+	}
+
+	/**
+	 * Creates a transformer with a transformation which is not shared with other
+	 * transformers, so transformers used by different threads do not wait for each other.
+	 * @param srcCrs source crs, never <code>null</code>
+	 * @param targetCrs target crs, never <code>null</code>
+	 * @return the transformer, never <code>null</code>
+	 */
+	public static GeometryTransformer createUnshared(CoordinateSystem srcCrs, CoordinateSystem targetCrs) {
+		return new GeometryTransformer(srcCrs, targetCrs,
+				CoordinateTransformCache.instance().create(srcCrs, targetCrs));
 	}
 
 	/**
@@ -66,11 +82,49 @@ public class GeometryTransformer {
 	public BBox transform(BBox bbox) {
 		if (srcCrs.equals(targetCrs))
 			return bbox;
-		Coordinate min = new Coordinate(bbox.getMinX(), bbox.getMinY());
-		Coordinate max = new Coordinate(bbox.getMaxX(), bbox.getMaxY());
-		Coordinate transformedMin = transform(min);
-		Coordinate transformedMax = transform(max);
-		return new BBox(transformedMin.x, transformedMin.y, transformedMax.x, transformedMax.y, targetCrs);
+		double[] ordinates = { bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY() };
+		transform(ordinates, 2);
+		return new BBox(ordinates[0], ordinates[1], ordinates[2], ordinates[3], targetCrs);
+	}
+
+	/**
+	 * Transforms the envelope of a bbox. Unlike {@link #transform(BBox)}, which
+	 * transforms the corners only, the edges are densified before the transformation, so
+	 * the returned bbox contains the whole area of the passed bbox, e.g. if the edges are
+	 * curved in a projected crs.
+	 * @param bbox the bbox to transform, never <code>null</code>
+	 * @return the envelope of the transformed edges (or the same bbox if srcCrs and
+	 * targetCrs are the same), never <code>null</code>
+	 */
+	public BBox transformEnvelope(BBox bbox) {
+		if (srcCrs.equals(targetCrs))
+			return bbox;
+		double width = bbox.getMaxX() - bbox.getMinX();
+		double height = bbox.getMaxY() - bbox.getMinY();
+		double[] ordinates = new double[4 * ENVELOPE_SEGMENTS * 2];
+		int offset = 0;
+		for (int segment = 0; segment < ENVELOPE_SEGMENTS; segment++) {
+			double fraction = (double) segment / ENVELOPE_SEGMENTS;
+			offset = put(ordinates, offset, bbox.getMinX() + fraction * width, bbox.getMinY());
+			offset = put(ordinates, offset, bbox.getMaxX(), bbox.getMinY() + fraction * height);
+			offset = put(ordinates, offset, bbox.getMaxX() - fraction * width, bbox.getMaxY());
+			offset = put(ordinates, offset, bbox.getMinX(), bbox.getMaxY() - fraction * height);
+		}
+		transform(ordinates, 2);
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int index = 0; index < ordinates.length; index += 2) {
+			// points outside the area of use of the target crs may not be transformable
+			if (!Double.isFinite(ordinates[index]) || !Double.isFinite(ordinates[index + 1]))
+				continue;
+			minX = Math.min(minX, ordinates[index]);
+			minY = Math.min(minY, ordinates[index + 1]);
+			maxX = Math.max(maxX, ordinates[index]);
+			maxY = Math.max(maxY, ordinates[index + 1]);
+		}
+		return new BBox(minX, minY, maxX, maxY, targetCrs);
 	}
 
 	/**
@@ -106,9 +160,7 @@ public class GeometryTransformer {
 	 * @return a {@link org.locationtech.jts.geom.Point} object
 	 */
 	public Point transform(Point geometryToTransform) {
-		Coordinate coordinate = geometryToTransform.getCoordinate();
-		Coordinate transformedCoordinate = transform(coordinate);
-		return geometryFactory.createPoint(transformedCoordinate);
+		return geometryFactory.createPoint(transform(geometryToTransform.getCoordinateSequence()));
 	}
 
 	/**
@@ -119,9 +171,7 @@ public class GeometryTransformer {
 	 * @return a {@link org.locationtech.jts.geom.LineString} object
 	 */
 	public LineString transform(LineString geometryToTransform) {
-		Coordinate[] coordinates = geometryToTransform.getCoordinates();
-		Coordinate[] transformedCoordinates = transform(coordinates);
-		return geometryFactory.createLineString(transformedCoordinates);
+		return geometryFactory.createLineString(transform(geometryToTransform.getCoordinateSequence()));
 	}
 
 	/**
@@ -132,14 +182,13 @@ public class GeometryTransformer {
 	 * @return a {@link org.locationtech.jts.geom.Polygon} object
 	 */
 	public Polygon transform(Polygon geometryToTransform) {
-		Coordinate[] coordinatesExteriorRing = geometryToTransform.getExteriorRing().getCoordinates();
-		Coordinate[] transformedCoordinatesExteriorRing = transform(coordinatesExteriorRing);
-		LinearRing exteriorRing = geometryFactory.createLinearRing(transformedCoordinatesExteriorRing);
+		LinearRing exteriorRing = geometryFactory
+			.createLinearRing(transform(geometryToTransform.getExteriorRing().getCoordinateSequence()));
 		LinearRing[] interiorRings = new LinearRing[geometryToTransform.getNumInteriorRing()];
 		for (int numInteriorRing = 0; numInteriorRing < geometryToTransform.getNumInteriorRing(); numInteriorRing++) {
 			LinearRing interiorRingN = geometryToTransform.getInteriorRingN(numInteriorRing);
-			Coordinate[] transformedCoordinatesInteriorRingN = transform(interiorRingN.getCoordinates());
-			interiorRings[numInteriorRing] = geometryFactory.createLinearRing(transformedCoordinatesInteriorRingN);
+			interiorRings[numInteriorRing] = geometryFactory
+				.createLinearRing(transform(interiorRingN.getCoordinateSequence()));
 		}
 		return geometryFactory.createPolygon(exteriorRing, interiorRings);
 	}
@@ -215,18 +264,60 @@ public class GeometryTransformer {
 		return geometryFactory.createMultiPolygon(polygons);
 	}
 
-	private Coordinate[] transform(Coordinate[] coordinates) {
-		List<Coordinate> transformedCoordinates = Arrays.stream(coordinates)
-			.map(coord -> transform(coord))
-			.collect(Collectors.toList());
-		return transformedCoordinates.toArray(new Coordinate[transformedCoordinates.size()]);
+	/**
+	 * Transforms the coordinates of a packed array in place.
+	 * @param ordinates the ordinates of the coordinates (x1, y1[, z1], x2, y2[, z2],
+	 * ...), never <code>null</code>
+	 * @param dimension the number of ordinates per coordinate, the third ordinate is
+	 * transformed as z value if the dimension is 3 or more
+	 */
+	public void transform(double[] ordinates, int dimension) {
+		transform(ordinates, dimension, dimension >= 3);
 	}
 
-	private Coordinate transform(Coordinate coord) {
-		ProjCoordinate srcCoordinate = new ProjCoordinate(coord.x, coord.y, coord.z);
+	private static int put(double[] ordinates, int offset, double x, double y) {
+		ordinates[offset] = x;
+		ordinates[offset + 1] = y;
+		return offset + 2;
+	}
+
+	private CoordinateSequence transform(CoordinateSequence sequence) {
+		int dimension = sequence.getDimension();
+		int measures = sequence.getMeasures();
+		double[] ordinates = new double[sequence.size() * dimension];
+		for (int index = 0, offset = 0; index < sequence.size(); index++) {
+			for (int ordinateIndex = 0; ordinateIndex < dimension; ordinateIndex++)
+				ordinates[offset++] = sequence.getOrdinate(index, ordinateIndex);
+		}
+		transform(ordinates, dimension, dimension - measures >= 3);
+		return new PackedCoordinateSequence.Double(ordinates, dimension, measures);
+	}
+
+	private void transform(double[] ordinates, int dimension, boolean hasZ) {
+		if (srcCrs.equals(targetCrs))
+			return;
+		FlightRecorderEvents.CrsTransformEvent event = FlightRecorderEvents
+			.begin(FlightRecorderEvents.CrsTransformEvent::new);
+		ProjCoordinate srcCoordinate = new ProjCoordinate();
 		ProjCoordinate targetCoordinate = new ProjCoordinate();
-		transformer.transform(srcCoordinate, targetCoordinate);
-		return new Coordinate(targetCoordinate.x, targetCoordinate.y, targetCoordinate.z);
+		// the transformation is shared by all transformers of the same crs pair
+		synchronized (transformer) {
+			for (int offset = 0; offset + dimension <= ordinates.length; offset += dimension) {
+				srcCoordinate.setValue(ordinates[offset], ordinates[offset + 1],
+						hasZ ? ordinates[offset + 2] : Double.NaN);
+				transformer.transform(srcCoordinate, targetCoordinate);
+				ordinates[offset] = targetCoordinate.x;
+				ordinates[offset + 1] = targetCoordinate.y;
+				if (hasZ)
+					ordinates[offset + 2] = targetCoordinate.z;
+			}
+		}
+		if (event != null) {
+			event.sourceCrs = srcCrs.getCode();
+			event.targetCrs = targetCrs.getCode();
+			event.coordinates = ordinates.length / dimension;
+			event.commit();
+		}
 	}
 
 }
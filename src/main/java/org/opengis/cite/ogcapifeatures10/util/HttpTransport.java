@@ -0,0 +1,255 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Suite-scoped HTTP transport shared by all requests issued during a test run.
+ *
+ * <p>
+ * All requests are sent through one Apache HttpClient instance backed by a pooling
+ * connection manager: connections are kept alive and reused, the number of connections
+ * per host is limited and, as a single SSL context is used, TLS sessions are resumed
+ * instead of negotiated again for every request. RestAssured, which only accepts the
+ * deprecated client API, is passed an adapter executing its requests with the pooled
+ * client. A request waiting longer than a minute for a connection of the exhausted pool
+ * fails.
+ * </p>
+ *
+ * <p>
+ * The transport is created by the
+ * {@link org.opengis.cite.ogcapifeatures10.listener.SuiteFixtureListener} when the suite
+ * starts, passed to the tests in the suite attribute
+ * {@link org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute#HTTP_TRANSPORT} and
+ * shut down when the suite finishes.
+ * </p>
+ *
+ * <p>
+ * Identical GET requests are served once per run by the {@link ResponseCache} of the
+ * transport.
+ * </p>
+ *
+ * <p>
+ * The latency and throughput of the requests are recorded in the {@link RequestMetrics}
+ * of the transport. The time to first byte is marked by a response interceptor of the
+ * pooled client.
+ * </p>
+ *
+ * <p>
+ * The {@link ConcurrencyLimiter} of the transport adapts the number of requests in flight
+ * per host to the load of the server, starting at the maximum number of connections per
+ * host. Idempotent requests failing because of transient transport errors are retried by
+ * the {@link RetryHandler} of the transport, below RestAssured.
+ * </p>
+ */
+public class HttpTransport {
+
+	/** Constant <code>DEFAULT_MAX_CONNECTIONS=40</code> */
+	public static final int DEFAULT_MAX_CONNECTIONS = 40;
+
+	/** Constant <code>DEFAULT_MAX_CONNECTIONS_PER_HOST=10</code> */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 10;
+
+	private static final long CONNECTION_TIME_TO_LIVE_SECONDS = 60;
+
+	private static final int CONNECTION_REQUEST_TIMEOUT_MILLIS = 60000;
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	private final CloseableHttpClient httpClient;
+
+	private final RestAssuredConfig restAssuredConfig;
+
+	private final ResponseCache responseCache;
+
+	private final RequestMetrics requestMetrics = new RequestMetrics();
+
+	private final ConcurrencyLimiter concurrencyLimiter;
+
+	private final RetryHandler retryHandler;
+
+	/**
+	 * Creates a new transport with a connection pool of the passed size.
+	 * @param maxConnections the maximum number of connections in the pool
+	 * @param maxConnectionsPerHost the maximum number of connections to a single host
+	 */
+	public HttpTransport(int maxConnections, int maxConnectionsPerHost) {
+		this(maxConnections, maxConnectionsPerHost, ResponseCache.DEFAULT_MAX_SIZE_BYTES);
+	}
+
+	/**
+	 * Creates a new transport with a connection pool and a response cache of the passed
+	 * sizes.
+	 * @param maxConnections the maximum number of connections in the pool
+	 * @param maxConnectionsPerHost the maximum number of connections to a single host
+	 * @param responseCacheSize the maximum size of the cached response bodies in bytes,
+	 * if &lt;= 0 no responses are cached
+	 */
+	public HttpTransport(int maxConnections, int maxConnectionsPerHost, long responseCacheSize) {
+		this(maxConnections, maxConnectionsPerHost, responseCacheSize, RetryHandler.DEFAULT_MAX_ATTEMPTS,
+				RetryHandler.DEFAULT_BASE_DELAY_MILLIS);
+	}
+
+	/**
+	 * Creates a new transport with a connection pool and a response cache of the passed
+	 * sizes and the passed retries.
+	 * @param maxConnections the maximum number of connections in the pool
+	 * @param maxConnectionsPerHost the maximum number of connections to a single host
+	 * @param responseCacheSize the maximum size of the cached response bodies in bytes,
+	 * if &lt;= 0 no responses are cached
+	 * @param maxAttempts the maximum number of attempts per request, 1 disables retries
+	 * @param baseRetryDelayMillis the delay before the first retry in milliseconds
+	 */
+	HttpTransport(int maxConnections, int maxConnectionsPerHost, long responseCacheSize, int maxAttempts,
+			long baseRetryDelayMillis) {
+		this.responseCache = new ResponseCache(responseCacheSize);
+		this.connectionManager = new PoolingHttpClientConnectionManager(
+				RegistryBuilder.<ConnectionSocketFactory>create()
+					.register("http", PlainConnectionSocketFactory.getSocketFactory())
+					.register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+					.build(),
+				null, null, null, CONNECTION_TIME_TO_LIVE_SECONDS, TimeUnit.SECONDS);
+		this.connectionManager.setMaxTotal(maxConnections);
+		this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+		HttpResponseInterceptor headersReceived = (response, context) -> RequestMetrics.markHeadersReceived();
+		this.httpClient = HttpClientBuilder.create()
+			.setConnectionManager(connectionManager)
+			.setConnectionManagerShared(true)
+			.setDefaultRequestConfig(
+					RequestConfig.custom().setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MILLIS).build())
+			.disableContentCompression()
+			.disableAutomaticRetries()
+			.addInterceptorLast(headersReceived)
+			.build();
+		this.concurrencyLimiter = new ConcurrencyLimiter(maxConnectionsPerHost);
+		this.retryHandler = new RetryHandler(maxAttempts, baseRetryDelayMillis, concurrencyLimiter);
+		RestAssuredClientAdapter restAssuredClient = new RestAssuredClientAdapter(httpClient, retryHandler);
+		HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+			.httpClientFactory(() -> restAssuredClient)
+			.reuseHttpClientInstance();
+		this.restAssuredConfig = RestAssuredConfig.newConfig().httpClient(httpClientConfig);
+	}
+
+	/**
+	 * Creates a new request specification sending the request through this transport.
+	 * @return a new {@link io.restassured.specification.RequestSpecification}, never
+	 * <code>null</code>
+	 */
+	public RequestSpecification given() {
+		return RestAssured.given().config(restAssuredConfig);
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>restAssuredConfig</code>.
+	 * </p>
+	 * @return the RestAssured configuration using the pooled client, never
+	 * <code>null</code>
+	 */
+	public RestAssuredConfig getRestAssuredConfig() {
+		return restAssuredConfig;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>responseCache</code>.
+	 * </p>
+	 * @return the cache of the responses, must be added as last filter to a request to be
+	 * applied, never <code>null</code>
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>concurrencyLimiter</code>.
+	 * </p>
+	 * @return the limiter of the requests in flight, must be added as filter to a request
+	 * to be applied, never <code>null</code>
+	 */
+	public ConcurrencyLimiter getConcurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>retryHandler</code>.
+	 * </p>
+	 * @return the handler retrying the requests sent through this transport, never
+	 * <code>null</code>
+	 */
+	public RetryHandler getRetryHandler() {
+		return retryHandler;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>requestMetrics</code>.
+	 * </p>
+	 * @return the metrics of the requests sent through this transport, never
+	 * <code>null</code>
+	 */
+	public RequestMetrics getRequestMetrics() {
+		return requestMetrics;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>httpClient</code>.
+	 * </p>
+	 * @return the pooled client, never <code>null</code>
+	 */
+	public HttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	/**
+	 * @return the current statistics of the connection pool, never <code>null</code>
+	 */
+	public PoolStats getPoolStats() {
+		return connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Closes all connections of the pool and removes all cached responses.
+	 */
+	public void shutdown() {
+		try {
+			httpClient.close();
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not close HTTP client", e);
+		}
+		connectionManager.shutdown();
+		responseCache.clear();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		PoolStats stats = getPoolStats();
+		return String.format("HTTP connection pool: %d leased, %d available, %d pending (max %d, max per host %d)",
+				stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax(),
+				connectionManager.getDefaultMaxPerRoute());
+	}
+
+}
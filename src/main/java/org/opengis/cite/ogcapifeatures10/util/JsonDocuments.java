@@ -0,0 +1,42 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.HashMap;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * Parsed JSON documents by key, e.g. the collection responses shared by the tests as a
+ * suite attribute.
+ *
+ * <p>
+ * The tree parsed by a {@link JsonPath} is not accessible. The byte length of the
+ * original JSON is recorded when a response is added, so the heap retained by the
+ * documents can be estimated without traversing them.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ */
+public class JsonDocuments<K> extends HashMap<K, JsonPath> {
+
+	private static final long serialVersionUID = 1L;
+
+	private long byteLength;
+
+	/**
+	 * Adds the parsed body of a response.
+	 * @param key the key of the document, never <code>null</code>
+	 * @param parsedResponse the response, never <code>null</code>
+	 */
+	public void put(K key, ParsedResponse parsedResponse) {
+		put(key, parsedResponse.jsonPath());
+		byteLength += parsedResponse.getResponse().asByteArray().length;
+	}
+
+	/**
+	 * @return the summed byte length of the original JSON of all added responses
+	 */
+	public long getByteLength() {
+		return byteLength;
+	}
+
+}
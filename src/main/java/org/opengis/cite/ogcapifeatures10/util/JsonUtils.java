@@ -1,7 +1,5 @@
 package org.opengis.cite.ogcapifeatures10.util;
 
-import static io.restassured.RestAssured.given;
-import static io.restassured.http.Method.GET;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
 
@@ -17,16 +15,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
-import org.json.simple.JSONObject;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.ParseException;
-import org.locationtech.jts.io.geojson.GeoJsonReader;
-import org.opengis.cite.ogcapifeatures10.OgcApiFeatures10;
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
 
 import io.restassured.path.json.JsonPath;
-import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 /**
@@ -395,59 +390,25 @@ public class JsonUtils {
 	}
 
 	/**
-	 * Collects the number of all returned features by iterating over all 'next' links and
-	 * summarizing the size of features in 'features' array property.
+	 * Collects the number of all returned features by iterating over all 'next' links,
+	 * the pages are requested with the passed request factory.
+	 * @param requests creates the request of each page, e.g. with the filters of the test
+	 * fixture, may be <code>null</code> to send them with the default client of
+	 * RestAssured
+	 * @param requestExecutor the executor requesting the next page, may be
+	 * <code>null</code> to request the pages sequentially
 	 * @param jsonPath the initial collection, never <code>null</code>
 	 * @param maximumLimit the limit parameter value to use, if &lt;= 0 the parameter is
 	 * omitted
+	 * @param pagingLimit the maximum number of 'next' links to follow, if &lt; 0 all
+	 * links are followed
 	 * @return the number of all returned features
 	 * @throws java.net.URISyntaxException if the creation of a uri fails
 	 */
-	public static int collectNumberOfAllReturnedFeatures(JsonPath jsonPath, int maximumLimit)
+	public static int collectNumberOfAllReturnedFeatures(Supplier<RequestSpecification> requests,
+			RequestExecutor requestExecutor, JsonPath jsonPath, int maximumLimit, int pagingLimit)
 			throws URISyntaxException {
-		int numberOfAllReturnedFeatures = parseAsList("features", jsonPath).size();
-		Map<String, Object> nextLink = findLinkByRel(jsonPath.getList("links"), "next");
-		int count = 0;
-		while (nextLink != null && (count <= OgcApiFeatures10.PAGING_LIMIT)) {
-			String nextUrl = (String) nextLink.get("href");
-			URI uri = new URI(nextUrl);
-
-			RequestSpecification accept = given().log().all().baseUri(nextUrl).accept(GEOJSON_MIME_TYPE);
-			String[] pairs = uri.getQuery().split("&");
-			String limitParamFromUri = null;
-			for (String pair : pairs) {
-				int idx = pair.indexOf("=");
-				String key = pair.substring(0, idx);
-				String value = pair.substring(idx + 1);
-				if ("limit".equals(key)) {
-					limitParamFromUri = value;
-				}
-				else {
-					accept.param(key, value);
-				}
-			}
-			if (maximumLimit > 0) {
-				accept.param("limit", maximumLimit);
-			}
-			else if (limitParamFromUri != null) {
-				accept.param("limit", limitParamFromUri);
-			}
-
-			Response response = accept.when().request(GET);
-			response.then().statusCode(200);
-
-			JsonPath nextJsonPath = response.jsonPath();
-			int features = parseAsList("features", nextJsonPath).size();
-			if (features > 0) {
-				numberOfAllReturnedFeatures += features;
-				nextLink = findLinkByRel(nextJsonPath.getList("links"), "next");
-			}
-			else {
-				nextLink = null;
-			}
-			count++;
-		}
-		return numberOfAllReturnedFeatures;
+		return new FeaturesPager(requests, requestExecutor, maximumLimit, pagingLimit).countAllFeatures(jsonPath);
 	}
 
 	/**
@@ -519,12 +480,23 @@ public class JsonUtils {
 		Map<String, Object> geometry = (Map<String, Object>) feature.get("geometry");
 		if (geometry == null)
 			return null;
-		JSONObject jsonObject = new JSONObject(geometry);
-		String geomAsString = jsonObject.toJSONString();
-		GeoJsonReader geoJsonReader = new GeoJsonReader();
-		Geometry parsedGeometry = geoJsonReader.read(geomAsString);
-		parsedGeometry.setSRID(crs.getSrid());
-		return parsedGeometry;
+		FlightRecorderEvents.GeometryParseEvent event = FlightRecorderEvents
+			.begin(FlightRecorderEvents.GeometryParseEvent::new);
+		try {
+			Geometry parsedGeometry = new GeoJsonGeometryFactory(crs.getSrid()).create(geometry);
+			if (event != null) {
+				event.geometryType = parsedGeometry.getGeometryType();
+				event.srid = parsedGeometry.getSRID();
+			}
+			return parsedGeometry;
+		}
+		catch (IllegalArgumentException e) {
+			throw new ParseException(e);
+		}
+		finally {
+			if (event != null)
+				event.commit();
+		}
 	}
 
 	private static String findFeaturesUrlForGeoJson(URI rootUri, List<Object> links) {
@@ -0,0 +1,97 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+/**
+ * Thread-safe histogram of durations in microseconds with a bounded relative error.
+ *
+ * <p>
+ * The values are counted in log-linear buckets like in an HDR histogram: values below
+ * {@value #LINEAR_RANGE} are counted exactly, larger values in buckets with a width of
+ * 1/{@value #SUB_BUCKETS} of their power of two, i.e. the value of a percentile deviates
+ * less than 1.6% from the recorded value. The memory used is independent of the number of
+ * recorded values.
+ * </p>
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 64;
+
+	private static final int LINEAR_RANGE = 2 * SUB_BUCKETS;
+
+	private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(LINEAR_RANGE);
+
+	private final long[] counts = new long[bucketIndex(Long.MAX_VALUE) + 1];
+
+	private long totalCount;
+
+	private long sum;
+
+	private long max;
+
+	/**
+	 * Records a duration.
+	 * @param micros the duration in microseconds, negative durations are recorded as 0
+	 */
+	public synchronized void record(long micros) {
+		long value = Math.max(0, micros);
+		counts[bucketIndex(value)]++;
+		totalCount++;
+		sum += value;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * @return the number of recorded durations
+	 */
+	public synchronized long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return the largest recorded duration in microseconds, 0 if empty
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return the mean of the recorded durations in microseconds, 0 if empty
+	 */
+	public synchronized double getMean() {
+		return totalCount == 0 ? 0 : (double) sum / totalCount;
+	}
+
+	/**
+	 * Returns the duration at the passed percentile.
+	 * @param percentile the percentile between 0 and 100
+	 * @return the duration in microseconds not exceeded by the passed percentage of the
+	 * recorded durations, 0 if empty
+	 */
+	public synchronized long getValueAtPercentile(double percentile) {
+		if (totalCount == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * totalCount));
+		long seen = 0;
+		for (int index = 0; index < counts.length; index++) {
+			seen += counts[index];
+			if (seen >= rank)
+				return Math.min(max, highestValueInBucket(index));
+		}
+		return max;
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_RANGE)
+			return (int) value;
+		int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKETS + (int) (value >>> shift);
+	}
+
+	static long highestValueInBucket(int index) {
+		if (index < LINEAR_RANGE)
+			return index;
+		int shift = index / SUB_BUCKETS - 1;
+		long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,135 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.restassured.internal.path.json.JSONAssertion;
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.path.json.config.JsonPathConfig.NumberReturnType;
+import io.restassured.response.Response;
+
+/**
+ * Holds a response and the documents parsed from its body.
+ *
+ * <p>
+ * {@link Response#jsonPath()} keeps the body as text and parses it again on each lookup.
+ * Tests sharing a response use this holder instead: the body is parsed once into a tree
+ * of maps and lists, and the returned {@link JsonPath} evaluates all lookups on this
+ * tree. As the number return type is applied while parsing, one tree is kept per
+ * {@link NumberReturnType}.
+ * </p>
+ */
+public class ParsedResponse {
+
+	private static final JsonPathConfig DOUBLE_NUMBERS = JsonPathConfig.jsonPathConfig()
+		.numberReturnType(NumberReturnType.DOUBLE);
+
+	private final Response response;
+
+	private final Map<NumberReturnType, JsonPath> jsonPaths = new EnumMap<>(NumberReturnType.class);
+
+	private int parseCount;
+
+	/**
+	 * @param response the response to hold, never <code>null</code>
+	 */
+	public ParsedResponse(Response response) {
+		this.response = response;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>response</code>.
+	 * </p>
+	 * @return the response, never <code>null</code>
+	 */
+	public Response getResponse() {
+		return response;
+	}
+
+	/**
+	 * Returns the body parsed with decimal numbers returned as {@link Double}, as
+	 * configured for the requests of the test fixtures. The body is parsed on the first
+	 * call only, lookups on the returned {@link JsonPath} do not parse it again.
+	 * @return the parsed body, never <code>null</code>
+	 */
+	public JsonPath jsonPath() {
+		return jsonPath(DOUBLE_NUMBERS);
+	}
+
+	/**
+	 * Returns the body parsed with the passed configuration. The body is parsed on the
+	 * first call with the number return type of the configuration only.
+	 * @param config the configuration used to parse the body, never <code>null</code>
+	 * @return the parsed body, never <code>null</code>
+	 */
+	public synchronized JsonPath jsonPath(JsonPathConfig config) {
+		JsonPath jsonPath = jsonPaths.get(config.numberReturnType());
+		if (jsonPath == null) {
+			FlightRecorderEvents.JsonParseEvent event = FlightRecorderEvents
+				.begin(FlightRecorderEvents.JsonParseEvent::new);
+			Object root = response.jsonPath(config).get();
+			jsonPath = new ParsedJsonPath(response.asString(), root);
+			if (event != null) {
+				event.contentType = response.getContentType();
+				event.numberReturnType = config.numberReturnType().name();
+				event.commit();
+			}
+			parseCount++;
+			jsonPaths.put(config.numberReturnType(), jsonPath);
+		}
+		return jsonPath;
+	}
+
+	/**
+	 * @return the number of times the body was parsed, once per number return type
+	 */
+	public synchronized int getParseCount() {
+		return parseCount;
+	}
+
+	/**
+	 * A {@link JsonPath} evaluating the lookups on a parsed tree instead of parsing the
+	 * text again. Typed getters like {@link #getList(String)} delegate to
+	 * {@link #get(String)}. The text is kept for {@link #prettify()} and for copies like
+	 * {@link #using(JsonPathConfig)}, which parse the text again with their own
+	 * configuration.
+	 */
+	private static class ParsedJsonPath extends JsonPath {
+
+		private final Object root;
+
+		private ParsedJsonPath(String json, Object root) {
+			super(json);
+			this.root = root;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(String path) {
+			return (T) assertion(path).getResult(root, null);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T getJsonObject(String path) {
+			return (T) assertion(path).getAsJsonObject(root);
+		}
+
+		@Override
+		public JsonPath setRootPath(String rootPath) {
+			throw new UnsupportedOperationException("The root path of a parsed response cannot be changed");
+		}
+
+		private static JSONAssertion assertion(String path) {
+			JSONAssertion assertion = new JSONAssertion();
+			assertion.setKey(path);
+			assertion.setParams(Collections.emptyMap());
+			return assertion;
+		}
+
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Index of the proj4 definitions bundled in <code>/proj4/nad/</code>.
+ *
+ * <p>
+ * proj4j scans the definition file of the authority line by line each time a coordinate
+ * reference system is created by name. The file of an authority is read once on the first
+ * lookup instead, the parameters are kept by code.
+ * </p>
+ */
+public final class Proj4Definitions {
+
+	private static final String DEFINITIONS_PATH = "/proj4/nad/";
+
+	private static final Map<String, Map<String, String>> DEFINITIONS_BY_AUTHORITY = new ConcurrentHashMap<>();
+
+	private Proj4Definitions() {
+	}
+
+	/**
+	 * Returns the proj4 parameters of the passed coordinate reference system.
+	 * @param codeWithAuthority the code with the authority, e.g. EPSG:4326, never
+	 * <code>null</code>
+	 * @return the parameters, e.g. "+proj=longlat +datum=WGS84 +no_defs",
+	 * <code>null</code> if the definition is not bundled
+	 */
+	public static String getParameters(String codeWithAuthority) {
+		int separator = codeWithAuthority.indexOf(':');
+		if (separator < 0)
+			return null;
+		String authority = codeWithAuthority.substring(0, separator).toLowerCase(Locale.ROOT);
+		String code = codeWithAuthority.substring(separator + 1);
+		return DEFINITIONS_BY_AUTHORITY.computeIfAbsent(authority, Proj4Definitions::readDefinitions).get(code);
+	}
+
+	/**
+	 * Parses the lines <code>&lt;code&gt; parameters &lt;&gt;</code> of a definition
+	 * file, lines starting with '#' are comments.
+	 * @param in the content of the definition file, never <code>null</code>
+	 * @return the parameters by code, never <code>null</code>
+	 * @throws IOException if the content could not be read
+	 */
+	static Map<String, String> parseDefinitions(InputStream in) throws IOException {
+		Map<String, String> definitions = new HashMap<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (!line.startsWith("<"))
+				continue;
+			int endOfCode = line.indexOf('>');
+			int endOfParameters = line.lastIndexOf("<>");
+			if (endOfCode < 0 || endOfParameters <= endOfCode)
+				continue;
+			String code = line.substring(1, endOfCode);
+			definitions.put(code, line.substring(endOfCode + 1, endOfParameters).trim());
+		}
+		return definitions;
+	}
+
+	private static Map<String, String> readDefinitions(String authority) {
+		try (InputStream in = Proj4Definitions.class.getResourceAsStream(DEFINITIONS_PATH + authority)) {
+			if (in == null)
+				return Collections.emptyMap();
+			return parseDefinitions(in);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read proj4 definitions of authority " + authority, e);
+			return Collections.emptyMap();
+		}
+	}
+
+}
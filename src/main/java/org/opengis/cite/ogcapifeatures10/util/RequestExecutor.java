@@ -0,0 +1,198 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+/**
+ * Executes independent requests, either sequentially in the calling thread or
+ * concurrently.
+ *
+ * <p>
+ * The concurrent executor starts a virtual thread per task if the runtime supports them
+ * (Java 21 or later), so that hundreds of blocking requests in flight occupy only a few
+ * platform threads. On older runtimes a small pool of platform threads is used instead.
+ * The number of open connections is limited by the {@link HttpTransport} in both cases.
+ * </p>
+ *
+ * <p>
+ * The executor of a test run is created by the
+ * {@link org.opengis.cite.ogcapifeatures10.listener.SuiteFixtureListener} when the suite
+ * starts and stored as the suite attribute
+ * {@link org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute#REQUEST_EXECUTOR}.
+ * The sequential executor is the default.
+ * </p>
+ */
+public class RequestExecutor {
+
+	/** Constant <code>FALLBACK_THREAD_COUNT=10</code> */
+	public static final int FALLBACK_THREAD_COUNT = HttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+	private final ExecutorService executorService;
+
+	private ExecutorService backgroundService;
+
+	private RequestExecutor(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Creates an executor running all tasks sequentially in the calling thread.
+	 * @return the sequential executor, never <code>null</code>
+	 */
+	public static RequestExecutor sequential() {
+		return new RequestExecutor(null);
+	}
+
+	/**
+	 * Creates an executor running each task in a virtual thread. If virtual threads are
+	 * not supported by the runtime, a pool of {@link #FALLBACK_THREAD_COUNT} platform
+	 * threads is used.
+	 * @return the concurrent executor, never <code>null</code>
+	 */
+	public static RequestExecutor concurrent() {
+		return new RequestExecutor(createVirtualThreadExecutor());
+	}
+
+	/**
+	 * @return <code>true</code> if the tasks are executed concurrently,
+	 * <code>false</code> if they are executed sequentially in the calling thread
+	 */
+	public boolean isConcurrent() {
+		return executorService != null;
+	}
+
+	/**
+	 * Executes all tasks and waits until all of them are completed.
+	 * @param tasks the tasks to execute, never <code>null</code>
+	 * @param <T> the type of the results
+	 * @return the results in the order of the tasks, never <code>null</code>
+	 * @throws RuntimeException if a task failed, the exception thrown by the first
+	 * failing task (wrapped if it is a checked exception)
+	 */
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		if (!isConcurrent()) {
+			for (Callable<T> task : tasks) {
+				results.add(call(task));
+			}
+			return results;
+		}
+		try {
+			for (Future<T> future : executorService.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for requests", e);
+		}
+		catch (ExecutionException e) {
+			throw rethrow(e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Submits a task to be executed in the background while the calling thread continues,
+	 * e.g. to prefetch the next page of a response. The sequential executor uses a single
+	 * background thread, so at most one request is executed ahead of the calling thread.
+	 * @param task the task to execute, never <code>null</code>
+	 * @param <T> the type of the result
+	 * @return the future result of the task, never <code>null</code>
+	 */
+	public <T> Future<T> submit(Callable<T> task) {
+		if (isConcurrent())
+			return executorService.submit(task);
+		return getBackgroundService().submit(task);
+	}
+
+	/**
+	 * Waits for the result of a task submitted to this executor.
+	 * @param future the future result of the task, never <code>null</code>
+	 * @param <T> the type of the result
+	 * @return the result of the task
+	 * @throws RuntimeException if the task failed, the exception thrown by the task
+	 * (wrapped if it is a checked exception)
+	 */
+	public static <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for request", e);
+		}
+		catch (ExecutionException e) {
+			throw rethrow(e.getCause());
+		}
+	}
+
+	/**
+	 * Stops the threads of this executor.
+	 */
+	public void shutdown() {
+		if (executorService != null)
+			executorService.shutdownNow();
+		synchronized (this) {
+			if (backgroundService != null)
+				backgroundService.shutdownNow();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return isConcurrent() ? "concurrent request executor" : "sequential request executor";
+	}
+
+	private synchronized ExecutorService getBackgroundService() {
+		if (backgroundService == null)
+			backgroundService = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "ets-request-prefetch");
+				thread.setDaemon(true);
+				return thread;
+			});
+		return backgroundService;
+	}
+
+	private static <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		}
+		catch (Exception e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable cause) {
+		if (cause instanceof Error)
+			throw (Error) cause;
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		return new RuntimeException(cause);
+	}
+
+	private static ExecutorService createVirtualThreadExecutor() {
+		try {
+			Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factoryMethod.invoke(null);
+		}
+		catch (ReflectiveOperationException e) {
+			TestSuiteLogger.log(Level.CONFIG, "Virtual threads are not supported, requests are executed by "
+					+ FALLBACK_THREAD_COUNT + " platform threads");
+			return Executors.newFixedThreadPool(FALLBACK_THREAD_COUNT, runnable -> {
+				Thread thread = new Thread(runnable, "ets-request-executor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+}
@@ -0,0 +1,339 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency, time to first byte, body size and status of the requests of a test run, by
+ * {@link Endpoint}.
+ *
+ * <p>
+ * The metrics of a run are kept by the {@link HttpTransport} and recorded by the
+ * {@link RequestMetricsFilter}. Responses served by the {@link ResponseCache} are only
+ * counted. The responses received by a test from the server are additionally summarized
+ * in the {@link TestMetrics} of the test, which are bound to the thread executing the
+ * test.
+ * </p>
+ */
+public class RequestMetrics {
+
+	/**
+	 * Classes of the requested resources.
+	 */
+	public enum Endpoint {
+
+		/** The landing page. */
+		LANDING_PAGE,
+
+		/** Resource /conformance. */
+		CONFORMANCE,
+
+		/** Resource /api. */
+		API,
+
+		/** Resource /collections. */
+		COLLECTIONS,
+
+		/** Resource /collections/{collectionId}. */
+		COLLECTION,
+
+		/** Resource /collections/{collectionId}/items. */
+		ITEMS,
+
+		/** Resource /collections/{collectionId}/items/{featureId}. */
+		ITEM,
+
+		/** Any other resource. */
+		OTHER;
+
+		/**
+		 * Classifies a requested URI.
+		 * @param rootUri the URI of the landing page, may be <code>null</code>
+		 * @param requestUri the requested URI, never <code>null</code>
+		 * @return the class of the requested resource, never <code>null</code>
+		 */
+		public static Endpoint of(URI rootUri, URI requestUri) {
+			String path = trimSlashes(requestUri.getPath());
+			String rootPath = rootUri != null ? trimSlashes(rootUri.getPath()) : "";
+			if (path.equals(rootPath))
+				return LANDING_PAGE;
+			String[] segments = path.split("/");
+			int length = segments.length;
+			String last = segments[length - 1];
+			String beforeLast = length > 1 ? segments[length - 2] : null;
+			if ("items".equals(last))
+				return ITEMS;
+			if ("items".equals(beforeLast) && "collections".equals(length > 3 ? segments[length - 4] : null))
+				return ITEM;
+			if ("collections".equals(last))
+				return COLLECTIONS;
+			if ("collections".equals(beforeLast))
+				return COLLECTION;
+			if ("conformance".equals(last))
+				return CONFORMANCE;
+			if ("api".equals(last) || last.startsWith("api."))
+				return API;
+			return OTHER;
+		}
+
+		private static String trimSlashes(String path) {
+			if (path == null)
+				return "";
+			int start = 0;
+			int end = path.length();
+			while (start < end && path.charAt(start) == '/')
+				start++;
+			while (end > start && path.charAt(end - 1) == '/')
+				end--;
+			return path.substring(start, end);
+		}
+
+	}
+
+	private static final ThreadLocal<Long> HEADERS_RECEIVED = new ThreadLocal<>();
+
+	private static final ThreadLocal<TestMetrics> CURRENT_TEST = new ThreadLocal<>();
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final Map<Endpoint, EndpointMetrics> metrics = new EnumMap<>(Endpoint.class);
+
+	private final long startNanos = System.nanoTime();
+
+	/**
+	 * Creates empty metrics.
+	 */
+	public RequestMetrics() {
+		for (Endpoint endpoint : Endpoint.values())
+			metrics.put(endpoint, new EndpointMetrics());
+	}
+
+	/**
+	 * Marks that the headers of a response were received by the current thread. Invoked
+	 * by an interceptor of the HTTP client before the body is read.
+	 */
+	public static void markHeadersReceived() {
+		HEADERS_RECEIVED.set(System.nanoTime());
+	}
+
+	/**
+	 * Removes the mark set by {@link #markHeadersReceived()}.
+	 * @return the time the headers were received by the current thread as
+	 * {@link System#nanoTime()}, <code>null</code> if no response was received
+	 */
+	static Long clearHeadersReceived() {
+		Long headersReceived = HEADERS_RECEIVED.get();
+		HEADERS_RECEIVED.remove();
+		return headersReceived;
+	}
+
+	/**
+	 * Binds new metrics of a test to the current thread.
+	 * @return the metrics of the test, never <code>null</code>
+	 */
+	public static TestMetrics startTest() {
+		TestMetrics testMetrics = new TestMetrics();
+		CURRENT_TEST.set(testMetrics);
+		return testMetrics;
+	}
+
+	/**
+	 * Binds the metrics of a test to the current thread, e.g. to a thread executing
+	 * requests of the test.
+	 * @param testMetrics the metrics of the test, may be <code>null</code> to unbind
+	 */
+	public static void joinTest(TestMetrics testMetrics) {
+		if (testMetrics == null)
+			CURRENT_TEST.remove();
+		else
+			CURRENT_TEST.set(testMetrics);
+	}
+
+	/**
+	 * @return the metrics of the test bound to the current thread, <code>null</code> if
+	 * none is bound
+	 */
+	public static TestMetrics currentTest() {
+		return CURRENT_TEST.get();
+	}
+
+	/**
+	 * Unbinds the metrics of the test from the current thread.
+	 * @return the metrics of the test, <code>null</code> if none was bound
+	 */
+	public static TestMetrics endTest() {
+		TestMetrics testMetrics = CURRENT_TEST.get();
+		CURRENT_TEST.remove();
+		return testMetrics;
+	}
+
+	/**
+	 * Records a response received from the server.
+	 * @param endpoint the class of the requested resource, never <code>null</code>
+	 * @param latencyNanos the duration until the response was read completely
+	 * @param timeToFirstByteNanos the duration until the headers were received, negative
+	 * if unknown
+	 * @param bodySize the number of bytes of the body
+	 * @param statusCode the status code of the response
+	 */
+	public void record(Endpoint endpoint, long latencyNanos, long timeToFirstByteNanos, long bodySize, int statusCode) {
+		metrics.get(endpoint).record(latencyNanos, timeToFirstByteNanos, bodySize, statusCode);
+		TestMetrics testMetrics = CURRENT_TEST.get();
+		if (testMetrics != null)
+			testMetrics.record(endpoint, latencyNanos, bodySize);
+	}
+
+	/**
+	 * Records a response served by the {@link ResponseCache}.
+	 * @param endpoint the class of the requested resource, never <code>null</code>
+	 */
+	public void recordCached(Endpoint endpoint) {
+		metrics.get(endpoint).recordCached();
+	}
+
+	/**
+	 * @param endpoint the class of the requested resource, never <code>null</code>
+	 * @return the latencies of the responses received from the server, never
+	 * <code>null</code>
+	 */
+	public LatencyHistogram getLatency(Endpoint endpoint) {
+		return metrics.get(endpoint).latency;
+	}
+
+	/**
+	 * @param endpoint the class of the requested resource, never <code>null</code>
+	 * @return the times to first byte of the responses received from the server, never
+	 * <code>null</code>
+	 */
+	public LatencyHistogram getTimeToFirstByte(Endpoint endpoint) {
+		return metrics.get(endpoint).timeToFirstByte;
+	}
+
+	/**
+	 * @return the report of all endpoints with at least one request, never
+	 * <code>null</code>
+	 */
+	public String createReport() {
+		double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+		StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.ROOT, "%-12s %8s %8s %10s %10s %10s %10s %10s %10s %12s %8s  %s%n",
+				"endpoint", "requests", "cached", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "ttfb p50",
+				"bytes", "req/s", "status"));
+		long totalRequests = 0;
+		long totalBytes = 0;
+		for (Map.Entry<Endpoint, EndpointMetrics> endpointAndMetrics : metrics.entrySet()) {
+			EndpointMetrics endpointMetrics = endpointAndMetrics.getValue();
+			synchronized (endpointMetrics) {
+				long requests = endpointMetrics.latency.getTotalCount();
+				if (requests == 0 && endpointMetrics.cached == 0)
+					continue;
+				totalRequests += requests;
+				totalBytes += endpointMetrics.bytes;
+				report.append(String.format(Locale.ROOT, "%-12s %8d %8d", endpointAndMetrics.getKey(), requests,
+						endpointMetrics.cached));
+				for (double percentile : PERCENTILES)
+					report.append(String.format(Locale.ROOT, " %10.2f",
+							endpointMetrics.latency.getValueAtPercentile(percentile) / 1000d));
+				report.append(String.format(Locale.ROOT, " %10.2f %10.2f %12d %8.1f  %s%n",
+						endpointMetrics.latency.getMax() / 1000d,
+						endpointMetrics.timeToFirstByte.getValueAtPercentile(50) / 1000d, endpointMetrics.bytes,
+						requests / seconds, endpointMetrics.statusCodes));
+			}
+		}
+		report.append(String.format(Locale.ROOT, "%d requests, %d bytes in %.1f s: %.1f requests/s, %.2f MB/s%n",
+				totalRequests, totalBytes, seconds, totalRequests / seconds, totalBytes / seconds / (1024 * 1024)));
+		return report.toString();
+	}
+
+	private static class EndpointMetrics {
+
+		private final LatencyHistogram latency = new LatencyHistogram();
+
+		private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+
+		private final Map<Integer, Long> statusCodes = new TreeMap<>();
+
+		private long bytes;
+
+		private long cached;
+
+		private synchronized void record(long latencyNanos, long timeToFirstByteNanos, long bodySize, int statusCode) {
+			latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+			if (timeToFirstByteNanos >= 0)
+				timeToFirstByte.record(TimeUnit.NANOSECONDS.toMicros(timeToFirstByteNanos));
+			bytes += bodySize;
+			statusCodes.merge(statusCode, 1L, Long::sum);
+		}
+
+		private synchronized void recordCached() {
+			cached++;
+		}
+
+	}
+
+	/**
+	 * Summary of the requests issued by a single test.
+	 */
+	public static class TestMetrics {
+
+		private final Map<Endpoint, long[]> requests = new EnumMap<>(Endpoint.class);
+
+		private final List<String> retries = new ArrayList<>();
+
+		private synchronized void record(Endpoint endpoint, long latencyNanos, long bodySize) {
+			long[] values = requests.computeIfAbsent(endpoint, e -> new long[4]);
+			values[0]++;
+			values[1] += latencyNanos;
+			values[2] = Math.max(values[2], latencyNanos);
+			values[3] += bodySize;
+		}
+
+		synchronized void recordRetry(String retry) {
+			retries.add(retry);
+		}
+
+		/**
+		 * @return the retries of requests of the test due to transient transport errors,
+		 * see {@link RetryHandler}, never <code>null</code>
+		 */
+		public synchronized List<String> getRetries() {
+			return new ArrayList<>(retries);
+		}
+
+		/**
+		 * @return the number of responses received from the server
+		 */
+		public synchronized long getNumberOfRequests() {
+			long numberOfRequests = 0;
+			for (long[] values : requests.values())
+				numberOfRequests += values[0];
+			return numberOfRequests;
+		}
+
+		/**
+		 * @return the requests by endpoint with their number, mean and maximum latency
+		 * and bytes, never <code>null</code>
+		 */
+		@Override
+		public synchronized String toString() {
+			StringBuilder summary = new StringBuilder();
+			for (Map.Entry<Endpoint, long[]> endpointAndValues : requests.entrySet()) {
+				long[] values = endpointAndValues.getValue();
+				if (summary.length() > 0)
+					summary.append("; ");
+				summary.append(String.format(Locale.ROOT, "%s: %d requests, mean %.1f ms, max %.1f ms, %d bytes",
+						endpointAndValues.getKey(), values[0], values[1] / 1e6 / values[0], values[2] / 1e6,
+						values[3]));
+			}
+			return summary.length() > 0 ? summary.toString() : "no requests";
+		}
+
+	}
+
+}
@@ -0,0 +1,87 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.net.URI;
+
+import org.opengis.cite.ogcapifeatures10.util.RequestMetrics.Endpoint;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records latency, time to first byte, body size and status of each request in the
+ * {@link RequestMetrics} of the run.
+ *
+ * <p>
+ * The filter must be added before the {@link ResponseCache}: a response is considered to
+ * be served by the cache if no response headers were received by the pooled client of the
+ * {@link HttpTransport} while the request was executed.
+ * </p>
+ *
+ * <p>
+ * If enabled, each request is also recorded as Java Flight Recorder event, see
+ * {@link FlightRecorderEvents}.
+ * </p>
+ */
+public class RequestMetricsFilter implements Filter {
+
+	private final RequestMetrics requestMetrics;
+
+	private final URI rootUri;
+
+	/**
+	 * @param requestMetrics the metrics to record the requests in, never
+	 * <code>null</code>
+	 * @param rootUri the URI of the landing page used to classify the requests, may be
+	 * <code>null</code>
+	 */
+	public RequestMetricsFilter(RequestMetrics requestMetrics, URI rootUri) {
+		this.requestMetrics = requestMetrics;
+		this.rootUri = rootUri;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		FlightRecorderEvents.HttpRequestEvent event = FlightRecorderEvents
+			.begin(FlightRecorderEvents.HttpRequestEvent::new);
+		RequestMetrics.clearHeadersReceived();
+		long start = System.nanoTime();
+		Response response = ctx.next(requestSpec, responseSpec);
+		long latency = System.nanoTime() - start;
+		Long headersReceived = RequestMetrics.clearHeadersReceived();
+		Endpoint endpoint = classify(requestSpec.getURI());
+		int bodySize = 0;
+		if (headersReceived == null) {
+			requestMetrics.recordCached(endpoint);
+		}
+		else {
+			byte[] body = response.asByteArray();
+			bodySize = body != null ? body.length : 0;
+			requestMetrics.record(endpoint, latency, headersReceived - start, bodySize, response.getStatusCode());
+		}
+		if (event != null) {
+			event.method = requestSpec.getMethod();
+			event.uri = requestSpec.getURI();
+			event.endpoint = endpoint.name();
+			event.statusCode = response.getStatusCode();
+			event.bodySize = bodySize;
+			event.cached = headersReceived == null;
+			event.commit();
+		}
+		return response;
+	}
+
+	private Endpoint classify(String requestUri) {
+		try {
+			return Endpoint.of(rootUri, URI.create(requestUri));
+		}
+		catch (IllegalArgumentException e) {
+			return Endpoint.OTHER;
+		}
+	}
+
+}
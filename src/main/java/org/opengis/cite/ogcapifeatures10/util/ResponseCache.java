@@ -0,0 +1,210 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Suite-scoped cache of GET responses, used as the last filter of a request.
+ *
+ * <p>
+ * Responses with status code 200 are cached by method, URL, Accept header and query
+ * parameters. Identical requests are served from the cache, the least recently used
+ * responses are evicted if the size of the cached bodies exceeds the maximum size.
+ * </p>
+ *
+ * <p>
+ * Requests filtered by the {@link #refreshing()} filter instead of the cache bypass the
+ * cache: they are sent to the server unchanged, the fresh response replaces the cached
+ * one. Tests evaluating the time of the response (e.g. the <code>timeStamp</code>
+ * property) must use this filter.
+ * </p>
+ */
+public class ResponseCache implements OrderedFilter {
+
+	/** Constant <code>DEFAULT_MAX_SIZE_BYTES=64 * 1024 * 1024</code> */
+	public static final long DEFAULT_MAX_SIZE_BYTES = 64 * 1024 * 1024;
+
+	private final long maxSizeBytes;
+
+	private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long sizeBytes;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong bypasses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	private final OrderedFilter refreshingFilter = new OrderedFilter() {
+
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+				FilterContext ctx) {
+			return ResponseCache.this.filter(requestSpec, responseSpec, ctx, true);
+		}
+
+		@Override
+		public int getOrder() {
+			return ResponseCache.this.getOrder();
+		}
+
+	};
+
+	/**
+	 * Creates a new cache.
+	 * @param maxSizeBytes the maximum size of all cached response bodies in bytes, if
+	 * &lt;= 0 no responses are cached
+	 */
+	public ResponseCache(long maxSizeBytes) {
+		this.maxSizeBytes = maxSizeBytes;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		return filter(requestSpec, responseSpec, ctx, false);
+	}
+
+	/**
+	 * Returns the filter bypassing this cache: GET requests are always sent to the
+	 * server, a fresh response replaces the cached one. Used instead of the cache, the
+	 * request itself is not changed.
+	 * @return the filter, never <code>null</code>
+	 */
+	public OrderedFilter refreshing() {
+		return refreshingFilter;
+	}
+
+	/**
+	 * Cached responses must be served after the messages were captured by the
+	 * {@link CaptureFilter}, but before the {@link ConcurrencyLimiter}.
+	 * @return {@link OrderedFilter#LOWEST_PRECEDENCE} - 2
+	 */
+	@Override
+	public int getOrder() {
+		return LOWEST_PRECEDENCE - 2;
+	}
+
+	/**
+	 * @return the number of requests served from the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of requests not found in the cache
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of requests bypassing the cache
+	 */
+	public long getBypasses() {
+		return bypasses.get();
+	}
+
+	/**
+	 * Removes all cached responses.
+	 */
+	public synchronized void clear() {
+		responses.clear();
+		sizeBytes = 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"HTTP response cache: %d hits, %d misses, %d bypasses, %d evictions (%d responses, %d of %d bytes)",
+				hits.get(), misses.get(), bypasses.get(), evictions.get(), responses.size(), sizeBytes, maxSizeBytes);
+	}
+
+	private Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx, boolean bypass) {
+		if (maxSizeBytes <= 0 || !"GET".equalsIgnoreCase(requestSpec.getMethod()))
+			return ctx.next(requestSpec, responseSpec);
+
+		String key = createKey(requestSpec);
+		if (bypass) {
+			bypasses.incrementAndGet();
+		}
+		else {
+			CachedResponse cachedResponse = get(key);
+			if (cachedResponse != null) {
+				hits.incrementAndGet();
+				return cachedResponse.toResponse();
+			}
+			misses.incrementAndGet();
+		}
+		Response response = ctx.next(requestSpec, responseSpec);
+		if (response.getStatusCode() == 200)
+			put(key, new CachedResponse(response));
+		return response;
+	}
+
+	private synchronized CachedResponse get(String key) {
+		return responses.get(key);
+	}
+
+	private synchronized void put(String key, CachedResponse response) {
+		if (response.sizeBytes > maxSizeBytes)
+			return;
+		CachedResponse previous = responses.put(key, response);
+		if (previous != null)
+			sizeBytes -= previous.sizeBytes;
+		sizeBytes += response.sizeBytes;
+		Iterator<CachedResponse> eldest = responses.values().iterator();
+		while (sizeBytes > maxSizeBytes && eldest.hasNext()) {
+			sizeBytes -= eldest.next().sizeBytes;
+			eldest.remove();
+			evictions.incrementAndGet();
+		}
+	}
+
+	private static String createKey(FilterableRequestSpecification requestSpec) {
+		Map<String, Object> params = new TreeMap<>();
+		params.putAll(requestSpec.getQueryParams());
+		params.putAll(requestSpec.getRequestParams());
+		return requestSpec.getMethod() + " " + requestSpec.getURI() + " " + requestSpec.getHeaders().getValue("Accept")
+				+ " " + params;
+	}
+
+	/**
+	 * A cached response. The body is read completely when the response is stored and kept
+	 * by the response only, the served clones share it.
+	 */
+	private static class CachedResponse {
+
+		private final Response response;
+
+		private final long sizeBytes;
+
+		private CachedResponse(Response response) {
+			this.response = response;
+			this.sizeBytes = response.asByteArray().length;
+		}
+
+		private Response toResponse() {
+			return new ResponseBuilder().clone(response).setBody(response.asByteArray()).build();
+		}
+
+	}
+
+}
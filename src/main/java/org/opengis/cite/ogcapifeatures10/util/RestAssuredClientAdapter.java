@@ -0,0 +1,117 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.IOException;
+import java.util.logging.Level;
+
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.params.SyncBasicHttpParams;
+import org.apache.http.protocol.BasicHttpProcessor;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Exposes a client built with {@link org.apache.http.impl.client.HttpClientBuilder} to
+ * RestAssured, which only accepts instances of {@link AbstractHttpClient}.
+ *
+ * <p>
+ * The requests are executed by the passed client and its pooling connection manager. The
+ * parameters, cookie store and credentials configured by RestAssured are passed in the
+ * context of each request, the interceptors added by RestAssured (e.g. for content
+ * encoding or preemptive authentication) are applied around the execution, which is
+ * retried by the passed {@link RetryHandler}.
+ * </p>
+ *
+ * <p>
+ * The entity of each response is buffered and the connection is released to the pool
+ * before the response is passed to RestAssured, which does not consume the entity if the
+ * body of the response is not read.
+ * </p>
+ */
+@SuppressWarnings("deprecation")
+class RestAssuredClientAdapter extends AbstractHttpClient {
+
+	private final CloseableHttpClient httpClient;
+
+	private final RetryHandler retryHandler;
+
+	/**
+	 * @param httpClient the client executing the requests, built without content
+	 * compression as RestAssured decodes the content itself, never <code>null</code>
+	 * @param retryHandler the handler retrying the requests, never <code>null</code>
+	 */
+	RestAssuredClientAdapter(CloseableHttpClient httpClient, RetryHandler retryHandler) {
+		super(null, null);
+		this.httpClient = httpClient;
+		this.retryHandler = retryHandler;
+	}
+
+	@Override
+	protected HttpParams createHttpParams() {
+		return new SyncBasicHttpParams();
+	}
+
+	@Override
+	protected BasicHttpProcessor createHttpProcessor() {
+		return new BasicHttpProcessor();
+	}
+
+	@Override
+	protected RequestDirector createClientRequestDirector(HttpRequestExecutor requestExec,
+			ClientConnectionManager conman, ConnectionReuseStrategy reustrat, ConnectionKeepAliveStrategy kastrat,
+			HttpRoutePlanner rouplan, HttpProcessor httpProcessor, HttpRequestRetryHandler retryHandler,
+			RedirectStrategy redirectStrategy, AuthenticationStrategy targetAuthStrategy,
+			AuthenticationStrategy proxyAuthStrategy, UserTokenHandler userTokenHandler, HttpParams params) {
+		return (target, request, context) -> executeWith(httpProcessor, target, request, context);
+	}
+
+	private HttpResponse executeWith(HttpProcessor httpProcessor, HttpHost target, HttpRequest request,
+			HttpContext context) throws HttpException, IOException {
+		context.setAttribute(HttpCoreContext.HTTP_TARGET_HOST, target);
+		httpProcessor.process(request, context);
+		try (CloseableHttpResponse response = retryHandler.execute(target, request,
+				() -> httpClient.execute(target, request, context))) {
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				response.setEntity(new BufferedHttpEntity(entity));
+				EntityUtils.consume(entity);
+			}
+			httpProcessor.process(response, context);
+			return response;
+		}
+	}
+
+	/**
+	 * Closes the client executing the requests.
+	 */
+	@Override
+	public void close() {
+		try {
+			httpClient.close();
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not close HTTP client", e);
+		}
+	}
+
+}
@@ -0,0 +1,252 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Retries idempotent requests failing because of transient transport errors.
+ *
+ * <p>
+ * GET and HEAD requests are sent again if the connection could not be established, was
+ * reset or timed out, or if the server responded with status 502, 503 or 504. At most
+ * {@link #getMaxAttempts()} attempts are made; the delay before the next attempt grows
+ * exponentially from the base delay and is jittered, a <code>Retry-After</code> header of
+ * the response is honored. If all attempts fail, the last response is returned or the
+ * last error is thrown, so persistent errors are still reported by the tests.
+ * </p>
+ *
+ * <p>
+ * The attempts are sent by the pooled client below RestAssured, see
+ * {@link RestAssuredClientAdapter}: the filters of a request, e.g. the
+ * {@link CaptureFilter}, only see the last attempt, and all attempts are sent with the
+ * permit of the {@link ConcurrencyLimiter}, which is informed about the retried
+ * responses. Each retry is logged and recorded in the {@link RequestMetrics.TestMetrics}
+ * of the current test, so it is reported separately from the result of the test. Requests
+ * executed on other threads for a test (e.g. pages prefetched by the
+ * {@link FeaturesPager}) have to join its metrics, see
+ * {@link RequestMetrics#joinTest(RequestMetrics.TestMetrics)}.
+ * </p>
+ */
+public class RetryHandler {
+
+	/** Constant <code>DEFAULT_MAX_ATTEMPTS=3</code> */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/** Constant <code>DEFAULT_BASE_DELAY_MILLIS=500</code> */
+	public static final long DEFAULT_BASE_DELAY_MILLIS = 500;
+
+	private static final long MAX_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private static final Set<String> IDEMPOTENT_METHODS = Collections
+		.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD")));
+
+	private static final Set<Integer> RETRYABLE_STATUS_CODES = Collections
+		.unmodifiableSet(new HashSet<>(Arrays.asList(502, 503, 504)));
+
+	private final int maxAttempts;
+
+	private final long baseDelayMillis;
+
+	private final ConcurrencyLimiter concurrencyLimiter;
+
+	private final AtomicLong retries = new AtomicLong();
+
+	private final AtomicLong retriedRequests = new AtomicLong();
+
+	private final AtomicLong recoveredRequests = new AtomicLong();
+
+	/**
+	 * Creates a new handler.
+	 * @param maxAttempts the maximum number of attempts per request, 1 disables retries
+	 * @param baseDelayMillis the delay before the first retry in milliseconds, doubled
+	 * for each further retry
+	 * @param concurrencyLimiter the limiter to inform about retried responses, may be
+	 * <code>null</code>
+	 */
+	public RetryHandler(int maxAttempts, long baseDelayMillis, ConcurrencyLimiter concurrencyLimiter) {
+		if (maxAttempts < 1)
+			throw new IllegalArgumentException("Maximum attempts must be at least 1, but was " + maxAttempts);
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMillis = baseDelayMillis;
+		this.concurrencyLimiter = concurrencyLimiter;
+	}
+
+	/**
+	 * Sends a request until it succeeds, fails with a permanent error or the maximum
+	 * number of attempts is reached. The connections of the retried responses are
+	 * released.
+	 * @param target the target host of the request, never <code>null</code>
+	 * @param request the request, never <code>null</code>
+	 * @param attempt sends the request once, never <code>null</code>
+	 * @return the response of the last attempt, never <code>null</code>
+	 * @throws IOException the error of the last attempt or a permanent error
+	 */
+	CloseableHttpResponse execute(HttpHost target, HttpRequest request, Attempt attempt) throws IOException {
+		String method = request.getRequestLine().getMethod();
+		if (maxAttempts == 1 || !IDEMPOTENT_METHODS.contains(method.toUpperCase()))
+			return attempt.execute();
+		String uri = request.getRequestLine().getUri();
+		if (!uri.startsWith("http"))
+			uri = target.toURI() + uri;
+		for (int attemptNumber = 1;; attemptNumber++) {
+			long start = System.nanoTime();
+			String cause;
+			long retryAfterMillis = 0;
+			try {
+				CloseableHttpResponse response = attempt.execute();
+				int statusCode = response.getStatusLine().getStatusCode();
+				if (!RETRYABLE_STATUS_CODES.contains(statusCode) || attemptNumber == maxAttempts) {
+					if (attemptNumber > 1 && !RETRYABLE_STATUS_CODES.contains(statusCode))
+						recoveredRequests.incrementAndGet();
+					return response;
+				}
+				Header retryAfter = response.getFirstHeader(ConcurrencyLimiter.RETRY_AFTER);
+				String retryAfterValue = retryAfter != null ? retryAfter.getValue() : null;
+				if (concurrencyLimiter != null)
+					concurrencyLimiter.observe(uri, start, statusCode, retryAfterValue);
+				cause = "status " + statusCode;
+				retryAfterMillis = ConcurrencyLimiter.parseRetryAfter(retryAfterValue, Instant.now());
+				EntityUtils.consumeQuietly(response.getEntity());
+				response.close();
+			}
+			catch (IOException | RuntimeException e) {
+				if (!isTransient(e) || attemptNumber == maxAttempts)
+					throw e;
+				if (concurrencyLimiter != null && ConcurrencyLimiter.isTimeout(e))
+					concurrencyLimiter.observeTimeout(uri, start);
+				cause = e.toString();
+			}
+			long delayMillis = Math.max(computeDelay(attemptNumber), retryAfterMillis);
+			recordRetry(String.format("%s %s failed with %s, attempt %d of %d in %d ms", method, uri, cause,
+					attemptNumber + 1, maxAttempts, delayMillis), attemptNumber);
+			sleep(delayMillis);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>maxAttempts</code>.
+	 * </p>
+	 * @return the maximum number of attempts per request
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * @return the number of retries of all requests
+	 */
+	public long getRetries() {
+		return retries.get();
+	}
+
+	/**
+	 * @return the number of requests retried at least once
+	 */
+	public long getRetriedRequests() {
+		return retriedRequests.get();
+	}
+
+	/**
+	 * @return the number of retried requests which finally succeeded
+	 */
+	public long getRecoveredRequests() {
+		return recoveredRequests.get();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return String.format("Retries: %d retried requests, %d recovered, %d retries (max %d attempts)",
+				retriedRequests.get(), recoveredRequests.get(), retries.get(), maxAttempts);
+	}
+
+	/**
+	 * Computes the delay before the next attempt with "equal jitter": half of the
+	 * exponential delay is kept, the other half is random.
+	 * @param attempt the failed attempt, starting at 1
+	 * @return the delay in milliseconds
+	 */
+	long computeDelay(int attempt) {
+		long exponentialDelay = Math.min(MAX_DELAY_MILLIS, baseDelayMillis << Math.min(attempt - 1, 20));
+		long half = exponentialDelay / 2;
+		return half + ThreadLocalRandom.current().nextLong(half + 1);
+	}
+
+	/**
+	 * @param e the error of an attempt, never <code>null</code>
+	 * @return <code>true</code> if the error or one of its causes is a transient
+	 * transport error, <code>false</code> otherwise
+	 */
+	static boolean isTransient(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			// the pool is exhausted, sending the request again would wait once more
+			if (cause instanceof ConnectionPoolTimeoutException)
+				return false;
+			if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+					|| cause instanceof SocketTimeoutException || cause instanceof ConnectTimeoutException
+					|| cause instanceof NoHttpResponseException)
+				return true;
+			if (cause instanceof SocketException && cause.getMessage() != null
+					&& cause.getMessage().toLowerCase().contains("reset"))
+				return true;
+		}
+		return false;
+	}
+
+	private void recordRetry(String retry, int attempt) {
+		retries.incrementAndGet();
+		if (attempt == 1)
+			retriedRequests.incrementAndGet();
+		TestSuiteLogger.log(Level.INFO, "Retrying " + retry);
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.currentTest();
+		if (testMetrics != null)
+			testMetrics.recordRetry(retry);
+	}
+
+	private static void sleep(long delayMillis) throws IOException {
+		try {
+			Thread.sleep(delayMillis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to retry request");
+		}
+	}
+
+	/**
+	 * A single attempt to send a request.
+	 */
+	interface Attempt {
+
+		/**
+		 * @return the response, never <code>null</code>
+		 * @throws IOException if the request failed
+		 */
+		CloseableHttpResponse execute() throws IOException;
+
+	}
+
+}
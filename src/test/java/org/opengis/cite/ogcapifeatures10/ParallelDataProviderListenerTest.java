@@ -0,0 +1,66 @@
+package org.opengis.cite.ogcapifeatures10;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapifeatures10.listener.ParallelDataProviderListener;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+public class ParallelDataProviderListenerTest {
+
+	@Test
+	public void testParallelModeEnabled() {
+		XmlSuite xmlSuite = new XmlSuite();
+		xmlSuite.setParameters(Collections.singletonMap(TestRunArg.DATAPROVIDERTHREADCOUNT.toString(), "8"));
+		ParallelDataProviderListener listener = new ParallelDataProviderListener();
+		listener.alter(Collections.singletonList(xmlSuite));
+
+		assertEquals(8, xmlSuite.getDataProviderThreadCount());
+
+		IDataProviderAnnotation parallel = mockDataProvider("collectionItemUrisWithBboxes");
+		listener.transform(parallel, null);
+		verify(parallel).setParallel(true);
+
+		IDataProviderAnnotation sequential = mockDataProvider("collectionsUris");
+		listener.transform(sequential, null);
+		verify(sequential, never()).setParallel(anyBoolean());
+	}
+
+	@Test
+	public void testParallelModeDisabledByDefault() {
+		XmlSuite xmlSuite = new XmlSuite();
+		ParallelDataProviderListener listener = new ParallelDataProviderListener();
+		listener.alter(Collections.singletonList(xmlSuite));
+
+		IDataProviderAnnotation annotation = mockDataProvider("collectionItemUrisWithBboxes");
+		listener.transform(annotation, null);
+		verify(annotation, never()).setParallel(anyBoolean());
+	}
+
+	@Test
+	public void testParallelModeDisabledWithInvalidThreadCount() {
+		XmlSuite xmlSuite = new XmlSuite();
+		xmlSuite.setParameters(Collections.singletonMap(TestRunArg.DATAPROVIDERTHREADCOUNT.toString(), "many"));
+		ParallelDataProviderListener listener = new ParallelDataProviderListener();
+		listener.alter(Collections.singletonList(xmlSuite));
+
+		IDataProviderAnnotation annotation = mockDataProvider("collectionIdAndJsonAndCrs");
+		listener.transform(annotation, null);
+		verify(annotation, never()).setParallel(anyBoolean());
+	}
+
+	private IDataProviderAnnotation mockDataProvider(String name) {
+		IDataProviderAnnotation annotation = mock(IDataProviderAnnotation.class);
+		when(annotation.getName()).thenReturn(name);
+		return annotation;
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.opengis.cite.ogcapifeatures10;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collections.DiscoveryCollectionsCrsUri;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.discovery.collections.DiscoveryCollectionsDefaultCrs;
+import org.opengis.cite.ogcapifeatures10.listener.SuiteAttributeLifecycleListener;
+import org.testng.ISuite;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+
+public class SuiteAttributeLifecycleListenerTest {
+
+	@Test
+	public void testReleaseAfterLastConsumer() {
+		ISuite suite = mockSuite(DiscoveryCollectionsCrsUri.class, DiscoveryCollectionsDefaultCrs.class);
+		when(suite.getAttribute(SuiteAttribute.COLLECTIONS_RESPONSE.getName()))
+			.thenReturn(Collections.singletonMap("collections", "response"));
+		SuiteAttributeLifecycleListener listener = new SuiteAttributeLifecycleListener();
+		listener.onStart(suite);
+
+		listener.onAfterClass(mockTestClass(DiscoveryCollectionsCrsUri.class));
+		verify(suite, never()).removeAttribute(SuiteAttribute.COLLECTIONS_RESPONSE.getName());
+
+		listener.onAfterClass(mockTestClass(DiscoveryCollectionsDefaultCrs.class));
+		verify(suite).removeAttribute(SuiteAttribute.COLLECTIONS_RESPONSE.getName());
+	}
+
+	@Test
+	public void testAttributesWithoutConsumersAreKept() {
+		ISuite suite = mockSuite(DiscoveryCollectionsCrsUri.class);
+		when(suite.getAttribute(anyString())).thenReturn(Collections.emptyList());
+		SuiteAttributeLifecycleListener listener = new SuiteAttributeLifecycleListener();
+		listener.onStart(suite);
+
+		listener.onAfterClass(mockTestClass(DiscoveryCollectionsCrsUri.class));
+		verify(suite, never()).removeAttribute(SuiteAttribute.API_MODEL.getName());
+		verify(suite, never()).removeAttribute(SuiteAttribute.FEATUREIDS.getName());
+	}
+
+	private static ISuite mockSuite(Class<?>... testClasses) {
+		ISuite suite = mock(ISuite.class);
+		List<ITestNGMethod> methods = Arrays.asList(new ITestNGMethod[testClasses.length]);
+		for (int i = 0; i < testClasses.length; i++) {
+			ITestNGMethod method = mock(ITestNGMethod.class);
+			doReturn(testClasses[i]).when(method).getRealClass();
+			methods.set(i, method);
+		}
+		when(suite.getAllMethods()).thenReturn(methods);
+		return suite;
+	}
+
+	private static ITestClass mockTestClass(Class<?> realClass) {
+		ITestClass testClass = mock(ITestClass.class);
+		doReturn(realClass).when(testClass).getRealClass();
+		when(testClass.getName()).thenReturn(realClass.getName());
+		return testClass;
+	}
+
+}
@@ -13,7 +13,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.opengis.cite.ogcapifeatures10.conformance.SuiteAttribute;
 import org.opengis.cite.ogcapifeatures10.listener.SuiteFixtureListener;
 import org.testng.ISuite;
@@ -25,6 +27,9 @@ public class SuiteFixtureListenerTest {
 
 	private static ISuite suite;
 
+	@Rule
+	public TemporaryFolder outputDir = new TemporaryFolder();
+
 	@BeforeClass
 	public static void setUpClass() {
 		xmlSuite = mock(XmlSuite.class);
@@ -51,4 +56,21 @@ public class SuiteFixtureListenerTest {
 		verify(suite).setAttribute(eq(SuiteAttribute.TEST_SUBJ_FILE.getName()), isA(File.class));
 	}
 
+	@Test
+	public void processCaptureSpillParameter() throws URISyntaxException {
+		URL url = this.getClass().getResource("landingPage.html");
+		Map<String, String> params = new HashMap<>();
+		params.put(TestRunArg.IUT.toString(), url.toURI().toString());
+		params.put(TestRunArg.CAPTURESPILL.toString(), "true");
+		XmlSuite xmlSuite = mock(XmlSuite.class);
+		when(xmlSuite.getParameters()).thenReturn(params);
+		ISuite suite = mock(ISuite.class);
+		when(suite.getXmlSuite()).thenReturn(xmlSuite);
+		when(suite.getOutputDirectory()).thenReturn(outputDir.getRoot().getAbsolutePath());
+		SuiteFixtureListener iut = new SuiteFixtureListener();
+		iut.onStart(suite);
+		verify(suite).setAttribute(SuiteAttribute.CAPTURE_SPILL_DIR.getName(),
+				new File(outputDir.getRoot(), "messages"));
+	}
+
 }
@@ -0,0 +1,101 @@
+package org.opengis.cite.ogcapifeatures10;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.features.FeaturesCrsParameter;
+import org.opengis.cite.ogcapifeatures10.listener.TimingListener;
+import org.testng.IInvokedMethod;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import io.restassured.path.json.JsonPath;
+
+public class TimingListenerTest {
+
+	@Rule
+	public TemporaryFolder outputDir = new TemporaryFolder();
+
+	@Test
+	public void testProfileIsWritten() throws Exception {
+		ISuite suite = mock(ISuite.class);
+		when(suite.getName()).thenReturn("ogcapi-features-1.0");
+		when(suite.getOutputDirectory()).thenReturn(outputDir.getRoot().getAbsolutePath());
+		TimingListener listener = new TimingListener();
+		listener.onStart(suite);
+
+		IInvokedMethod configuration = mockInvokedMethod("initCommonFixture", false);
+		listener.beforeInvocation(configuration, mock(ITestResult.class));
+		listener.afterInvocation(configuration, mock(ITestResult.class));
+
+		IInvokedMethod test = mockInvokedMethod("verifyFeaturesCrsParameter", true);
+		ITestResult testResult = mock(ITestResult.class);
+		when(testResult.getParameters()).thenReturn(new Object[] { "collection1", new JsonPath("{}"),
+				new CoordinateSystem("http://www.opengis.net/def/crs/EPSG/0/25832") });
+		for (int i = 0; i < 2; i++) {
+			listener.beforeInvocation(test, testResult);
+			listener.afterInvocation(test, testResult);
+		}
+		listener.onFinish(suite);
+
+		JsonPath jsonPath = readProfile();
+		assertThat(jsonPath.getString("suite"), is("ogcapi-features-1.0"));
+		assertThat(jsonPath.getString("classes[0].testClass"), is(FeaturesCrsParameter.class.getName()));
+		assertThat(jsonPath.getString("methods[0].kind"), is("CONFIGURATION"));
+		assertThat(jsonPath.getString("methods[1].method"), is("verifyFeaturesCrsParameter"));
+		assertThat(jsonPath.getString("methods[1].collection"), is("collection1"));
+		assertThat(jsonPath.getString("methods[1].crs"), is("http://www.opengis.net/def/crs/EPSG/0/25832"));
+		assertThat(jsonPath.getInt("methods[1].invocations"), is(2));
+	}
+
+	@Test
+	public void testCollectionIdFromMap() throws Exception {
+		ISuite suite = mock(ISuite.class);
+		when(suite.getOutputDirectory()).thenReturn(outputDir.getRoot().getAbsolutePath());
+		TimingListener listener = new TimingListener();
+		listener.onStart(suite);
+
+		IInvokedMethod test = mockInvokedMethod("validateFeaturesWithDateTimeOperation", true);
+		ITestResult testResult = mock(ITestResult.class);
+		when(testResult.getParameters())
+			.thenReturn(new Object[] { Collections.singletonMap("id", "collection2"), "datetime", null, null });
+		listener.beforeInvocation(test, testResult);
+		listener.afterInvocation(test, testResult);
+		listener.onFinish(suite);
+
+		JsonPath jsonPath = readProfile();
+		assertThat(jsonPath.getString("methods[0].collection"), is("collection2"));
+		assertThat(jsonPath.getString("methods[0].crs"), nullValue());
+	}
+
+	private JsonPath readProfile() throws Exception {
+		byte[] profile = Files.readAllBytes(new File(outputDir.getRoot(), TimingListener.PROFILE_FILE).toPath());
+		return new JsonPath(new String(profile, StandardCharsets.UTF_8));
+	}
+
+	private static IInvokedMethod mockInvokedMethod(String methodName, boolean isTestMethod) {
+		ITestNGMethod testMethod = mock(ITestNGMethod.class);
+		doReturn(FeaturesCrsParameter.class).when(testMethod).getRealClass();
+		when(testMethod.getMethodName()).thenReturn(methodName);
+		IInvokedMethod invokedMethod = mock(IInvokedMethod.class);
+		when(invokedMethod.getTestMethod()).thenReturn(testMethod);
+		when(invokedMethod.isTestMethod()).thenReturn(isTestMethod);
+		when(invokedMethod.isConfigurationMethod()).thenReturn(!isTestMethod);
+		return invokedMethod;
+	}
+
+}
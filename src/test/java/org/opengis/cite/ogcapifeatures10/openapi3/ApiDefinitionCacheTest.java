@@ -0,0 +1,73 @@
+package org.opengis.cite.ogcapifeatures10.openapi3;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ApiDefinitionCacheTest {
+
+	private static final String API_URL = "http://localhost:8090/rest/services/kataster/api";
+
+	private static final String DOCUMENT = "{\"openapi\":\"3.0.1\"}";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testIsValidated_notStored() {
+		ApiDefinitionCache cache = new ApiDefinitionCache(folder.getRoot());
+
+		assertThat(cache.isValidated(API_URL, DOCUMENT), is(false));
+	}
+
+	@Test
+	public void testIsValidated_stored() {
+		File cacheDir = new File(folder.getRoot(), "cache");
+		new ApiDefinitionCache(cacheDir).storeValidated(API_URL, DOCUMENT);
+
+		ApiDefinitionCache cache = new ApiDefinitionCache(cacheDir);
+		assertThat(cache.isValidated(API_URL, DOCUMENT), is(true));
+	}
+
+	@Test
+	public void testIsValidated_changedDocument() {
+		ApiDefinitionCache cache = new ApiDefinitionCache(folder.getRoot());
+		cache.storeValidated(API_URL, DOCUMENT);
+
+		assertThat(cache.isValidated(API_URL, "{\"openapi\":\"3.0.2\"}"), is(false));
+		assertThat(cache.isValidated("http://localhost:8090/other/api", DOCUMENT), is(false));
+	}
+
+	@Test
+	public void testIsValidated_externalReference() {
+		String document = "{\"openapi\":\"3.0.1\",\"components\":{\"schemas\":{\"a\":{\"$ref\":\"schemas.json#/a\"}}}}";
+		ApiDefinitionCache cache = new ApiDefinitionCache(folder.getRoot());
+		cache.storeValidated(API_URL, document);
+
+		assertThat(cache.isValidated(API_URL, document), is(false));
+	}
+
+	@Test
+	public void testHasExternalReferences() {
+		assertThat(ApiDefinitionCache.hasExternalReferences(DOCUMENT), is(false));
+		assertThat(ApiDefinitionCache.hasExternalReferences("{\"a\":{\"$ref\":\"#/components/schemas/a\"}}"),
+				is(false));
+		assertThat(ApiDefinitionCache.hasExternalReferences("{\"a\":{\"$ref\":\"https://example.org/a.json\"}}"),
+				is(true));
+		assertThat(ApiDefinitionCache.hasExternalReferences("openapi: 3.0.1"), is(true));
+	}
+
+	@Test
+	public void testDigest() {
+		assertThat(ApiDefinitionCache.digest(API_URL, DOCUMENT).length(), is(64));
+		assertThat(ApiDefinitionCache.digest(API_URL, DOCUMENT),
+				not(ApiDefinitionCache.digest(API_URL + "/", DOCUMENT)));
+	}
+
+}
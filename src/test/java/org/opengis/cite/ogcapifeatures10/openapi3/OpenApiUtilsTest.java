@@ -47,7 +47,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut);
+		List<TestPoint> testPoints = retrieveTestPoints(new TestPointIndex(apiModel, iut));
 
 		assertThat(testPoints.size(), is(2));
 
@@ -59,7 +59,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi-relativeServerPath.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut);
+		List<TestPoint> testPoints = retrieveTestPoints(new TestPointIndex(apiModel, iut));
 
 		assertThat(testPoints.size(), is(2));
 		assertThat(testPoints.get(0).getServerUrl(), is("http://localhost:8080/path"));
@@ -73,7 +73,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_moreComplex.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPoints(apiModel, iut);
+		List<TestPoint> testPoints = retrieveTestPoints(new TestPointIndex(apiModel, iut));
 
 		assertThat(testPoints.size(), is(4));
 
@@ -103,7 +103,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(apiModel, iut);
+		List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(new TestPointIndex(apiModel, iut));
 
 		assertThat(testPoints.size(), is(1));
 		Map<String, MediaType> contentMediaTypes = testPoints.get(0).getContentMediaTypes();
@@ -116,7 +116,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollectionMetadata(apiModel, iut, "flurstueck");
+		List<TestPoint> testPoints = retrieveTestPointsForCollectionMetadata(new TestPointIndex(apiModel, iut),
+				"flurstueck");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -134,7 +135,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollection(apiModel, iut, "flurstueck");
+		List<TestPoint> testPoints = retrieveTestPointsForCollection(new TestPointIndex(apiModel, iut), "flurstueck");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -152,7 +153,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForFeature(apiModel, iut, "flurstueck", "abc");
+		List<TestPoint> testPoints = retrieveTestPointsForFeature(new TestPointIndex(apiModel, iut), "flurstueck",
+				"abc");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -169,7 +171,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollections(apiModel, iut, -1);
+		List<TestPoint> testPoints = retrieveTestPointsForCollections(new TestPointIndex(apiModel, iut), -1);
 
 		assertThat(testPoints.size(), is(3));
 		List<String> paths = testPoints.stream()
@@ -186,7 +188,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollections(apiModel, iut, 1);
+		List<TestPoint> testPoints = retrieveTestPointsForCollections(new TestPointIndex(apiModel, iut), 1);
 
 		assertThat(testPoints.size(), is(1));
 		List<String> paths = testPoints.stream()
@@ -201,7 +203,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollections(apiModel, iut, 6);
+		List<TestPoint> testPoints = retrieveTestPointsForCollections(new TestPointIndex(apiModel, iut), 6);
 
 		assertThat(testPoints.size(), is(3));
 		List<String> paths = testPoints.stream()
@@ -216,7 +218,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(apiModel, iut);
+		List<TestPoint> testPoints = retrieveTestPointsForCollectionsMetadata(new TestPointIndex(apiModel, iut));
 
 		assertThat(testPoints.size(), is(1));
 
@@ -236,7 +238,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollectionMetadata(apiModel, iut, "test__countries");
+		List<TestPoint> testPoints = retrieveTestPointsForCollectionMetadata(new TestPointIndex(apiModel, iut),
+				"test__countries");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -252,7 +255,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollection(apiModel, iut, "test__countries");
+		List<TestPoint> testPoints = retrieveTestPointsForCollection(new TestPointIndex(apiModel, iut),
+				"test__countries");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -267,7 +271,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForFeature(apiModel, iut, "test__countries", "abc");
+		List<TestPoint> testPoints = retrieveTestPointsForFeature(new TestPointIndex(apiModel, iut), "test__countries",
+				"abc");
 
 		assertThat(testPoints.size(), is(1));
 
@@ -282,7 +287,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollections(apiModel, iut, -1);
+		List<TestPoint> testPoints = retrieveTestPointsForCollections(new TestPointIndex(apiModel, iut), -1);
 
 		assertThat(testPoints.size(), is(OgcApiFeatures10.COLLECTIONS_LIMIT));
 		assertThat(testPoints.get(0).getPath(), is("/collections/{collectionId}/items"));
@@ -294,7 +299,7 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi_compact-api.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		List<TestPoint> testPoints = retrieveTestPointsForCollections(apiModel, iut, 1);
+		List<TestPoint> testPoints = retrieveTestPointsForCollections(new TestPointIndex(apiModel, iut), 1);
 
 		assertThat(testPoints.size(), is(1));
 		assertThat(testPoints.get(0).getPath(), is("/collections/{collectionId}/items"));
@@ -306,7 +311,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		boolean isFreeFormParameterSupported = isFreeFormParameterSupportedForCollection(apiModel, iut, "flurstueck");
+		boolean isFreeFormParameterSupported = isFreeFormParameterSupportedForCollection(
+				new TestPointIndex(apiModel, iut), "flurstueck");
 
 		assertThat(isFreeFormParameterSupported, is(false));
 	}
@@ -317,7 +323,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi-freeformparam.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		boolean isFreeFormParameterSupported = isFreeFormParameterSupportedForCollection(apiModel, iut, "flurstueck");
+		boolean isFreeFormParameterSupported = isFreeFormParameterSupportedForCollection(
+				new TestPointIndex(apiModel, iut), "flurstueck");
 
 		assertThat(isFreeFormParameterSupported, is(true));
 	}
@@ -328,8 +335,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		boolean isFreeFormParameterSupported = isParameterSupportedForCollection(apiModel, iut, "flurstueck",
-				"unknown");
+		boolean isFreeFormParameterSupported = isParameterSupportedForCollection(new TestPointIndex(apiModel, iut),
+				"flurstueck", "unknown");
 
 		assertThat(isFreeFormParameterSupported, is(false));
 	}
@@ -340,7 +347,8 @@ public class OpenApiUtilsTest {
 
 		URL openApiDocument = OpenApiUtilsTest.class.getResource("openapi.json");
 		OpenApi3 apiModel = parser.parse(openApiDocument, true);
-		boolean isFreeFormParameterSupported = isParameterSupportedForCollection(apiModel, iut, "flurstueck", "limit");
+		boolean isFreeFormParameterSupported = isParameterSupportedForCollection(new TestPointIndex(apiModel, iut),
+				"flurstueck", "limit");
 
 		assertThat(isFreeFormParameterSupported, is(true));
 	}
@@ -0,0 +1,68 @@
+package org.opengis.cite.ogcapifeatures10.openapi3;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+import com.reprezen.kaizen.oasparser.model3.Path;
+
+public class TestPointIndexTest {
+
+	private static URI iut;
+
+	private static OpenApi3 apiModel;
+
+	@BeforeClass
+	public static void parseApiModel() throws Exception {
+		iut = new URI("http://localhost:8080/example");
+		URL openApiDocument = TestPointIndexTest.class.getResource("openapi.json");
+		apiModel = new OpenApi3Parser().parse(openApiDocument, true);
+	}
+
+	@Test
+	public void testFindPaths_untemplated() {
+		TestPointIndex index = new TestPointIndex(apiModel, iut);
+		List<Path> paths = index.findPaths("/collections");
+
+		assertThat(paths.size(), is(1));
+		assertThat(paths.get(0).getPathString(), is("/collections"));
+	}
+
+	@Test
+	public void testFindPaths_templated() {
+		TestPointIndex index = new TestPointIndex(apiModel, iut);
+		List<Path> paths = index.findPaths("/collections/flurstueck/items/abc");
+
+		assertThat(paths.size(), is(1));
+		assertThat(paths.get(0).getPathString(), is("/collections/flurstueck/items/{featureId}"));
+	}
+
+	@Test
+	public void testFindPaths_noMatch() {
+		TestPointIndex index = new TestPointIndex(apiModel, iut);
+
+		assertThat(index.findPaths("/collections/unknown/items").isEmpty(), is(true));
+	}
+
+	@Test
+	public void testRetrieveTestPoints_sameTestPointsOnRepeatedLookup() {
+		TestPointIndex index = new TestPointIndex(apiModel, iut);
+		List<TestPoint> first = index.retrieveTestPoints("/conformance", false);
+		List<TestPoint> second = index.retrieveTestPoints("/conformance", false);
+
+		assertThat(first.size(), is(1));
+		assertThat(second, not(sameInstance(first)));
+		assertThat(second.get(0), sameInstance(first.get(0)));
+	}
+
+}
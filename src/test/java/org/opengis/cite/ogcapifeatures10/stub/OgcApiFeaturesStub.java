@@ -0,0 +1,567 @@
+package org.opengis.cite.ogcapifeatures10.stub;
+
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS_CODE;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.OPEN_API_MIME_TYPE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+import org.opengis.cite.ogcapifeatures10.stub.StubDataset.StubFeature;
+import org.opengis.cite.ogcapifeatures10.util.BBox;
+import org.opengis.cite.ogcapifeatures10.util.GeometryTransformer;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An in-process stand-in of an OGC API Features service, e.g. to run the whole test suite
+ * offline.
+ *
+ * <p>
+ * The stub serves the landing page, <code>/conformance</code>, <code>/api</code>,
+ * <code>/collections</code>, <code>/collections/{collectionId}</code>,
+ * <code>/collections/{collectionId}/items</code> with the parameters limit, bbox,
+ * bbox-crs, datetime and crs, and
+ * <code>/collections/{collectionId}/items/{featureId}</code> with the parameter crs. The
+ * number of collections and features is configurable, as well as a latency added to each
+ * response. All responses are encoded as JSON.
+ * </p>
+ *
+ * <p>
+ * The following pages of the features are only reachable by the 'next' links, which
+ * contain an opaque cursor instead of a documented parameter. Coordinates in the crs
+ * parameter and the bbox-crs parameter are in the axis order of the authority, e.g.
+ * lat/lon for EPSG:4326.
+ * </p>
+ *
+ * <p>
+ * The stub can be started from the command line, the arguments are the port, the number
+ * of collections, the number of features per collection and the latency in milliseconds:
+ * </p>
+ *
+ * <pre>
+ * java -cp ... org.opengis.cite.ogcapifeatures10.stub.OgcApiFeaturesStub 8090 3 1000 0
+ * </pre>
+ */
+public class OgcApiFeaturesStub implements Closeable {
+
+	/** Constant <code>DEFAULT_NUMBER_OF_COLLECTIONS=3</code> */
+	public static final int DEFAULT_NUMBER_OF_COLLECTIONS = 3;
+
+	/** Constant <code>DEFAULT_NUMBER_OF_FEATURES=100</code> */
+	public static final int DEFAULT_NUMBER_OF_FEATURES = 100;
+
+	/** Constant <code>DEFAULT_LIMIT=10</code> */
+	public static final int DEFAULT_LIMIT = 10;
+
+	/** Constant <code>MAX_LIMIT=10000</code> */
+	public static final int MAX_LIMIT = 10000;
+
+	private static final String EPSG_4326 = "http://www.opengis.net/def/crs/EPSG/0/4326";
+
+	/** Coordinate reference systems supported by all collections. */
+	public static final List<String> CRS = Collections
+		.unmodifiableList(Arrays.asList(DEFAULT_CRS_CODE, EPSG_4326, "http://www.opengis.net/def/crs/EPSG/0/25832"));
+
+	static final List<String> CONFORMANCE_CLASSES = Collections
+		.unmodifiableList(Arrays.asList("http://www.opengis.net/spec/ogcapi-features-1/1.0/conf/core",
+				"http://www.opengis.net/spec/ogcapi-features-1/1.0/conf/oas30",
+				"http://www.opengis.net/spec/ogcapi-features-1/1.0/conf/geojson",
+				"http://www.opengis.net/spec/ogcapi-features-2/1.0/conf/crs"));
+
+	private static final String JSON = "application/json";
+
+	private static final String GEOJSON = "application/geo+json";
+
+	private static final String CURSOR = "cursor";
+
+	private static final List<String> ITEMS_PARAMETERS = Arrays.asList("limit", "bbox", "bbox-crs", "datetime", "crs",
+			"f", CURSOR);
+
+	private static final int THREADS = 16;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicInteger numberOfRequests = new AtomicInteger();
+
+	private final StubDataset dataset;
+
+	private final long latencyMillis;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	/**
+	 * Creates a stub with {@link #DEFAULT_NUMBER_OF_COLLECTIONS} collections of
+	 * {@link #DEFAULT_NUMBER_OF_FEATURES} features each, responding without latency.
+	 */
+	public OgcApiFeaturesStub() {
+		this(DEFAULT_NUMBER_OF_COLLECTIONS, DEFAULT_NUMBER_OF_FEATURES, 0);
+	}
+
+	/**
+	 * @param numberOfCollections the number of collections, at least 1
+	 * @param numberOfFeatures the number of features of each collection, at least 1
+	 * @param latencyMillis the milliseconds each response is delayed
+	 */
+	public OgcApiFeaturesStub(int numberOfCollections, int numberOfFeatures, long latencyMillis) {
+		if (numberOfCollections < 1 || numberOfFeatures < 1)
+			throw new IllegalArgumentException("At least one collection with one feature is required");
+		this.dataset = new StubDataset(numberOfCollections, numberOfFeatures);
+		this.latencyMillis = latencyMillis;
+	}
+
+	/**
+	 * Starts the stub on the loopback interface.
+	 * @param port the port to listen on, 0 to select a free port
+	 * @return the URI of the landing page, never <code>null</code>
+	 * @throws IOException if the server could not be started
+	 */
+	public synchronized URI start(int port) throws IOException {
+		if (server != null)
+			throw new IllegalStateException("Stub is already started");
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		executor = Executors.newFixedThreadPool(THREADS);
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+		server.start();
+		return getLandingPageUri();
+	}
+
+	/**
+	 * @return the URI of the landing page, never <code>null</code>
+	 */
+	public synchronized URI getLandingPageUri() {
+		if (server == null)
+			throw new IllegalStateException("Stub is not started");
+		return URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+	}
+
+	/**
+	 * @return the number of requests received since the stub was created
+	 */
+	public int getNumberOfRequests() {
+		return numberOfRequests.get();
+	}
+
+	/**
+	 * Stops the stub.
+	 */
+	@Override
+	public synchronized void close() {
+		if (server != null) {
+			server.stop(0);
+			executor.shutdownNow();
+			server = null;
+			executor = null;
+		}
+	}
+
+	/**
+	 * Starts the stub until the process is terminated.
+	 * @param args port, number of collections, number of features and latency in
+	 * milliseconds, all optional
+	 * @throws IOException if the server could not be started
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+		int numberOfCollections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_COLLECTIONS;
+		int numberOfFeatures = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_NUMBER_OF_FEATURES;
+		long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+		OgcApiFeaturesStub stub = new OgcApiFeaturesStub(numberOfCollections, numberOfFeatures, latencyMillis);
+		TestSuiteLogger.log(Level.INFO, "OGC API Features stub started: " + stub.start(port));
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		numberOfRequests.incrementAndGet();
+		try {
+			delay();
+			if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod()))
+				throw new ErrorResponse(405, "Method " + exchange.getRequestMethod() + " is not supported");
+			route(exchange);
+		}
+		catch (ErrorResponse e) {
+			send(exchange, e.status, JSON, error(e.status, e.getMessage()));
+		}
+		catch (RuntimeException e) {
+			send(exchange, 500, JSON, error(500, e.getMessage()));
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private void route(HttpExchange exchange) throws IOException, ErrorResponse {
+		String baseUrl = "http://" + exchange.getRequestHeaders().getFirst("Host");
+		String path = exchange.getRequestURI().getPath();
+		List<String> segments = new ArrayList<>();
+		for (String segment : path.split("/")) {
+			if (!segment.isEmpty())
+				segments.add(decode(segment));
+		}
+		Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+		if (segments.isEmpty()) {
+			send(exchange, 200, JSON, landingPage(baseUrl));
+		}
+		else if (segments.size() == 1 && "conformance".equals(segments.get(0))) {
+			send(exchange, 200, JSON, conformance(baseUrl));
+		}
+		else if (segments.size() == 1 && "api".equals(segments.get(0))) {
+			send(exchange, 200, OPEN_API_MIME_TYPE, StubApiDefinition.create(baseUrl, DEFAULT_LIMIT, MAX_LIMIT));
+		}
+		else if ("collections".equals(segments.get(0))) {
+			routeCollections(exchange, baseUrl, segments, parameters);
+		}
+		else {
+			throw new ErrorResponse(404, "Resource " + path + " does not exist");
+		}
+	}
+
+	private void routeCollections(HttpExchange exchange, String baseUrl, List<String> segments,
+			Map<String, String> parameters) throws IOException, ErrorResponse {
+		if (segments.size() == 1) {
+			send(exchange, 200, JSON, collections(baseUrl));
+			return;
+		}
+		String collectionId = segments.get(1);
+		if (!dataset.hasCollection(collectionId))
+			throw new ErrorResponse(404, "Collection " + collectionId + " does not exist");
+		if (segments.size() == 2) {
+			send(exchange, 200, JSON, collection(baseUrl, collectionId));
+		}
+		else if (segments.size() == 3 && "items".equals(segments.get(2))) {
+			CoordinateSystem crs = parseCrs(parameters.get("crs"), "crs");
+			exchange.getResponseHeaders().set("Content-Crs", "<" + crs.getCode() + ">");
+			send(exchange, 200, GEOJSON, items(baseUrl, collectionId, parameters, crs));
+		}
+		else if (segments.size() == 4 && "items".equals(segments.get(2))) {
+			StubFeature feature = dataset.getFeature(segments.get(3));
+			if (feature == null)
+				throw new ErrorResponse(404, "Feature " + segments.get(3) + " does not exist");
+			CoordinateSystem crs = parseCrs(parameters.get("crs"), "crs");
+			exchange.getResponseHeaders().set("Content-Crs", "<" + crs.getCode() + ">");
+			send(exchange, 200, GEOJSON, feature(baseUrl, collectionId, feature, crs));
+		}
+		else {
+			throw new ErrorResponse(404, "Resource " + exchange.getRequestURI().getPath() + " does not exist");
+		}
+	}
+
+	private Map<String, Object> landingPage(String baseUrl) {
+		Map<String, Object> landingPage = new LinkedHashMap<>();
+		landingPage.put("title", "OGC API Features stub");
+		landingPage.put("description", "In-process stand-in of an OGC API Features service");
+		landingPage.put("links",
+				Arrays.asList(link(baseUrl + "/", "self", JSON, "this document"),
+						link(baseUrl + "/api", "service-desc", OPEN_API_MIME_TYPE, "the API definition"),
+						link(baseUrl + "/conformance", "conformance", JSON, "the conformance classes"),
+						link(baseUrl + "/collections", "data", JSON, "the feature collections")));
+		return landingPage;
+	}
+
+	private Map<String, Object> conformance(String baseUrl) {
+		Map<String, Object> conformance = new LinkedHashMap<>();
+		conformance.put("links",
+				Collections.singletonList(link(baseUrl + "/conformance", "self", JSON, "this document")));
+		conformance.put("conformsTo", CONFORMANCE_CLASSES);
+		return conformance;
+	}
+
+	private Map<String, Object> collections(String baseUrl) {
+		List<Object> collections = new ArrayList<>();
+		for (String collectionId : dataset.getCollectionIds())
+			collections.add(collection(baseUrl, collectionId));
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("links", Collections.singletonList(link(baseUrl + "/collections", "self", JSON, "this document")));
+		response.put("collections", collections);
+		return response;
+	}
+
+	private Map<String, Object> collection(String baseUrl, String collectionId) {
+		String collectionUrl = baseUrl + "/collections/" + collectionId;
+		Map<String, Object> spatial = new LinkedHashMap<>();
+		BBox extent = StubDataset.EXTENT;
+		spatial.put("bbox", Collections
+			.singletonList(Arrays.asList(extent.getMinX(), extent.getMinY(), extent.getMaxX(), extent.getMaxY())));
+		spatial.put("crs", DEFAULT_CRS_CODE);
+		Map<String, Object> temporal = new LinkedHashMap<>();
+		temporal.put("interval", Collections
+			.singletonList(Arrays.asList(StubDataset.FIRST_DATETIME.toString(), dataset.getLastDatetime().toString())));
+		temporal.put("trs", "http://www.opengis.net/def/uom/ISO-8601/0/Gregorian");
+		Map<String, Object> extentOfCollection = new LinkedHashMap<>();
+		extentOfCollection.put("spatial", spatial);
+		extentOfCollection.put("temporal", temporal);
+
+		Map<String, Object> collection = new LinkedHashMap<>();
+		collection.put("id", collectionId);
+		collection.put("title", collectionId);
+		collection.put("extent", extentOfCollection);
+		collection.put("itemType", "feature");
+		collection.put("crs", CRS);
+		collection.put("storageCrs", DEFAULT_CRS_CODE);
+		collection.put("links", Arrays.asList(link(collectionUrl, "self", JSON, "this collection"),
+				link(collectionUrl + "/items", "items", GEOJSON, "the features of " + collectionId)));
+		return collection;
+	}
+
+	private Map<String, Object> items(String baseUrl, String collectionId, Map<String, String> parameters,
+			CoordinateSystem crs) throws ErrorResponse {
+		for (String parameter : parameters.keySet()) {
+			if (!ITEMS_PARAMETERS.contains(parameter))
+				throw new ErrorResponse(400, "Unknown parameter " + parameter);
+		}
+		int limit = Math.min(parseInt(parameters.get("limit"), "limit", DEFAULT_LIMIT, 1), MAX_LIMIT);
+		int offset = parseCursor(parameters.get(CURSOR));
+		BBox bbox = parseBbox(parameters.get("bbox"), parseCrs(parameters.get("bbox-crs"), "bbox-crs"));
+		Instant[] datetimeInterval = parseDatetime(parameters.get("datetime"));
+
+		List<StubFeature> matching = dataset.selectFeatures(bbox, datetimeInterval);
+		int from = Math.min(offset, matching.size());
+		int to = from + Math.min(limit, matching.size() - from);
+		List<StubFeature> page = matching.subList(from, to);
+		GeometryTransformer transformer = new GeometryTransformer(DEFAULT_CRS, crs);
+		List<Object> features = new ArrayList<>();
+		for (StubFeature feature : page)
+			features.add(feature.asGeoJson(transformer.transform(feature.getGeometry())));
+
+		String itemsUrl = baseUrl + "/collections/" + collectionId + "/items";
+		List<Object> links = new ArrayList<>();
+		links.add(link(itemsUrl + query(parameters, offset), "self", GEOJSON, "this document"));
+		if (to < matching.size())
+			links.add(link(itemsUrl + query(parameters, to), "next", GEOJSON, "next page"));
+
+		Map<String, Object> featureCollection = new LinkedHashMap<>();
+		featureCollection.put("type", "FeatureCollection");
+		featureCollection.put("links", links);
+		featureCollection.put("timeStamp", Instant.now().toString());
+		featureCollection.put("numberMatched", matching.size());
+		featureCollection.put("numberReturned", page.size());
+		featureCollection.put("features", features);
+		return featureCollection;
+	}
+
+	private Map<String, Object> feature(String baseUrl, String collectionId, StubFeature feature,
+			CoordinateSystem crs) {
+		Geometry geometry = new GeometryTransformer(DEFAULT_CRS, crs).transform(feature.getGeometry());
+		Map<String, Object> geoJson = feature.asGeoJson(geometry);
+		String collectionUrl = baseUrl + "/collections/" + collectionId;
+		geoJson.put("links",
+				Arrays.asList(link(collectionUrl + "/items/" + feature.getId(), "self", GEOJSON, "this document"),
+						link(collectionUrl, "collection", JSON, "the collection of the feature")));
+		return geoJson;
+	}
+
+	private static Map<String, Object> link(String href, String rel, String type, String title) {
+		Map<String, Object> link = new LinkedHashMap<>();
+		link.put("href", href);
+		link.put("rel", rel);
+		link.put("type", type);
+		link.put("title", title);
+		return link;
+	}
+
+	private static Map<String, Object> error(int status, String message) {
+		Map<String, Object> error = new LinkedHashMap<>();
+		error.put("code", status);
+		error.put("description", message);
+		return error;
+	}
+
+	private static String query(Map<String, String> parameters, int offset) {
+		Map<String, String> pageParameters = new LinkedHashMap<>(parameters);
+		pageParameters.remove(CURSOR);
+		if (offset > 0)
+			pageParameters.put(CURSOR,
+					Base64.getUrlEncoder()
+						.withoutPadding()
+						.encodeToString(String.valueOf(offset).getBytes(StandardCharsets.US_ASCII)));
+		StringBuilder query = new StringBuilder();
+		for (Map.Entry<String, String> parameter : pageParameters.entrySet()) {
+			query.append(query.length() == 0 ? '?' : '&');
+			query.append(parameter.getKey()).append('=').append(encode(parameter.getValue()));
+		}
+		return query.toString();
+	}
+
+	private static CoordinateSystem parseCrs(String crs, String parameter) throws ErrorResponse {
+		if (crs == null)
+			return DEFAULT_CRS;
+		if (!CRS.contains(crs))
+			throw new ErrorResponse(400, "Unsupported " + parameter + " " + crs);
+		return new CoordinateSystem(crs);
+	}
+
+	private static int parseCursor(String cursor) throws ErrorResponse {
+		if (cursor == null)
+			return 0;
+		try {
+			int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+			if (offset < 0)
+				throw new ErrorResponse(400, "Invalid cursor " + cursor);
+			return offset;
+		}
+		catch (IllegalArgumentException e) {
+			throw new ErrorResponse(400, "Invalid cursor " + cursor);
+		}
+	}
+
+	private static int parseInt(String value, String parameter, int defaultValue, int minimum) throws ErrorResponse {
+		if (value == null)
+			return defaultValue;
+		try {
+			int parsed = Integer.parseInt(value);
+			if (parsed < minimum)
+				throw new ErrorResponse(400, "Parameter " + parameter + " must be at least " + minimum);
+			return parsed;
+		}
+		catch (NumberFormatException e) {
+			throw new ErrorResponse(400, "Parameter " + parameter + " is not an integer: " + value);
+		}
+	}
+
+	private static BBox parseBbox(String bbox, CoordinateSystem bboxCrs) throws ErrorResponse {
+		if (bbox == null)
+			return null;
+		String[] values = bbox.split(",");
+		if (values.length != 4 && values.length != 6)
+			throw new ErrorResponse(400, "Parameter bbox must contain four or six numbers: " + bbox);
+		double[] numbers = new double[values.length];
+		try {
+			for (int i = 0; i < values.length; i++)
+				numbers[i] = Double.parseDouble(values[i].trim());
+		}
+		catch (NumberFormatException e) {
+			throw new ErrorResponse(400, "Parameter bbox must contain numbers: " + bbox);
+		}
+		int upper = numbers.length / 2;
+		BBox parsed = new BBox(numbers[0], numbers[1], numbers[upper], numbers[upper + 1], bboxCrs);
+		if (DEFAULT_CRS.equals(bboxCrs))
+			return parsed;
+		// EPSG:4326 differs from CRS84 in the axis order only, swapping the axes avoids
+		// the rounding of a transformation at the edges of the bbox
+		if (EPSG_4326.equals(bboxCrs.getCode()))
+			return new BBox(parsed.getMinY(), parsed.getMinX(), parsed.getMaxY(), parsed.getMaxX(), DEFAULT_CRS);
+		return new GeometryTransformer(bboxCrs, DEFAULT_CRS).transformEnvelope(parsed);
+	}
+
+	private static Instant[] parseDatetime(String datetime) throws ErrorResponse {
+		if (datetime == null)
+			return null;
+		String[] instants = datetime.split("/", -1);
+		if (instants.length > 2)
+			throw new ErrorResponse(400, "Parameter datetime is neither an instant nor an interval: " + datetime);
+		if (instants.length == 1) {
+			Instant instant = parseInstant(instants[0], datetime);
+			return new Instant[] { instant, instant };
+		}
+		return new Instant[] { parseInstant(instants[0], datetime), parseInstant(instants[1], datetime) };
+	}
+
+	private static Instant parseInstant(String instant, String datetime) throws ErrorResponse {
+		if (instant.isEmpty() || "..".equals(instant))
+			return null;
+		try {
+			return OffsetDateTime.parse(instant).toInstant();
+		}
+		catch (DateTimeParseException e) {
+			throw new ErrorResponse(400, "Parameter datetime is invalid: " + datetime);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> parameters = new LinkedHashMap<>();
+		if (rawQuery == null || rawQuery.isEmpty())
+			return parameters;
+		for (String parameter : rawQuery.split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator < 0)
+				parameters.put(decode(parameter), "");
+			else
+				parameters.put(decode(parameter.substring(0, separator)), decode(parameter.substring(separator + 1)));
+		}
+		return parameters;
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String encode(String value) {
+		try {
+			return URLEncoder.encode(value, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void send(HttpExchange exchange, int status, String contentType, Object body) throws IOException {
+		byte[] content = objectMapper.writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		boolean head = "HEAD".equals(exchange.getRequestMethod());
+		exchange.sendResponseHeaders(status, head ? -1 : content.length);
+		if (!head) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(content);
+			}
+		}
+	}
+
+	private void delay() {
+		if (latencyMillis <= 0)
+			return;
+		try {
+			Thread.sleep(latencyMillis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class ErrorResponse extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int status;
+
+		private ErrorResponse(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+
+	}
+
+}
@@ -0,0 +1,136 @@
+package org.opengis.cite.ogcapifeatures10.stub;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opengis.cite.ogcapifeatures10.util.JsonUtils;
+
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+public class OgcApiFeaturesStubTest {
+
+	private static OgcApiFeaturesStub stub;
+
+	private static URI landingPage;
+
+	@BeforeClass
+	public static void startStub() throws Exception {
+		stub = new OgcApiFeaturesStub(2, 25, 0);
+		landingPage = stub.start(0);
+	}
+
+	@AfterClass
+	public static void stopStub() {
+		stub.close();
+	}
+
+	@Test
+	public void testLandingPage() {
+		JsonPath jsonPath = get("").jsonPath();
+		List<Map<String, Object>> links = jsonPath.getList("links");
+
+		assertThat(JsonUtils.findLinkByRel(links, "service-desc"), notNullValue());
+		assertThat(JsonUtils.findLinkByRel(links, "conformance"), notNullValue());
+		assertThat(JsonUtils.findLinkByRel(links, "data"), notNullValue());
+	}
+
+	@Test
+	public void testApiDefinitionIsValid() throws Exception {
+		OpenApi3 apiModel = new OpenApi3Parser().parse(new URL(landingPage.resolve("api").toString()), true);
+
+		assertThat(apiModel.isValid(), is(true));
+		assertThat(apiModel.getPath("/collections/{collectionId}/items") != null, is(true));
+	}
+
+	@Test
+	public void testCollections() {
+		JsonPath jsonPath = get("collections").jsonPath();
+
+		assertThat(jsonPath.getList("collections").size(), is(2));
+		assertThat(jsonPath.getString("collections[0].id"), is("collection1"));
+	}
+
+	@Test
+	public void testItemsPaging() {
+		JsonPath firstPage = get("collections/collection1/items?limit=10").jsonPath();
+		assertThat(firstPage.getInt("numberMatched"), is(25));
+		assertThat(firstPage.getInt("numberReturned"), is(10));
+
+		Map<String, Object> next = JsonUtils.findLinkByRel(firstPage.getList("links"), "next");
+		JsonPath lastPage = given().get(next.get("href").toString()).jsonPath();
+		lastPage = given().get(JsonUtils.findLinkByRel(lastPage.getList("links"), "next").get("href").toString())
+			.jsonPath();
+		assertThat(lastPage.getInt("numberReturned"), is(5));
+		assertThat(JsonUtils.findLinkByRel(lastPage.getList("links"), "next"), nullValue());
+		assertThat(next.get("href").toString().contains("offset"), is(false));
+	}
+
+	@Test
+	public void testItemsWithBboxCrs() {
+		String bboxCrs = "&bbox-crs=http://www.opengis.net/def/crs/EPSG/0/4326";
+		JsonPath latLon = get("collections/collection1/items?limit=100&bbox=50,6,50.01,6.1" + bboxCrs).jsonPath();
+		assertThat(latLon.getInt("numberMatched"), is(3));
+
+		JsonPath lonLat = get("collections/collection1/items?limit=100&bbox=6,50,6.1,50.01" + bboxCrs).jsonPath();
+		assertThat(lonLat.getInt("numberMatched"), is(0));
+	}
+
+	@Test
+	public void testItemsWithBboxAndDatetime() {
+		JsonPath bbox = get("collections/collection1/items?limit=100&bbox=6,50,6.1,50.01").jsonPath();
+		assertThat(bbox.getInt("numberMatched"), is(3));
+
+		JsonPath datetime = get("collections/collection1/items?datetime=2020-01-01T00:00:00Z/2020-01-01T02:00:00Z")
+			.jsonPath();
+		assertThat(datetime.getInt("numberMatched"), is(3));
+
+		JsonPath openInterval = get("collections/collection1/items?datetime=../2020-01-01T00:00:00Z").jsonPath();
+		assertThat(openInterval.getInt("numberMatched"), is(1));
+	}
+
+	@Test
+	public void testItemsWithCrs() {
+		Response response = get("collections/collection1/items/1?crs=http://www.opengis.net/def/crs/EPSG/0/4326");
+
+		assertThat(response.getHeader("Content-Crs"), is("<http://www.opengis.net/def/crs/EPSG/0/4326>"));
+		assertEquals(50d, response.jsonPath().getDouble("geometry.coordinates[0]"), 0.000001);
+		assertEquals(6d, response.jsonPath().getDouble("geometry.coordinates[1]"), 0.000001);
+	}
+
+	@Test
+	public void testInvalidParameters() {
+		assertThat(get("collections/collection1/items?limit=abc").statusCode(), is(400));
+		assertThat(get("collections/collection1/items?unknown=1").statusCode(), is(400));
+		assertThat(get("collections/collection1/items?offset=10").statusCode(), is(400));
+		assertThat(get("collections/collection1/items?cursor=invalid").statusCode(), is(400));
+		assertThat(get("collections/collection1/items?crs=http://www.opengis.net/def/crs/EPSG/0/3857").statusCode(),
+				is(400));
+	}
+
+	@Test
+	public void testNotFound() {
+		assertThat(get("collections/unknown").statusCode(), is(404));
+		assertThat(get("collections/collection1/items/26").statusCode(), is(404));
+	}
+
+	private static Response get(String path) {
+		return given().urlEncodingEnabled(false).get(landingPage.resolve(path).toString());
+	}
+
+}
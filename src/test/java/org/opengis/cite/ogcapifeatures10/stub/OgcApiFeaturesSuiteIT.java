@@ -0,0 +1,121 @@
+package org.opengis.cite.ogcapifeatures10.stub;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Source;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opengis.cite.ogcapifeatures10.TestNGController;
+import org.opengis.cite.ogcapifeatures10.TestRunArg;
+import org.opengis.cite.ogcapifeatures10.util.TestSuiteLogger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Runs the whole test suite against the {@link OgcApiFeaturesStub} and logs the duration
+ * of the run, e.g. to compare the run time of commits offline. The size of the dataset
+ * and the latency of the stub are configured with the system properties
+ * <code>stub.collections</code>, <code>stub.features</code> and <code>stub.latency</code>
+ * (milliseconds).
+ *
+ * <p>
+ * The duration is only logged for a complete run: no configuration method may fail or be
+ * skipped and no test may fail (or the number given by
+ * <code>stub.expected.failed</code>). As the number of passed and skipped tests depends
+ * on the dataset, they are asserted if <code>stub.expected.passed</code> and
+ * <code>stub.expected.skipped</code> are given.
+ * </p>
+ */
+public class OgcApiFeaturesSuiteIT {
+
+	@Rule
+	public TemporaryFolder outputDir = new TemporaryFolder();
+
+	private OgcApiFeaturesStub stub;
+
+	private URI landingPage;
+
+	@Before
+	public void startStub() throws Exception {
+		stub = new OgcApiFeaturesStub(
+				Integer.getInteger("stub.collections", OgcApiFeaturesStub.DEFAULT_NUMBER_OF_COLLECTIONS),
+				Integer.getInteger("stub.features", OgcApiFeaturesStub.DEFAULT_NUMBER_OF_FEATURES),
+				Long.getLong("stub.latency", 0));
+		landingPage = stub.start(0);
+	}
+
+	@After
+	public void stopStub() {
+		stub.close();
+	}
+
+	@Test
+	public void testRunSuite() throws Exception {
+		Properties testRunProps = new Properties();
+		testRunProps.setProperty(TestRunArg.IUT.toString(), landingPage.toString());
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream(1024);
+		testRunProps.storeToXML(outStream, "Run against OGC API Features stub");
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		Document testRunArgs = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(outStream.toByteArray()));
+
+		TestNGController controller = new TestNGController(outputDir.getRoot().getAbsolutePath());
+		long start = System.nanoTime();
+		Source results = controller.doTestRun(testRunArgs);
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(results, notNullValue());
+		Map<String, Integer> testCounts = countTestMethods(dbf.newDocumentBuilder().parse(results.getSystemId()));
+		// a failed or skipped configuration method skips the tests of the class, the
+		// run is not complete
+		assertThat("Failed configuration methods", testCounts.get("config-FAIL"), nullValue());
+		assertThat("Skipped configuration methods", testCounts.get("config-SKIP"), nullValue());
+		assertThat("Failed tests", count(testCounts, "FAIL"), is(Integer.getInteger("stub.expected.failed", 0)));
+		assertThat("Passed tests", count(testCounts, "PASS") > 0, is(true));
+		if (Integer.getInteger("stub.expected.passed") != null)
+			assertThat("Passed tests", count(testCounts, "PASS"), is(Integer.getInteger("stub.expected.passed")));
+		if (Integer.getInteger("stub.expected.skipped") != null)
+			assertThat("Skipped tests", count(testCounts, "SKIP"), is(Integer.getInteger("stub.expected.skipped")));
+		assertThat(stub.getNumberOfRequests() > 0, is(true));
+
+		TestSuiteLogger.log(Level.INFO,
+				String.format("Test suite run against %s: %d ms, %d requests, %d passed, %d skipped tests", landingPage,
+						durationMillis, stub.getNumberOfRequests(), count(testCounts, "PASS"),
+						count(testCounts, "SKIP")));
+	}
+
+	private static Map<String, Integer> countTestMethods(Document testngResults) {
+		Map<String, Integer> testCounts = new HashMap<>();
+		NodeList testMethods = testngResults.getElementsByTagName("test-method");
+		for (int i = 0; i < testMethods.getLength(); i++) {
+			Element testMethod = (Element) testMethods.item(i);
+			String status = testMethod.getAttribute("status");
+			String key = Boolean.parseBoolean(testMethod.getAttribute("is-config")) ? "config-" + status : status;
+			testCounts.merge(key, 1, Integer::sum);
+		}
+		return testCounts;
+	}
+
+	private static int count(Map<String, Integer> testCounts, String status) {
+		return testCounts.getOrDefault(status, 0);
+	}
+
+}
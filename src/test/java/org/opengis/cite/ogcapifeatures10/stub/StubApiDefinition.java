@@ -0,0 +1,134 @@
+package org.opengis.cite.ogcapifeatures10.stub;
+
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.OPEN_API_MIME_TYPE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the OpenAPI 3.0 definition served by the {@link OgcApiFeaturesStub}.
+ */
+final class StubApiDefinition {
+
+	private static final String JSON = "application/json";
+
+	private static final String GEOJSON = "application/geo+json";
+
+	private StubApiDefinition() {
+	}
+
+	/**
+	 * @param serverUrl the url of the server, never <code>null</code>
+	 * @param defaultLimit the default of the parameter limit
+	 * @param maxLimit the maximum of the parameter limit
+	 * @return the API definition as nested maps, never <code>null</code>
+	 */
+	static Map<String, Object> create(String serverUrl, int defaultLimit, int maxLimit) {
+		Map<String, Object> info = new LinkedHashMap<>();
+		info.put("title", "OGC API Features stub");
+		info.put("version", "1.0.0");
+
+		Map<String, Object> paths = new LinkedHashMap<>();
+		paths.put("/", path("getLandingPage", "the landing page", Collections.emptyList(), JSON));
+		paths.put("/conformance",
+				path("getConformanceDeclaration", "the conformance classes", Collections.emptyList(), JSON));
+		paths.put("/api", path("getApiDefinition", "the API definition", Collections.emptyList(), OPEN_API_MIME_TYPE));
+		paths.put("/collections", path("getCollections", "the feature collections", Collections.emptyList(), JSON));
+		paths.put("/collections/{collectionId}", path("describeCollection", "the feature collection",
+				Collections.singletonList(pathParameter("collectionId")), JSON));
+		paths.put("/collections/{collectionId}/items", path("getFeatures", "the features of the feature collection",
+				Arrays.asList(pathParameter("collectionId"), limitParameter(defaultLimit, maxLimit), bboxParameter(),
+						queryParameter("bbox-crs", uriSchema()), queryParameter("datetime", stringSchema()),
+						queryParameter("crs", uriSchema())),
+				GEOJSON));
+		paths.put("/collections/{collectionId}/items/{featureId}",
+				path("getFeature", "the feature", Arrays.asList(pathParameter("collectionId"),
+						pathParameter("featureId"), queryParameter("crs", uriSchema())), GEOJSON));
+
+		Map<String, Object> apiDefinition = new LinkedHashMap<>();
+		apiDefinition.put("openapi", "3.0.3");
+		apiDefinition.put("info", info);
+		apiDefinition.put("servers", Collections.singletonList(Collections.singletonMap("url", serverUrl)));
+		apiDefinition.put("paths", paths);
+		return apiDefinition;
+	}
+
+	private static Map<String, Object> path(String operationId, String description, List<Object> parameters,
+			String mediaType) {
+		Map<String, Object> content = new LinkedHashMap<>();
+		content.put(mediaType, Collections.singletonMap("schema", Collections.singletonMap("type", "object")));
+		Map<String, Object> ok = new LinkedHashMap<>();
+		ok.put("description", description);
+		ok.put("content", content);
+		Map<String, Object> responses = new LinkedHashMap<>();
+		responses.put("200", ok);
+		responses.put("400", Collections.singletonMap("description", "invalid parameter"));
+		responses.put("404", Collections.singletonMap("description", "resource not found"));
+
+		Map<String, Object> get = new LinkedHashMap<>();
+		get.put("operationId", operationId);
+		get.put("parameters", new ArrayList<>(parameters));
+		get.put("responses", responses);
+		return Collections.singletonMap("get", get);
+	}
+
+	private static Map<String, Object> pathParameter(String name) {
+		Map<String, Object> parameter = new LinkedHashMap<>();
+		parameter.put("name", name);
+		parameter.put("in", "path");
+		parameter.put("required", true);
+		parameter.put("schema", stringSchema());
+		return parameter;
+	}
+
+	private static Map<String, Object> queryParameter(String name, Map<String, Object> schema) {
+		Map<String, Object> parameter = new LinkedHashMap<>();
+		parameter.put("name", name);
+		parameter.put("in", "query");
+		parameter.put("required", false);
+		parameter.put("style", "form");
+		parameter.put("explode", false);
+		parameter.put("schema", schema);
+		return parameter;
+	}
+
+	private static Map<String, Object> limitParameter(int defaultLimit, int maxLimit) {
+		Map<String, Object> schema = integerSchema(1);
+		schema.put("maximum", maxLimit);
+		schema.put("default", defaultLimit);
+		return queryParameter("limit", schema);
+	}
+
+	private static Map<String, Object> bboxParameter() {
+		Map<String, Object> schema = new LinkedHashMap<>();
+		schema.put("type", "array");
+		schema.put("minItems", 4);
+		schema.put("maxItems", 6);
+		schema.put("items", Collections.singletonMap("type", "number"));
+		return queryParameter("bbox", schema);
+	}
+
+	private static Map<String, Object> integerSchema(int minimum) {
+		Map<String, Object> schema = new LinkedHashMap<>();
+		schema.put("type", "integer");
+		schema.put("minimum", minimum);
+		return schema;
+	}
+
+	private static Map<String, Object> stringSchema() {
+		Map<String, Object> schema = new LinkedHashMap<>();
+		schema.put("type", "string");
+		return schema;
+	}
+
+	private static Map<String, Object> uriSchema() {
+		Map<String, Object> schema = stringSchema();
+		schema.put("format", "uri");
+		return schema;
+	}
+
+}
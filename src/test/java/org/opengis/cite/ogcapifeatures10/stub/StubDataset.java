@@ -0,0 +1,218 @@
+package org.opengis.cite.ogcapifeatures10.stub;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.cite.ogcapifeatures10.util.BBox;
+import org.opengis.cite.ogcapifeatures10.util.BBoxPredicate;
+
+/**
+ * Features of the {@link OgcApiFeaturesStub}, generated on request from their index.
+ *
+ * <p>
+ * The features of each collection are placed on a grid inside the {@link #EXTENT}, every
+ * second feature is a small square polygon, the others are points. The property
+ * <code>datetime</code> of the features starts at {@link #FIRST_DATETIME} and is
+ * increased by one hour per feature.
+ * </p>
+ */
+class StubDataset {
+
+	/** Spatial extent of all features in CRS84. */
+	static final BBox EXTENT = new BBox(6, 50, 10, 54);
+
+	/** Datetime of the first feature of each collection. */
+	static final Instant FIRST_DATETIME = Instant.parse("2020-01-01T00:00:00Z");
+
+	private static final int GRID_SIZE = 100;
+
+	private static final double POLYGON_SIZE = 0.01;
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	private final int numberOfCollections;
+
+	private final int numberOfFeatures;
+
+	/**
+	 * @param numberOfCollections number of collections, at least 1
+	 * @param numberOfFeatures number of features per collection, at least 1
+	 */
+	StubDataset(int numberOfCollections, int numberOfFeatures) {
+		this.numberOfCollections = numberOfCollections;
+		this.numberOfFeatures = numberOfFeatures;
+	}
+
+	/**
+	 * @return the ids of all collections, never <code>null</code>
+	 */
+	List<String> getCollectionIds() {
+		List<String> collectionIds = new ArrayList<>();
+		for (int i = 1; i <= numberOfCollections; i++)
+			collectionIds.add(collectionId(i));
+		return collectionIds;
+	}
+
+	/**
+	 * @param collectionId the id to check, may be <code>null</code>
+	 * @return <code>true</code> if the collection exists, <code>false</code> otherwise
+	 */
+	boolean hasCollection(String collectionId) {
+		return getCollectionIds().contains(collectionId);
+	}
+
+	/**
+	 * @return the datetime of the last feature of each collection, never
+	 * <code>null</code>
+	 */
+	Instant getLastDatetime() {
+		return datetime(numberOfFeatures - 1);
+	}
+
+	/**
+	 * @param featureId the id of the feature, may be <code>null</code>
+	 * @return the feature, <code>null</code> if no feature with this id exists
+	 */
+	StubFeature getFeature(String featureId) {
+		try {
+			int index = Integer.parseInt(featureId) - 1;
+			if (index < 0 || index >= numberOfFeatures)
+				return null;
+			return feature(index);
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Selects the features of a collection. All collections have the same features.
+	 * @param bbox the features must intersect, may be <code>null</code>
+	 * @param datetimeInterval the datetime of the features must be within, may be
+	 * <code>null</code>; the start or end may be <code>null</code> if open
+	 * @return the matching features in the order of their ids, never <code>null</code>
+	 */
+	List<StubFeature> selectFeatures(BBox bbox, Instant[] datetimeInterval) {
+		BBoxPredicate bboxPredicate = bbox != null ? new BBoxPredicate(bbox) : null;
+		List<StubFeature> features = new ArrayList<>();
+		for (int index = 0; index < numberOfFeatures; index++) {
+			StubFeature feature = feature(index);
+			if (bboxPredicate != null && !bboxPredicate.intersects(feature.getGeometry()))
+				continue;
+			if (datetimeInterval != null && !isWithin(feature.getDatetime(), datetimeInterval))
+				continue;
+			features.add(feature);
+		}
+		return features;
+	}
+
+	private StubFeature feature(int index) {
+		double step = Math.min(EXTENT.getMaxX() - EXTENT.getMinX(), EXTENT.getMaxY() - EXTENT.getMinY()) / GRID_SIZE;
+		double x = EXTENT.getMinX() + (index % GRID_SIZE) * step;
+		double y = EXTENT.getMinY() + ((index / GRID_SIZE) % GRID_SIZE) * step;
+		Geometry geometry = index % 2 == 0 ? point(x, y) : square(x, y);
+		return new StubFeature(String.valueOf(index + 1), geometry, datetime(index));
+	}
+
+	private Point point(double x, double y) {
+		return geometryFactory.createPoint(new Coordinate(x, y));
+	}
+
+	private Polygon square(double x, double y) {
+		return geometryFactory.createPolygon(new Coordinate[] { new Coordinate(x, y),
+				new Coordinate(x + POLYGON_SIZE, y), new Coordinate(x + POLYGON_SIZE, y + POLYGON_SIZE),
+				new Coordinate(x, y + POLYGON_SIZE), new Coordinate(x, y) });
+	}
+
+	private static Instant datetime(int index) {
+		return FIRST_DATETIME.plus(index, ChronoUnit.HOURS);
+	}
+
+	private static boolean isWithin(Instant datetime, Instant[] interval) {
+		if (interval[0] != null && datetime.isBefore(interval[0]))
+			return false;
+		return interval[1] == null || !datetime.isAfter(interval[1]);
+	}
+
+	private static String collectionId(int index) {
+		return "collection" + index;
+	}
+
+	/**
+	 * A generated feature.
+	 */
+	static class StubFeature {
+
+		private final String id;
+
+		private final Geometry geometry;
+
+		private final Instant datetime;
+
+		private StubFeature(String id, Geometry geometry, Instant datetime) {
+			this.id = id;
+			this.geometry = geometry;
+			this.datetime = datetime;
+		}
+
+		String getId() {
+			return id;
+		}
+
+		Geometry getGeometry() {
+			return geometry;
+		}
+
+		Instant getDatetime() {
+			return datetime;
+		}
+
+		/**
+		 * @param geometry the geometry to encode, e.g. the transformed geometry of this
+		 * feature, never <code>null</code>
+		 * @return the GeoJSON feature without links, never <code>null</code>
+		 */
+		Map<String, Object> asGeoJson(Geometry geometry) {
+			Map<String, Object> properties = new LinkedHashMap<>();
+			properties.put("datetime", datetime.toString());
+			Map<String, Object> feature = new LinkedHashMap<>();
+			feature.put("type", "Feature");
+			feature.put("id", id);
+			feature.put("geometry", geometryAsGeoJson(geometry));
+			feature.put("properties", properties);
+			return feature;
+		}
+
+		private static Map<String, Object> geometryAsGeoJson(Geometry geometry) {
+			Map<String, Object> geoJson = new LinkedHashMap<>();
+			geoJson.put("type", geometry.getGeometryType());
+			if (geometry instanceof Point) {
+				geoJson.put("coordinates", position(geometry.getCoordinate()));
+			}
+			else {
+				List<Object> ring = new ArrayList<>();
+				for (Coordinate coordinate : ((Polygon) geometry).getExteriorRing().getCoordinates())
+					ring.add(position(coordinate));
+				geoJson.put("coordinates", Collections.singletonList(ring));
+			}
+			return geoJson;
+		}
+
+		private static List<Double> position(Coordinate coordinate) {
+			return Arrays.asList(coordinate.getX(), coordinate.getY());
+		}
+
+	}
+
+}
@@ -0,0 +1,69 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+public class BBoxPredicateTest {
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	@Test
+	public void testIntersects_point() {
+		BBoxPredicate predicate = new BBoxPredicate(new BBox(7.0, 50.0, 8.0, 51.0));
+
+		assertThat(predicate.intersects(point(7.5, 50.5)), is(true));
+		assertThat(predicate.intersects(point(8.5, 50.5)), is(false));
+	}
+
+	@Test
+	public void testIntersects_lineCrossingBBox() {
+		BBoxPredicate predicate = new BBoxPredicate(new BBox(7.0, 50.0, 8.0, 51.0));
+		LineString crossing = geometryFactory
+			.createLineString(new Coordinate[] { new Coordinate(6.0, 50.5), new Coordinate(9.0, 50.5) });
+
+		assertThat(predicate.intersects(crossing), is(true));
+	}
+
+	@Test
+	public void testIntersects_envelopeOverlapsButGeometryOutside() {
+		BBoxPredicate predicate = new BBoxPredicate(new BBox(7.0, 50.0, 8.0, 51.0));
+		// diagonal line passing the lower right corner of the bbox
+		LineString outside = geometryFactory
+			.createLineString(new Coordinate[] { new Coordinate(7.9, 49.0), new Coordinate(9.0, 50.1) });
+
+		assertThat(predicate.intersects(outside), is(false));
+	}
+
+	@Test
+	public void testIntersects_antimeridian() {
+		BBox bbox = new BBox(177.0, 65.0, -177.0, 70.0);
+		BBoxPredicate predicate = new BBoxPredicate(bbox);
+
+		assertThat(BBoxPredicate.crossesAntimeridian(bbox), is(true));
+		assertThat(predicate.intersects(point(179.0, 67.0)), is(true));
+		assertThat(predicate.intersects(point(-178.0, 67.0)), is(true));
+		assertThat(predicate.intersects(point(0.0, 67.0)), is(false));
+		assertThat(predicate.intersects(point(179.0, 60.0)), is(false));
+	}
+
+	@Test
+	public void testIntersects_polygonContainingBBox() {
+		BBoxPredicate predicate = new BBoxPredicate(new BBox(7.0, 50.0, 8.0, 51.0));
+		Polygon polygon = geometryFactory.createPolygon(new Coordinate[] { new Coordinate(0, 40),
+				new Coordinate(20, 40), new Coordinate(20, 60), new Coordinate(0, 60), new Coordinate(0, 40) });
+
+		assertThat(predicate.intersects(polygon), is(true));
+	}
+
+	private Point point(double x, double y) {
+		return geometryFactory.createPoint(new Coordinate(x, y));
+	}
+
+}
@@ -0,0 +1,85 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BoundedCaptureStreamTest {
+
+	@Rule
+	public TemporaryFolder spillDirectory = new TemporaryFolder();
+
+	@Test
+	public void testToString_withinLimit() {
+		BoundedCaptureStream stream = new BoundedCaptureStream(10, null);
+		write(stream, "0123");
+		write(stream, "456789");
+
+		assertThat(stream.toString(), is("0123456789"));
+		assertThat(stream.getSpillFile(), nullValue());
+	}
+
+	@Test
+	public void testToString_headAndTail() {
+		BoundedCaptureStream stream = new BoundedCaptureStream(10, null);
+		write(stream, "abcde");
+		write(stream, "0123456789");
+		write(stream, "vw");
+		write(stream, "xyz");
+
+		String captured = stream.toString();
+		assertThat(captured, startsWith("abcde"));
+		assertThat(captured, containsString("[... 10 bytes omitted ...]"));
+		assertThat(captured.endsWith("vwxyz"), is(true));
+		assertThat(stream.size(), is(20L));
+	}
+
+	@Test
+	public void testToString_unlimited() {
+		BoundedCaptureStream stream = new BoundedCaptureStream(0, spillDirectory.getRoot().toPath());
+		for (int i = 0; i < 1000; i++)
+			write(stream, "0123456789");
+
+		assertThat(stream.toString().length(), is(10000));
+		assertThat(stream.getSpillFile(), nullValue());
+	}
+
+	@Test
+	public void testSpill() throws Exception {
+		Path directory = spillDirectory.getRoot().toPath().resolve("messages");
+		BoundedCaptureStream stream = new BoundedCaptureStream(8, directory);
+		write(stream, "abcdef");
+		assertThat(stream.getSpillFile(), nullValue());
+		write(stream, "0123456789");
+		write(stream, "xyz");
+		stream.close();
+
+		Path spillFile = stream.getSpillFile();
+		assertThat(spillFile, notNullValue());
+		assertThat(spillFile.getParent(), is(directory));
+		try {
+			assertThat(new String(Files.readAllBytes(spillFile), StandardCharsets.UTF_8), is("abcdef0123456789xyz"));
+			assertThat(stream.toString(), containsString(spillFile.toString()));
+		}
+		finally {
+			stream.deleteSpillFile();
+		}
+		assertThat(Files.exists(spillFile), is(false));
+	}
+
+	private void write(BoundedCaptureStream stream, String text) {
+		stream.write(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.closeJadler;
+import static net.jadler.Jadler.initJadlerListeningOn;
+import static net.jadler.Jadler.onRequest;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.restassured.response.Response;
+
+public class ConcurrencyLimiterTest {
+
+	private static final String HOST = "localhost:8090";
+
+	private HttpTransport transport;
+
+	@Before
+	public void setUp() {
+		initJadlerListeningOn(8090);
+		// without retries, the limiter sees each response
+		transport = new HttpTransport(8, 4, ResponseCache.DEFAULT_MAX_SIZE_BYTES, 1, 0);
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(200).withBody("{\"collections\":[]}");
+		onRequest().havingPathEqualTo("/overloaded")
+			.respond()
+			.withStatus(503)
+			.withHeader(ConcurrencyLimiter.RETRY_AFTER, "1");
+	}
+
+	@After
+	public void tearDown() {
+		transport.shutdown();
+		closeJadler();
+	}
+
+	@Test
+	public void testSuccessfulResponsesKeepMaximumLimit() {
+		for (int i = 0; i < 5; i++)
+			assertThat(request("/collections").statusCode(), is(200));
+
+		ConcurrencyLimiter limiter = transport.getConcurrencyLimiter();
+		assertThat(limiter.getLimit(HOST), is(4));
+		assertThat(limiter.getThrottledResponses(), is(0L));
+		assertThat(limiter.getDelayedRequests(), is(0L));
+	}
+
+	@Test
+	public void testThrottledResponseDecreasesLimitAndDelaysRequests() {
+		assertThat(request("/overloaded").statusCode(), is(503));
+
+		ConcurrencyLimiter limiter = transport.getConcurrencyLimiter();
+		assertThat(limiter.getLimit(HOST), is(3));
+		assertThat(limiter.getThrottledResponses(), is(1L));
+		List<ConcurrencyLimiter.ThrottlingEvent> events = limiter.getThrottlingEvents();
+		assertThat(events.size(), is(1));
+		assertThat(events.get(0).getStatusCode(), is(503));
+		assertThat(events.get(0).getRetryAfterMillis(), is(1000L));
+
+		long start = System.nanoTime();
+		assertThat(request("/collections").statusCode(), is(200));
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 900, is(true));
+		assertThat(limiter.getDelayedRequests(), is(1L));
+	}
+
+	@Test
+	public void testSlowResponsesKeepLimit() {
+		onRequest().havingPathEqualTo("/slow")
+			.respond()
+			.withDelay(300, TimeUnit.MILLISECONDS)
+			.withStatus(200)
+			.withBody("{}");
+		for (int i = 0; i < 3; i++)
+			assertThat(request("/collections").statusCode(), is(200));
+
+		assertThat(request("/slow").statusCode(), is(200));
+
+		assertThat(transport.getConcurrencyLimiter().getLimit(HOST), is(4));
+	}
+
+	@Test
+	public void testIsTimeout() {
+		assertThat(ConcurrencyLimiter.isTimeout(new RuntimeException(new SocketTimeoutException("Read timed out"))),
+				is(true));
+		assertThat(ConcurrencyLimiter.isTimeout(new ConnectTimeoutException("Connect timed out")), is(true));
+		assertThat(ConcurrencyLimiter.isTimeout(new ConnectException("Connection refused")), is(false));
+	}
+
+	@Test
+	public void testParseRetryAfter() {
+		Instant now = Instant.parse("2015-10-21T07:28:00Z");
+
+		assertThat(ConcurrencyLimiter.parseRetryAfter("120", now), is(120000L));
+		assertThat(ConcurrencyLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:30 GMT", now), is(30000L));
+		assertThat(ConcurrencyLimiter.parseRetryAfter("3600", now), is(120000L));
+		assertThat(ConcurrencyLimiter.parseRetryAfter("soon", now), is(0L));
+		assertThat(ConcurrencyLimiter.parseRetryAfter(null, now), is(0L));
+	}
+
+	private Response request(String path) {
+		return transport.given()
+			.filters(transport.getResponseCache(), transport.getConcurrencyLimiter())
+			.baseUri("http://localhost:8090" + path)
+			.accept("application/json")
+			.get();
+	}
+
+}
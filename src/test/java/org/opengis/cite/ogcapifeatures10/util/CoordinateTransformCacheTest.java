@@ -0,0 +1,52 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import org.junit.Test;
+import org.locationtech.proj4j.CoordinateTransform;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+public class CoordinateTransformCacheTest {
+
+	private static final CoordinateSystem EPSG_25832 = new CoordinateSystem(
+			"http://www.opengis.net/def/crs/EPSG/0/25832");
+
+	private static final CoordinateSystem EPSG_4326 = new CoordinateSystem(
+			"http://www.opengis.net/def/crs/EPSG/0/4326");
+
+	@Test
+	public void testGet_sameCrsPair() {
+		CoordinateTransformCache cache = new CoordinateTransformCache(4);
+		CoordinateTransform first = cache.get(DEFAULT_CRS, EPSG_25832);
+		CoordinateTransform second = cache.get(DEFAULT_CRS, new CoordinateSystem(EPSG_25832.getCode()));
+
+		assertThat(second, sameInstance(first));
+		assertThat(cache.getMisses(), is(1));
+	}
+
+	@Test
+	public void testGet_differentCrsPairs() {
+		CoordinateTransformCache cache = new CoordinateTransformCache(4);
+		CoordinateTransform toUtm = cache.get(DEFAULT_CRS, EPSG_25832);
+		CoordinateTransform fromUtm = cache.get(EPSG_25832, DEFAULT_CRS);
+
+		assertThat(fromUtm, not(sameInstance(toUtm)));
+		assertThat(cache.getMisses(), is(2));
+	}
+
+	@Test
+	public void testGet_evictsLeastRecentlyUsed() {
+		CoordinateTransformCache cache = new CoordinateTransformCache(1);
+		CoordinateTransform first = cache.get(DEFAULT_CRS, EPSG_25832);
+		cache.get(DEFAULT_CRS, EPSG_4326);
+		CoordinateTransform again = cache.get(DEFAULT_CRS, EPSG_25832);
+
+		assertThat(again, not(sameInstance(first)));
+		assertThat(cache.getMisses(), is(3));
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class FeatureGeometryStoreTest {
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	@Test
+	public void testPutAndGet_inMemory() {
+		try (FeatureGeometryStore store = new FeatureGeometryStore()) {
+			Geometry lineString = geometryFactory
+				.createLineString(new Coordinate[] { new Coordinate(7.5, 51.8), new Coordinate(7.6, 51.9) });
+			store.put("lakes", "1", lineString);
+
+			assertTrue(store.get("lakes", "1").equalsExact(lineString));
+			assertThat(store.get("lakes", "2"), is(nullValue()));
+			assertThat(store.get("rivers", "1"), is(nullValue()));
+			assertThat(store.getSpillSize(), is(0L));
+		}
+	}
+
+	@Test
+	public void testPutAndGet_spilled() {
+		try (FeatureGeometryStore store = new FeatureGeometryStore(50)) {
+			for (int i = 0; i < 10; i++)
+				store.put("lakes", Integer.toString(i), point(i, i + 0.5));
+
+			assertThat(store.size(), is(10));
+			assertThat(store.getSpillSize() > 0, is(true));
+			for (int i = 0; i < 10; i++)
+				assertTrue(store.get("lakes", Integer.toString(i)).equalsExact(point(i, i + 0.5)));
+		}
+	}
+
+	@Test
+	public void testPut_replacedEntryIsReleased() {
+		try (FeatureGeometryStore store = new FeatureGeometryStore(50)) {
+			for (int i = 0; i < 10; i++)
+				store.put("lakes", "1", point(i, i + 0.5));
+
+			assertThat(store.size(), is(1));
+			assertThat(store.getMemorySize(), is(21L));
+			assertThat(store.getSpillSize(), is(0L));
+			assertTrue(store.get("lakes", "1").equalsExact(point(9, 9.5)));
+		}
+	}
+
+	@Test
+	public void testPutAndGet_withZ() {
+		try (FeatureGeometryStore store = new FeatureGeometryStore()) {
+			store.put("lakes", null, geometryFactory.createPoint(new Coordinate(7.5, 51.8, 100.0)));
+
+			assertThat(store.get("lakes", null).getCoordinate().getZ(), is(100.0));
+		}
+	}
+
+	private Point point(double x, double y) {
+		return geometryFactory.createPoint(new Coordinate(x, y));
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader.GeoJsonFeature;
+
+public class FeaturesPagerTest {
+
+	@Rule
+	public JadlerServer server = new JadlerServer();
+
+	@Test
+	public void testForEachFeature() throws Exception {
+		server.servePagedItems();
+		byte[] firstPage = JadlerServer.resource("items_1-10.json");
+		List<String> featureIds = new ArrayList<>();
+
+		FeaturesPager.Statistics statistics = new FeaturesPager(null, 0, -1).forEachFeature(firstPage, DEFAULT_CRS,
+				(GeoJsonFeature feature) -> featureIds.add(feature.getId()));
+
+		assertThat(featureIds.size(), is(25));
+		assertThat(statistics.getNumberOfFeatures(), is(25L));
+		assertThat(statistics.getNumberOfPages(), is(4));
+		// the 'next' link of the empty last page is not requested
+		verifyThatRequest().receivedTimes(3);
+	}
+
+	@Test
+	public void testForEachFeature_withPagingLimit() throws Exception {
+		server.servePagedItems();
+		byte[] firstPage = JadlerServer.resource("items_1-10.json");
+		List<String> featureIds = new ArrayList<>();
+
+		FeaturesPager.Statistics statistics = new FeaturesPager(null, 0, 1).forEachFeature(firstPage, DEFAULT_CRS,
+				(GeoJsonFeature feature) -> featureIds.add(feature.getId()));
+
+		assertThat(featureIds.size(), is(20));
+		assertThat(statistics.getNumberOfPages(), is(2));
+		verifyThatRequest().receivedTimes(1);
+	}
+
+	@Test(expected = AssertionError.class)
+	public void testForEachFeature_failingCheck() throws Exception {
+		server.servePagedItems();
+		byte[] firstPage = JadlerServer.resource("items_1-10.json");
+
+		new FeaturesPager(null, 0, -1).forEachFeature(firstPage, DEFAULT_CRS, feature -> {
+			throw new AssertionError("Invalid feature " + feature.getId());
+		});
+	}
+
+}
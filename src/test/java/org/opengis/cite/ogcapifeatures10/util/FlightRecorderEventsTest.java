@@ -0,0 +1,65 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+	private static final String CRS_TRANSFORM = "org.opengis.cite.ogcapifeatures10.CrsTransform";
+
+	@Rule
+	public TemporaryFolder recordingDir = new TemporaryFolder();
+
+	@After
+	public void tearDown() {
+		FlightRecorderEvents.setEnabled(false);
+		FlightRecorderEvents.joinContext(null);
+	}
+
+	@Test
+	public void testNoEventIfDisabled() {
+		assertThat(FlightRecorderEvents.begin(FlightRecorderEvents.CrsTransformEvent::new), nullValue());
+	}
+
+	@Test
+	public void testTransformIsRecorded() throws Exception {
+		FlightRecorderEvents.setEnabled(true);
+		FlightRecorderEvents.bindContext("FeaturesCrsParameterTransform#verifyFeatureCrsParameterTransform",
+				"collection1");
+		Path recordingFile = recordingDir.getRoot().toPath().resolve("ets.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(CRS_TRANSFORM);
+			recording.start();
+			new GeometryTransformer(new CoordinateSystem("http://www.opengis.net/def/crs/EPSG/0/25832"),
+					new CoordinateSystem("http://www.opengis.net/def/crs/OGC/1.3/CRS84"))
+				.transform(new double[] { 500000, 5500000, 510000, 5510000 }, 2);
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile)
+			.stream()
+			.filter(event -> CRS_TRANSFORM.equals(event.getEventType().getName()))
+			.collect(Collectors.toList());
+		assertThat(events.size(), is(1));
+		assertThat(events.get(0).getInt("coordinates"), is(2));
+		assertThat(events.get(0).getString("collectionId"), is("collection1"));
+		assertThat(events.get(0).getString("sourceCrs"), is("http://www.opengis.net/def/crs/EPSG/0/25832"));
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.opengis.cite.ogcapifeatures10.util.GeoJsonFeatureReader.GeoJsonFeature;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.path.json.config.JsonPathConfig.NumberReturnType;
+
+public class GeoJsonFeatureReaderTest {
+
+	@Test
+	public void testNext() throws Exception {
+		InputStream features = getClass()
+			.getResourceAsStream("../conformance/core/collections/collectionItems-flurstueck.json");
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(features, DEFAULT_CRS)) {
+			GeoJsonFeature feature = reader.next();
+			assertThat(feature.getId(), is("DENW19AL0000geMFFL"));
+			assertThat(feature.getGeometry(), instanceOf(MultiPolygon.class));
+			assertThat(feature.getGeometry().getSRID(), is(DEFAULT_CRS.getSrid()));
+			while (reader.next() != null) {
+				// count the remaining features
+			}
+			assertThat(reader.getNumberOfFeatures(), is(10));
+		}
+	}
+
+	@Test
+	public void testNext_sameGeometryAsParseFeatureGeometry() throws Exception {
+		// the responses of the suite are parsed with doubles, floats would round the
+		// coordinates
+		JsonPath jsonPath = new JsonPath(
+				getClass().getResourceAsStream("../conformance/core/collections/collectionItems-flurstueck.json"))
+			.using(JsonPathConfig.jsonPathConfig().numberReturnType(NumberReturnType.DOUBLE));
+		List<Map<String, Object>> features = jsonPath.getList("features");
+		InputStream collection = getClass()
+			.getResourceAsStream("../conformance/core/collections/collectionItems-flurstueck.json");
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(collection, DEFAULT_CRS)) {
+			for (Map<String, Object> feature : features) {
+				Geometry expected = JsonUtils.parseFeatureGeometry(feature, DEFAULT_CRS);
+				assertThat(reader.next().getGeometry().equalsExact(expected), is(true));
+			}
+			assertThat(reader.next(), nullValue());
+		}
+	}
+
+	@Test
+	public void testNext_featuresWithoutId() throws Exception {
+		InputStream features = getClass().getResourceAsStream("items_1-10.json");
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(features, DEFAULT_CRS)) {
+			GeoJsonFeature feature = reader.next();
+			assertThat(feature.getId(), nullValue());
+			assertThat(feature.getGeometry(), instanceOf(Polygon.class));
+		}
+	}
+
+	@Test
+	public void testNext_invalidGeometry() throws Exception {
+		String json = "{\"type\":\"FeatureCollection\",\"features\":["
+				+ "{\"type\":\"Feature\",\"id\":1,\"geometry\":{\"type\":\"Point\",\"coordinates\":[7.0,\"a\"]}},"
+				+ "{\"type\":\"Feature\",\"id\":2,\"geometry\":null},"
+				+ "{\"type\":\"Feature\",\"id\":3,\"geometry\":{\"type\":\"Point\",\"coordinates\":[7.0,51.0]}}]}";
+		try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(json.getBytes(StandardCharsets.UTF_8),
+				DEFAULT_CRS)) {
+			GeoJsonFeature invalid = reader.next();
+			assertThat(invalid.getId(), is("1"));
+			assertThat(invalid.getGeometry(), nullValue());
+			assertThat(invalid.getInvalidGeometry(), notNullValue());
+
+			GeoJsonFeature withoutGeometry = reader.next();
+			assertThat(withoutGeometry.getGeometry(), nullValue());
+			assertThat(withoutGeometry.getInvalidGeometry(), nullValue());
+
+			GeoJsonFeature point = reader.next();
+			assertThat(point.getId(), is("3"));
+			assertThat(point.getGeometry(), instanceOf(Point.class));
+			assertThat(reader.next(), nullValue());
+		}
+	}
+
+	@Test
+	public void testReadFeatureGeometry() throws Exception {
+		String json = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"GeometryCollection\",\"geometries\":["
+				+ "{\"type\":\"Point\",\"coordinates\":[7.0,51.0,100.0]},"
+				+ "{\"type\":\"LineString\",\"coordinates\":[[7.0,51.0],[8.0,52.0]]}]},\"properties\":{}}";
+		Geometry geometry = GeoJsonFeatureReader.readFeatureGeometry(json.getBytes(StandardCharsets.UTF_8),
+				DEFAULT_CRS);
+		assertThat(geometry, instanceOf(GeometryCollection.class));
+		assertThat(geometry.getNumGeometries(), is(2));
+		assertThat(geometry.getCoordinates()[0].getZ(), is(100.0));
+	}
+
+	@Test(expected = ParseException.class)
+	public void testReadFeatureGeometry_invalid() throws Exception {
+		String json = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[7.0,51.0]}}";
+		GeoJsonFeatureReader.readFeatureGeometry(json.getBytes(StandardCharsets.UTF_8), DEFAULT_CRS);
+	}
+
+}
@@ -0,0 +1,69 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
+
+public class GeometryComparisonTest {
+
+	private static final CoordinateSystem EPSG_25832 = new CoordinateSystem(
+			"http://www.opengis.net/def/crs/EPSG/0/25832");
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	@Test
+	public void testCompare_matching() {
+		GeometryComparison comparison = new GeometryComparison(EPSG_25832, DEFAULT_CRS,
+				GeometryComparison.DEFAULT_TOLERANCE);
+		comparison.add("1", point(400060.46, 5742012.57), point(7.55, 51.82));
+
+		GeometryComparison.Result result = comparison.compare();
+
+		assertThat(result.isMatching(), is(true));
+		assertThat(result.getNumberOfCompared(), is(1));
+	}
+
+	@Test
+	public void testCompare_parallel() {
+		GeometryComparison comparison = new GeometryComparison(EPSG_25832, DEFAULT_CRS,
+				GeometryComparison.DEFAULT_TOLERANCE);
+		for (int i = 0; i < 1000; i++) {
+			if (i == 10 || i == 500)
+				comparison.add(Integer.toString(i), point(400060.46, 5742012.57), point(8.55, 51.82));
+			else if (i == 700)
+				comparison.add(Integer.toString(i), null, point(7.55, 51.82));
+			else
+				comparison.add(Integer.toString(i), point(400060.46, 5742012.57), point(7.55, 51.82));
+		}
+
+		GeometryComparison.Result result = comparison.compare();
+
+		assertThat(result.isMatching(), is(false));
+		assertThat(result.getNumberOfCompared(), is(999));
+		assertThat(result.getNumberOfSkipped(), is(1));
+		assertThat(result.getMismatchingFeatureIds(), is(Arrays.asList("10", "500")));
+	}
+
+	@Test
+	public void testIsAxisOrderOfAuthority() {
+		CoordinateSystem unbundled = new CoordinateSystem("http://www.opengis.net/def/crs/EPSG/0/999999");
+
+		assertThat(new GeometryComparison(EPSG_25832, DEFAULT_CRS, GeometryComparison.DEFAULT_TOLERANCE)
+			.isAxisOrderOfAuthority(), is(true));
+		assertThat(new GeometryComparison(unbundled, DEFAULT_CRS, GeometryComparison.DEFAULT_TOLERANCE)
+			.isAxisOrderOfAuthority(), is(false));
+	}
+
+	private Point point(double x, double y) {
+		return geometryFactory.createPoint(new Coordinate(x, y));
+	}
+
+}
@@ -1,12 +1,14 @@
 package org.opengis.cite.ogcapifeatures10.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
 
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
 import org.opengis.cite.ogcapifeatures10.conformance.crs.query.crs.CoordinateSystem;
 
 /**
@@ -78,4 +80,40 @@ public class GeometryTransformerTest {
 		assertEquals(5776983.09, transformedBbox.getMaxY(), 0.01);
 	}
 
+	@Test
+	public void test_transformEnvelope_BBox() {
+		GeometryTransformer geometryTransformer = new GeometryTransformer(DEFAULT_CRS, EPSG_25832);
+		BBox bbox = new BBox(7.55, 51.82, 8.11, 52.14, DEFAULT_CRS);
+		BBox transformedBbox = geometryTransformer.transformEnvelope(bbox);
+		// the lower edge is curved, the lower right corner is south of the lower left one
+		Point lowerRight = geometryTransformer.transform(geometryFactory.createPoint(new Coordinate(8.11, 51.82)));
+		assertEquals(400060.46, transformedBbox.getMinX(), 0.01);
+		assertEquals(lowerRight.getY(), transformedBbox.getMinY(), 0.01);
+		assertTrue(transformedBbox.getMinY() < geometryTransformer.transform(bbox).getMinY());
+		assertEquals(EPSG_25832, transformedBbox.getCrs());
+	}
+
+	@Test
+	public void test_transform_Polygon_CRS84_25832() {
+		GeometryTransformer geometryTransformer = new GeometryTransformer(DEFAULT_CRS, EPSG_25832);
+		Polygon polygonToTransform = geometryFactory.createPolygon(new Coordinate[] { new Coordinate(7.55, 51.82),
+				new Coordinate(8.11, 51.82), new Coordinate(8.11, 52.14), new Coordinate(7.55, 51.82) });
+		Polygon transformedPolygon = geometryTransformer.transform(polygonToTransform);
+		assertEquals(4, transformedPolygon.getNumPoints());
+		assertEquals(400060.46, transformedPolygon.getCoordinates()[0].x, 0.01);
+		assertEquals(5742012.57, transformedPolygon.getCoordinates()[0].y, 0.01);
+		assertEquals(400060.46, transformedPolygon.getCoordinates()[3].x, 0.01);
+	}
+
+	@Test
+	public void test_transform_packedOrdinates() {
+		GeometryTransformer geometryTransformer = new GeometryTransformer(DEFAULT_CRS, EPSG_25832);
+		double[] ordinates = { 7.55, 51.82, 8.11, 52.14 };
+		geometryTransformer.transform(ordinates, 2);
+		assertEquals(400060.46, ordinates[0], 0.01);
+		assertEquals(5742012.57, ordinates[1], 0.01);
+		assertEquals(439092.40, ordinates[2], 0.01);
+		assertEquals(5776983.09, ordinates[3], 0.01);
+	}
+
 }
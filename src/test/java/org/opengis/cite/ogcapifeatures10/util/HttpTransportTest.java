@@ -0,0 +1,59 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.closeJadler;
+import static net.jadler.Jadler.initJadlerListeningOn;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpTransportTest {
+
+	private HttpTransport transport;
+
+	@Before
+	public void setUp() {
+		initJadlerListeningOn(8090);
+		transport = new HttpTransport(4, 2);
+	}
+
+	@After
+	public void tearDown() {
+		transport.shutdown();
+		closeJadler();
+	}
+
+	@Test
+	public void testConnectionIsReused() {
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(200).withBody("{}");
+
+		for (int i = 0; i < 3; i++) {
+			int statusCode = transport.given().baseUri("http://localhost:8090/collections").get().statusCode();
+			assertThat(statusCode, is(200));
+		}
+
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(3);
+		assertThat(transport.getPoolStats().getLeased(), is(0));
+		assertThat(transport.getPoolStats().getAvailable(), is(1));
+	}
+
+	@Test
+	public void testPoolIsSharedWithDirectRequests() {
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(200).withBody("{}");
+
+		int statusCode = transport.given().baseUri("http://localhost:8090/collections").get().statusCode();
+		boolean is200 = ClientUtils.is200Response(transport, URI.create("http://localhost:8090/collections"));
+
+		assertThat(statusCode, is(200));
+		assertThat(is200, is(true));
+		assertThat(transport.getPoolStats().getLeased(), is(0));
+		assertThat(transport.getPoolStats().getAvailable(), is(1));
+	}
+
+}
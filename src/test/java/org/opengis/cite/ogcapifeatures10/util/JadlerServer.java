@@ -0,0 +1,74 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.closeJadler;
+import static net.jadler.Jadler.initJadlerListeningOn;
+import static net.jadler.Jadler.onRequest;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.IOException;
+
+import org.junit.rules.ExternalResource;
+
+/**
+ * Rule starting a jadler server before and closing it after each test.
+ *
+ * <p>
+ * The server listens on {@link #PORT}, which is the port used in the links of the paged
+ * features (items_*.json) in the test resources.
+ * </p>
+ */
+public class JadlerServer extends ExternalResource {
+
+	/** Constant <code>PORT=8090</code> */
+	public static final int PORT = 8090;
+
+	/** Constant <code>BASE_URL="http://localhost:8090"</code> */
+	public static final String BASE_URL = "http://localhost:" + PORT;
+
+	/** Constant <code>ITEMS_URL="http://localhost:8090/collections/lakes/items"</code> */
+	public static final String ITEMS_URL = BASE_URL + "/collections/lakes/items";
+
+	@Override
+	protected void before() {
+		initJadlerListeningOn(PORT);
+	}
+
+	@Override
+	protected void after() {
+		closeJadler();
+	}
+
+	/**
+	 * Serves the 25 features of the collection 'lakes' in pages of 10 features, the pages
+	 * are linked by 'next' links with the parameter 'startindex'.
+	 */
+	public void servePagedItems() {
+		onRequest().havingParameter("startindex", nullValue()).respond().withBody(resource("items_1-10.json"));
+		onRequest().havingParameterEqualTo("startindex", "10").respond().withBody(resource("items_11-20.json"));
+		onRequest().havingParameterEqualTo("startindex", "20").respond().withBody(resource("items_21-30.json"));
+		onRequest().havingParameter("startindex", allOf(notNullValue(), not(hasItems("10")), not(hasItems("20"))))
+			.respond()
+			.withBody(resource("items_31-40.json"));
+	}
+
+	/**
+	 * <p>
+	 * Reads a resource next to this class.
+	 * </p>
+	 * @param name name of the resource, never <code>null</code>
+	 * @return the content of the resource, never <code>null</code>
+	 */
+	public static byte[] resource(String name) {
+		try {
+			return JadlerServer.class.getResourceAsStream(name).readAllBytes();
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Could not read test resource " + name, e);
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+
+public class JsonDocumentsTest {
+
+	@Test
+	public void testPut() {
+		JsonDocuments<String> documents = new JsonDocuments<>();
+		documents.put("lakes", new ParsedResponse(mockResponse("{\"id\":\"lakes\"}")));
+		documents.put("rivers", new ParsedResponse(mockResponse("{\"id\":\"rivers\"}")));
+
+		assertThat(documents.size(), is(2));
+		assertThat(documents.get("rivers").getString("id"), is("rivers"));
+		assertThat(documents.getByteLength(), is(29L));
+	}
+
+	private Response mockResponse(String body) {
+		Response response = mock(Response.class);
+		when(response.jsonPath(any(JsonPathConfig.class)))
+			.thenAnswer(invocation -> new JsonPath(body).using((JsonPathConfig) invocation.getArgument(0)));
+		when(response.asString()).thenReturn(body);
+		when(response.asByteArray()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+		return response;
+	}
+
+}
@@ -1,20 +1,13 @@
 package org.opengis.cite.ogcapifeatures10.util;
 
-import static net.jadler.Jadler.closeJadler;
-import static net.jadler.Jadler.initJadlerListeningOn;
-import static net.jadler.Jadler.onRequest;
-import static org.hamcrest.CoreMatchers.allOf;
-import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.CoreMatchers.not;
-import static org.hamcrest.CoreMatchers.notNullValue;
-import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
 import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.GEOJSON_MIME_TYPE;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.PAGING_LIMIT;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.collectNumberOfAllReturnedFeatures;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findFeatureUrlForGeoJson;
 import static org.opengis.cite.ogcapifeatures10.util.JsonUtils.findFeaturesUrlForGeoJson;
@@ -47,9 +40,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.junit.After;
-import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.MultiPolygon;
@@ -76,15 +68,8 @@ public class JsonUtilsTest {
 		jsonCollectionItem = new JsonPath(collectionItemsJson);
 	}
 
-	@Before
-	public void setUp() {
-		initJadlerListeningOn(8090);
-	}
-
-	@After
-	public void tearDown() {
-		closeJadler();
-	}
+	@Rule
+	public JadlerServer server = new JadlerServer();
 
 	@Test
 	public void testParseFeatureId() {
@@ -287,15 +272,26 @@ public class JsonUtilsTest {
 
 	@Test
 	public void testCollectNumberOfAllReturnedFeatures() throws Exception {
-		prepareJadler();
-		URL json = new URL("http://localhost:8090/collections/lakes/items");
+		server.servePagedItems();
+		URL json = new URL(JadlerServer.ITEMS_URL);
 		JsonPath jsonPath = new JsonPath(json);
 
-		int numberOfAllFeatures = collectNumberOfAllReturnedFeatures(jsonPath, -1);
+		int numberOfAllFeatures = collectNumberOfAllReturnedFeatures(null, null, jsonPath, -1, PAGING_LIMIT);
 
 		assertThat(numberOfAllFeatures, is(25));
 	}
 
+	@Test
+	public void testCollectNumberOfAllReturnedFeatures_withPagingLimit() throws Exception {
+		server.servePagedItems();
+		URL json = new URL(JadlerServer.ITEMS_URL);
+		JsonPath jsonPath = new JsonPath(json);
+
+		assertThat(collectNumberOfAllReturnedFeatures(null, null, jsonPath, -1, 0), is(10));
+		assertThat(collectNumberOfAllReturnedFeatures(null, null, jsonPath, -1, 1), is(20));
+		assertThat(collectNumberOfAllReturnedFeatures(null, null, jsonPath, -1, -1), is(25));
+	}
+
 	@Test
 	public void testParseFeatureGeometry() throws Exception {
 		List<Map<String, Object>> features = jsonCollectionItem.getList("features");
@@ -304,22 +300,6 @@ public class JsonUtilsTest {
 		assertThat(geometry, instanceOf(MultiPolygon.class));
 	}
 
-	private void prepareJadler() {
-		InputStream item1_10 = getClass().getResourceAsStream("items_1-10.json");
-		onRequest().havingParameter("startindex", nullValue()).respond().withBody(item1_10);
-
-		InputStream item11_20 = getClass().getResourceAsStream("items_11-20.json");
-		onRequest().havingParameterEqualTo("startindex", "10").respond().withBody(item11_20);
-
-		InputStream item21_30 = getClass().getResourceAsStream("items_21-30.json");
-		onRequest().havingParameterEqualTo("startindex", "20").respond().withBody(item21_30);
-
-		InputStream item31_40 = getClass().getResourceAsStream("items_31-40.json");
-		onRequest().havingParameter("startindex", allOf(notNullValue(), not(hasItems("10")), not(hasItems("20"))))
-			.respond()
-			.withBody(item31_40);
-	}
-
 	private Map<String, Object> createItemsLinks(String href) {
 		Map<String, Object> link = new HashMap<>();
 		link.put("rel", "items");
@@ -0,0 +1,55 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThat(histogram.getTotalCount(), is(0L));
+		assertThat(histogram.getValueAtPercentile(99), is(0L));
+		assertEquals(0d, histogram.getMean(), 0d);
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 100; value++)
+			histogram.record(value);
+
+		assertThat(histogram.getValueAtPercentile(50), is(50L));
+		assertThat(histogram.getValueAtPercentile(99), is(99L));
+		assertThat(histogram.getValueAtPercentile(100), is(100L));
+		assertEquals(50.5, histogram.getMean(), 0.0001);
+	}
+
+	@Test
+	public void testPercentilesOfLargeValuesHaveBoundedError() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 100000; value++)
+			histogram.record(value);
+
+		assertEquals(50000, histogram.getValueAtPercentile(50), 50000 * 0.016);
+		assertEquals(90000, histogram.getValueAtPercentile(90), 90000 * 0.016);
+		assertEquals(99900, histogram.getValueAtPercentile(99.9), 99900 * 0.016);
+		assertThat(histogram.getMax(), is(100000L));
+		assertThat(histogram.getTotalCount(), is(100000L));
+	}
+
+	@Test
+	public void testBucketBoundaries() {
+		for (long value : new long[] { 0, 127, 128, 129, 255, 256, 1000, 123456789, Long.MAX_VALUE }) {
+			int index = LatencyHistogram.bucketIndex(value);
+			long highest = LatencyHistogram.highestValueInBucket(index);
+			assertThat(value <= highest, is(true));
+			assertThat(LatencyHistogram.bucketIndex(highest), is(index));
+		}
+	}
+
+}
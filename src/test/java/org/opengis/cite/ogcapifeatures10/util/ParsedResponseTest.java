@@ -0,0 +1,90 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.path.json.config.JsonPathConfig.NumberReturnType;
+import io.restassured.response.Response;
+
+public class ParsedResponseTest {
+
+	private static final String BODY = "{\"id\":\"lakes\","
+			+ "\"extent\":{\"spatial\":{\"bbox\":[[7.0123456789,50.6,7.6,53.2]]}}}";
+
+	@Test
+	public void testJsonPath_parsedOnce() {
+		Response response = mockResponse();
+		ParsedResponse parsedResponse = new ParsedResponse(response);
+
+		JsonPath first = parsedResponse.jsonPath();
+		JsonPath second = parsedResponse.jsonPath();
+
+		assertThat(second, sameInstance(first));
+		assertThat(first.getString("id"), is("lakes"));
+		assertThat(parsedResponse.getParseCount(), is(1));
+		verify(response, times(1)).jsonPath(any(JsonPathConfig.class));
+	}
+
+	@Test
+	public void testJsonPath_parsedOncePerNumberReturnType() {
+		Response response = mockResponse();
+		ParsedResponse parsedResponse = new ParsedResponse(response);
+		JsonPathConfig floats = JsonPathConfig.jsonPathConfig().numberReturnType(NumberReturnType.FLOAT_AND_DOUBLE);
+
+		JsonPath defaultNumbers = parsedResponse.jsonPath();
+		JsonPath floatNumbers = parsedResponse.jsonPath(floats);
+		parsedResponse.jsonPath(floats);
+
+		assertThat(floatNumbers, not(sameInstance(defaultNumbers)));
+		assertThat(parsedResponse.getParseCount(), is(2));
+	}
+
+	@Test
+	public void testJsonPath_lookupsDoNotParseAgain() {
+		JsonPath parsed = spy(
+				new JsonPath(BODY).using(JsonPathConfig.jsonPathConfig().numberReturnType(NumberReturnType.DOUBLE)));
+		Response response = mock(Response.class);
+		when(response.jsonPath(any(JsonPathConfig.class))).thenReturn(parsed);
+		when(response.asString()).thenReturn(BODY);
+
+		JsonPath jsonPath = new ParsedResponse(response).jsonPath();
+
+		assertThat(jsonPath.getString("id"), is("lakes"));
+		assertThat(jsonPath.getDouble("extent.spatial.bbox[0][2]"), is(7.6));
+		assertThat(jsonPath.getList("extent.spatial.bbox").size(), is(1));
+		verify(parsed, times(1)).get(anyString());
+	}
+
+	@Test
+	public void testJsonPath_decimalsAreDoubles() {
+		ParsedResponse parsedResponse = new ParsedResponse(mockResponse());
+
+		Object minX = parsedResponse.jsonPath().getList("extent.spatial.bbox[0]").get(0);
+
+		assertThat(minX, instanceOf(Double.class));
+		assertThat((Double) minX, is(7.0123456789));
+	}
+
+	private Response mockResponse() {
+		Response response = mock(Response.class);
+		when(response.jsonPath(any(JsonPathConfig.class)))
+			.thenAnswer(invocation -> new JsonPath(BODY).using((JsonPathConfig) invocation.getArgument(0)));
+		when(response.asString()).thenReturn(BODY);
+		return response;
+	}
+
+}
@@ -0,0 +1,42 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class Proj4DefinitionsTest {
+
+	@Test
+	public void testGetParameters_epsg() {
+		assertThat(Proj4Definitions.getParameters("EPSG:25832"),
+				is("+proj=utm +zone=32 +ellps=GRS80 +towgs84=0,0,0,0,0,0,0 +units=m +no_defs"));
+	}
+
+	@Test
+	public void testGetParameters_ogc() {
+		assertThat(Proj4Definitions.getParameters("OGC:CRS84"), is("+proj=longlat +datum=WGS84 +no_defs +axis=enu"));
+	}
+
+	@Test
+	public void testGetParameters_unknown() {
+		assertThat(Proj4Definitions.getParameters("EPSG:1"), is(nullValue()));
+		assertThat(Proj4Definitions.getParameters("UNKNOWN:4326"), is(nullValue()));
+	}
+
+	@Test
+	public void testParseDefinitions() throws Exception {
+		String content = "# comment\n<4326> +proj=longlat +datum=WGS84 +no_defs  <>\n\n<invalid\n";
+		Map<String, String> definitions = Proj4Definitions
+			.parseDefinitions(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)));
+
+		assertThat(definitions.size(), is(1));
+		assertThat(definitions.get("4326"), is("+proj=longlat +datum=WGS84 +no_defs"));
+	}
+
+}
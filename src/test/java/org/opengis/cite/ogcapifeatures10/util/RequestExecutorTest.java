@@ -0,0 +1,74 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+public class RequestExecutorTest {
+
+	@Test
+	public void testInvokeAll_sequential() {
+		RequestExecutor executor = RequestExecutor.sequential();
+		Thread caller = Thread.currentThread();
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			tasks.add(() -> Thread.currentThread() == caller);
+		}
+
+		List<Boolean> results = executor.invokeAll(tasks);
+
+		assertFalse(executor.isConcurrent());
+		assertThat(results, is(Arrays.asList(true, true, true)));
+	}
+
+	@Test
+	public void testInvokeAll_concurrent() {
+		RequestExecutor executor = RequestExecutor.concurrent();
+		try {
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				int value = i;
+				tasks.add(() -> {
+					Thread.sleep(10);
+					return value;
+				});
+			}
+
+			List<Integer> results = executor.invokeAll(tasks);
+
+			assertTrue(executor.isConcurrent());
+			assertThat(results.size(), is(100));
+			for (int i = 0; i < 100; i++) {
+				assertThat(results.get(i), is(i));
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = AssertionError.class)
+	public void testInvokeAll_concurrentRethrowsError() {
+		RequestExecutor executor = RequestExecutor.concurrent();
+		try {
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			tasks.add(() -> 1);
+			tasks.add(() -> {
+				throw new AssertionError("failed");
+			});
+			executor.invokeAll(tasks);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.closeJadler;
+import static net.jadler.Jadler.initJadlerListeningOn;
+import static net.jadler.Jadler.onRequest;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.cite.ogcapifeatures10.util.RequestMetrics.Endpoint;
+
+public class RequestMetricsTest {
+
+	private static final URI ROOT_URI = URI.create("http://localhost:8090/features/");
+
+	private HttpTransport transport;
+
+	@Before
+	public void setUp() {
+		initJadlerListeningOn(8090);
+		transport = new HttpTransport(4, 2);
+		onRequest().havingPathEqualTo("/features/collections")
+			.respond()
+			.withStatus(200)
+			.withBody("{\"collections\":[]}");
+	}
+
+	@After
+	public void tearDown() {
+		RequestMetrics.endTest();
+		transport.shutdown();
+		closeJadler();
+	}
+
+	@Test
+	public void testEndpointOf() {
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features")), is(Endpoint.LANDING_PAGE));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/conformance?f=json")),
+				is(Endpoint.CONFORMANCE));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/api")), is(Endpoint.API));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/collections")),
+				is(Endpoint.COLLECTIONS));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/collections/c1")),
+				is(Endpoint.COLLECTION));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/collections/c1/items?limit=5")),
+				is(Endpoint.ITEMS));
+		assertThat(Endpoint.of(ROOT_URI, URI.create("http://localhost:8090/features/collections/c1/items/42")),
+				is(Endpoint.ITEM));
+		assertThat(Endpoint.of(null, URI.create("http://localhost:8090/queryables")), is(Endpoint.OTHER));
+	}
+
+	@Test
+	public void testRequestsAreRecorded() {
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.startTest();
+		request();
+		request();
+
+		RequestMetrics requestMetrics = transport.getRequestMetrics();
+		assertThat(requestMetrics.getLatency(Endpoint.COLLECTIONS).getTotalCount(), is(1L));
+		assertThat(requestMetrics.getTimeToFirstByte(Endpoint.COLLECTIONS).getTotalCount(), is(1L));
+		assertThat(testMetrics.getNumberOfRequests(), is(1L));
+		assertThat(testMetrics.toString(), containsString("COLLECTIONS: 1 requests"));
+
+		String report = requestMetrics.createReport();
+		assertThat(report, containsString("COLLECTIONS"));
+		assertThat(report, containsString("{200=1}"));
+		assertThat(report, containsString("1 requests, 18 bytes"));
+	}
+
+	@Test
+	public void testEndTestUnbindsMetrics() {
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.startTest();
+
+		assertThat(RequestMetrics.endTest(), is(testMetrics));
+		assertThat(RequestMetrics.currentTest(), nullValue());
+	}
+
+	private void request() {
+		transport.given()
+			.filters(new RequestMetricsFilter(transport.getRequestMetrics(), ROOT_URI), transport.getResponseCache())
+			.baseUri("http://localhost:8090/features/collections")
+			.accept("application/json")
+			.get();
+	}
+
+}
@@ -0,0 +1,126 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.closeJadler;
+import static net.jadler.Jadler.initJadlerListeningOn;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.response.Response;
+
+public class ResponseCacheTest {
+
+	private HttpTransport transport;
+
+	@Before
+	public void setUp() {
+		initJadlerListeningOn(8090);
+		transport = new HttpTransport(4, 2);
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(200).withBody("{\"collections\":[]}");
+	}
+
+	@After
+	public void tearDown() {
+		transport.shutdown();
+		closeJadler();
+	}
+
+	@Test
+	public void testIdenticalRequestsAreServedOnce() {
+		Response first = request("application/json", "f", "json");
+		Response second = request("application/json", "f", "json");
+
+		assertThat(second.statusCode(), is(200));
+		assertThat(second.asString(), is(first.asString()));
+		assertThat(second.jsonPath().getList("collections").size(), is(0));
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(1);
+		assertThat(transport.getResponseCache().getHits(), is(1L));
+		assertThat(transport.getResponseCache().getMisses(), is(1L));
+	}
+
+	@Test
+	public void testMessagesAreCapturedOnCacheHit() {
+		request("application/json", "f", "json");
+		ByteArrayOutputStream requestLog = new ByteArrayOutputStream();
+		ByteArrayOutputStream responseLog = new ByteArrayOutputStream();
+
+		transport.given()
+			.filters(transport.getResponseCache(),
+					new CaptureFilter(new RequestLoggingFilter(new PrintStream(requestLog, true))),
+					new CaptureFilter(new ResponseLoggingFilter(new PrintStream(responseLog, true))))
+			.baseUri("http://localhost:8090/collections")
+			.accept("application/json")
+			.queryParam("f", "json")
+			.get();
+
+		assertThat(transport.getResponseCache().getHits(), is(1L));
+		assertThat(requestLog.toString(), containsString("http://localhost:8090/collections?f=json"));
+		assertThat(responseLog.toString(), containsString("\"collections\""));
+	}
+
+	@Test
+	public void testDifferentRequestsAreNotServedFromCache() {
+		request("application/json", "f", "json");
+		request("application/geo+json", "f", "json");
+		request("application/json", "f", "html");
+
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(3);
+		assertThat(transport.getResponseCache().getHits(), is(0L));
+	}
+
+	@Test
+	public void testRefreshingBypassesCache() {
+		request("application/json", "f", "json");
+		transport.given()
+			.filter(transport.getResponseCache().refreshing())
+			.baseUri("http://localhost:8090/collections")
+			.accept("application/json")
+			.param("f", "json")
+			.get();
+		request("application/json", "f", "json");
+
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(2);
+		verifyThatRequest().havingHeader("Cache-Control").receivedNever();
+		assertThat(transport.getResponseCache().getHits(), is(1L));
+		assertThat(transport.getResponseCache().getBypasses(), is(1L));
+	}
+
+	@Test
+	public void testCacheCanBeDisabled() {
+		HttpTransport uncachedTransport = new HttpTransport(4, 2, 0);
+		try {
+			for (int i = 0; i < 2; i++)
+				uncachedTransport.given()
+					.filter(uncachedTransport.getResponseCache())
+					.baseUri("http://localhost:8090/collections")
+					.get();
+		}
+		finally {
+			uncachedTransport.shutdown();
+		}
+
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(2);
+		assertThat(uncachedTransport.getResponseCache().getHits(), is(0L));
+	}
+
+	private Response request(String accept, String paramName, String paramValue) {
+		return transport.given()
+			.filter(transport.getResponseCache())
+			.baseUri("http://localhost:8090/collections")
+			.accept(accept)
+			.param(paramName, paramValue)
+			.get();
+	}
+
+}
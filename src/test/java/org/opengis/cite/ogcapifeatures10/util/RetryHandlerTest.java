@@ -0,0 +1,166 @@
+package org.opengis.cite.ogcapifeatures10.util;
+
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.opengis.cite.ogcapifeatures10.OgcApiFeatures10.DEFAULT_CRS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.SocketException;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.response.Response;
+
+public class RetryHandlerTest {
+
+	@Rule
+	public JadlerServer server = new JadlerServer();
+
+	private HttpTransport transport;
+
+	private RetryHandler retryHandler;
+
+	@Before
+	public void setUp() {
+		transport = new HttpTransport(4, 2, ResponseCache.DEFAULT_MAX_SIZE_BYTES, 3, 10);
+		retryHandler = transport.getRetryHandler();
+	}
+
+	@After
+	public void tearDown() {
+		RequestMetrics.endTest();
+		transport.shutdown();
+	}
+
+	@Test
+	public void testTransientErrorIsRetried() {
+		onRequest().havingPathEqualTo("/collections")
+			.respond()
+			.withStatus(503)
+			.thenRespond()
+			.withStatus(200)
+			.withBody("{\"collections\":[]}");
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.startTest();
+
+		Response response = request("/collections");
+
+		assertThat(response.statusCode(), is(200));
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(2);
+		assertThat(retryHandler.getRetries(), is(1L));
+		assertThat(retryHandler.getRecoveredRequests(), is(1L));
+		assertThat(transport.getConcurrencyLimiter().getThrottledResponses(), is(1L));
+		assertThat(testMetrics.getRetries().size(), is(1));
+		assertThat(testMetrics.getRetries().get(0), containsString("status 503"));
+	}
+
+	@Test
+	public void testAttemptsAreBounded() {
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(502);
+
+		Response response = request("/collections");
+
+		assertThat(response.statusCode(), is(502));
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(3);
+		assertThat(retryHandler.getRetries(), is(2L));
+		assertThat(retryHandler.getRetriedRequests(), is(1L));
+		assertThat(retryHandler.getRecoveredRequests(), is(0L));
+	}
+
+	@Test
+	public void testNotIdempotentRequestIsNotRetried() {
+		onRequest().havingPathEqualTo("/collections").respond().withStatus(503);
+
+		transport.given()
+			.filters(transport.getConcurrencyLimiter())
+			.baseUri(JadlerServer.BASE_URL + "/collections")
+			.post();
+
+		verifyThatRequest().havingPathEqualTo("/collections").receivedTimes(1);
+		assertThat(retryHandler.getRetries(), is(0L));
+	}
+
+	@Test
+	public void testMessagesOfLastAttemptAreCaptured() {
+		onRequest().havingPathEqualTo("/collections")
+			.respond()
+			.withStatus(503)
+			.thenRespond()
+			.withStatus(200)
+			.withBody("{\"collections\":[]}");
+		ByteArrayOutputStream requestLog = new ByteArrayOutputStream();
+		ByteArrayOutputStream responseLog = new ByteArrayOutputStream();
+
+		transport.given()
+			.filters(transport.getConcurrencyLimiter(),
+					new CaptureFilter(new RequestLoggingFilter(new PrintStream(requestLog, true))),
+					new CaptureFilter(new ResponseLoggingFilter(new PrintStream(responseLog, true))))
+			.baseUri(JadlerServer.BASE_URL + "/collections")
+			.get();
+
+		assertThat(retryHandler.getRetries(), is(1L));
+		assertThat(requestLog.toString(), containsString(JadlerServer.BASE_URL + "/collections"));
+		assertThat(responseLog.toString(), containsString("200"));
+		assertThat(responseLog.toString(), not(containsString("503")));
+	}
+
+	@Test
+	public void testRetriesOfPrefetchedPagesAreRecorded() throws Exception {
+		onRequest().havingParameterEqualTo("startindex", "10")
+			.respond()
+			.withStatus(503)
+			.thenRespond()
+			.withStatus(200)
+			.withBody(JadlerServer.resource("items_11-20.json"));
+		RequestMetrics.TestMetrics testMetrics = RequestMetrics.startTest();
+
+		FeaturesPager.Statistics statistics = new FeaturesPager(transport::given, 0, 1)
+			.forEachFeature(JadlerServer.resource("items_1-10.json"), DEFAULT_CRS, feature -> {
+			});
+
+		assertThat(statistics.getNumberOfPages(), is(2));
+		assertThat(testMetrics.getRetries().size(), is(1));
+		assertThat(testMetrics.getRetries().get(0), containsString("status 503"));
+	}
+
+	@Test
+	public void testIsTransient() {
+		assertThat(RetryHandler.isTransient(new ConnectException("Connection refused")), is(true));
+		assertThat(RetryHandler.isTransient(new RuntimeException(new SocketException("Connection reset"))), is(true));
+		assertThat(RetryHandler.isTransient(new SocketException("Broken pipe")), is(false));
+		assertThat(RetryHandler.isTransient(new IllegalStateException("Invalid response")), is(false));
+		assertThat(RetryHandler.isTransient(new ConnectionPoolTimeoutException("Timeout waiting for connection")),
+				is(false));
+	}
+
+	@Test
+	public void testDelayIsJitteredAndGrowsExponentially() {
+		RetryHandler handler = new RetryHandler(5, 100, null);
+		for (int i = 0; i < 20; i++) {
+			long firstDelay = handler.computeDelay(1);
+			long thirdDelay = handler.computeDelay(3);
+			assertThat(firstDelay >= 50 && firstDelay <= 100, is(true));
+			assertThat(thirdDelay >= 200 && thirdDelay <= 400, is(true));
+		}
+	}
+
+	private Response request(String path) {
+		return transport.given()
+			.filters(transport.getResponseCache(), transport.getConcurrencyLimiter())
+			.baseUri(JadlerServer.BASE_URL + path)
+			.accept("application/json")
+			.get();
+	}
+
+}